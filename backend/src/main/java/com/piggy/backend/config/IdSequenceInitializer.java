@@ -0,0 +1,63 @@
+package com.piggy.backend.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the id sequences of the batch-inserted tables past the ids already in use.
+ * Transaction and UnparsedMessage used IDENTITY before they switched to pooled sequences,
+ * so on an existing database the new sequence would start at 1 and collide with old rows.
+ * Runs once the schema is up to date and before the web server takes requests; a no-op
+ * when the sequences are already ahead.
+ */
+@Component
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    // allocationSize of the entities' @SequenceGenerator: ids are handed out as (value - 50, value]
+    static final int ALLOCATION_SIZE = 50;
+
+    // table -> its id sequence (a one-row next_val table on MySQL, which has no sequences)
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "transactions", "transactions_seq",
+            "unparsed_messages", "unparsed_messages_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                return;
+            }
+            long next = maxId + ALLOCATION_SIZE;
+            if ("MySQL".equalsIgnoreCase(database) || "MariaDB".equalsIgnoreCase(database)) {
+                if (jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", next, next) > 0) {
+                    System.out.println("✓ Moved " + sequence + " past existing " + table + " ids (next " + next + ")");
+                }
+            } else if ("H2".equalsIgnoreCase(database)) {
+                List<Long> current = jdbcTemplate.queryForList(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                        Long.class, sequence.toUpperCase());
+                if (!current.isEmpty() && current.get(0) < next) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+                    System.out.println("✓ Moved " + sequence + " past existing " + table + " ids (next " + next + ")");
+                }
+            } else {
+                System.out.println("⚠ Cannot check " + sequence + " on " + database
+                        + " - make sure it is past MAX(id) of " + table);
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.piggy.backend.config;
+
+import com.piggy.backend.entity.Pattern;
+import com.piggy.parser.CompiledPatternCache;
+import com.piggy.parser.PatternHitStats;
+import com.piggy.parser.PatternRegistry;
+import com.piggy.parser.RegexTimeGuard;
+import com.piggy.parser.SmsParser;
+import com.piggy.parser.TemplateFingerprintCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Exposes the container-free piggy-parser-core classes as singleton beans,
+ * so the registry and caches are shared by PatternService and SmsRegexParser.
+ */
+@Configuration
+public class ParserConfig {
+
+    @Bean
+    public PatternRegistry<Pattern> patternRegistry() {
+        return new PatternRegistry<>();
+    }
+
+    @Bean
+    public CompiledPatternCache compiledPatternCache() {
+        return new CompiledPatternCache();
+    }
+
+    @Bean
+    public PatternHitStats patternHitStats() {
+        return new PatternHitStats();
+    }
+
+    @Bean
+    public TemplateFingerprintCache templateFingerprintCache() {
+        return new TemplateFingerprintCache();
+    }
+
+    @Bean
+    public RegexTimeGuard regexTimeGuard(
+            @Value("${parser.regex.time-budget-ms:50}") long budgetMillis,
+            @Value("${parser.regex.quarantine-after-timeouts:3}") int quarantineAfter
+    ) {
+        return new RegexTimeGuard(budgetMillis, quarantineAfter);
+    }
+
+    /**
+     * Pool for batch parsing, kept apart from the common pool so a large upload
+     * can't starve other parallel work. 0 = one thread per core.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool parserBatchPool(@Value("${parser.batch.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public SmsParser smsParser(PatternRegistry<Pattern> patternRegistry,
+                               CompiledPatternCache compiledPatternCache,
+                               PatternHitStats patternHitStats,
+                               TemplateFingerprintCache templateFingerprintCache,
+                               RegexTimeGuard regexTimeGuard,
+                               ForkJoinPool parserBatchPool) {
+        return new SmsParser(patternRegistry, compiledPatternCache, patternHitStats,
+                templateFingerprintCache, regexTimeGuard, parserBatchPool);
+    }
+}
@@ -0,0 +1,24 @@
+package com.piggy.backend.config;
+
+import com.piggy.backend.service.PatternService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads APPROVED patterns into the in-memory PatternRegistry at startup,
+ * so SMS parsing never has to query the patterns table.
+ */
+@Component
+public class PatternRegistryInitializer implements CommandLineRunner {
+
+    private final PatternService patternService;
+
+    public PatternRegistryInitializer(PatternService patternService) {
+        this.patternService = patternService;
+    }
+
+    @Override
+    public void run(String... args) {
+        patternService.reloadApprovedPatterns();
+    }
+}
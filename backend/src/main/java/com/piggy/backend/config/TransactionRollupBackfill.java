@@ -0,0 +1,88 @@
+package com.piggy.backend.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+/**
+ * Migration V8: fills transaction_rollups from the transactions saved before rollups existed.
+ * As a migration it runs exactly once per database, in one transaction, under Flyway's lock
+ * and before the application serves requests - a crash rolls it back and the next start
+ * runs it again, and a second instance starting at the same time waits for it.
+ * Users that already have rollup rows are left alone. Groups as TransactionRepository.rollupByUser does.
+ */
+@Component
+public class TransactionRollupBackfill implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String MONTHLY_TOTALS = "SELECT t.user_id, EXTRACT(YEAR FROM t.date) AS y, EXTRACT(MONTH FROM t.date) AS m,"
+            + " COALESCE(t.category, 'OTHERS') AS category, COALESCE(t.type, 'ALERT') AS type,"
+            + " COUNT(*), COALESCE(SUM(t.amount), 0), MIN(t.amount), MAX(t.amount)"
+            + " FROM transactions t"
+            + " WHERE t.date IS NOT NULL"
+            + " AND NOT EXISTS (SELECT 1 FROM transaction_rollups r WHERE r.user_id = t.user_id)"
+            + " GROUP BY t.user_id, EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date),"
+            + " COALESCE(t.category, 'OTHERS'), COALESCE(t.type, 'ALERT')";
+
+    private static final String INSERT = "INSERT INTO transaction_rollups"
+            + " (user_id, rollup_month, category, type, transaction_count, total_amount, min_amount, max_amount)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("8");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill transaction rollups";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        int rows = 0;
+        try (PreparedStatement select = connection.prepareStatement(MONTHLY_TOTALS);
+             ResultSet totals = select.executeQuery();
+             PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            while (totals.next()) {
+                insert.setLong(1, totals.getLong(1));
+                insert.setDate(2, Date.valueOf(LocalDate.of(totals.getInt(2), totals.getInt(3), 1)));
+                insert.setString(3, totals.getString(4));
+                insert.setString(4, totals.getString(5));
+                insert.setLong(5, totals.getLong(6));
+                insert.setBigDecimal(6, totals.getBigDecimal(7));
+                insert.setBigDecimal(7, totals.getBigDecimal(8));
+                insert.setBigDecimal(8, totals.getBigDecimal(9));
+                insert.addBatch();
+                if (++rows % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        log.info("Backfilled transaction rollups: {} rows", rows);
+    }
+}
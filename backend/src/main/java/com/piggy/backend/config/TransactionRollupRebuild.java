@@ -0,0 +1,47 @@
+package com.piggy.backend.config;
+
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.UserRepository;
+import com.piggy.backend.service.TransactionRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repair switch: with transactions.rollups.rebuild-on-startup=true, recomputes every user's
+ * rollups from the transactions table at startup, one database transaction per user (a crash
+ * leaves each user either rebuilt or as it was). Runs before the web server takes requests, so
+ * no upload of this instance races it; start only one instance with the switch on.
+ * The one-time backfill of existing data is {@link TransactionRollupBackfill}, a migration.
+ */
+@Component
+public class TransactionRollupRebuild implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupRebuild.class);
+
+    private final UserRepository userRepository;
+    private final TransactionRollupService rollupService;
+    private final boolean rebuildOnStartup;
+
+    public TransactionRollupRebuild(UserRepository userRepository,
+                                    TransactionRollupService rollupService,
+                                    @Value("${transactions.rollups.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        int rows = 0;
+        for (User user : userRepository.findAll()) {
+            rows += rollupService.rebuild(user);
+        }
+        log.info("Rebuilt transaction rollups: {} rows", rows);
+    }
+}
@@ -64,6 +64,8 @@ public class PatternController {
         pattern.setType(dto.getType());
         pattern.setRegexPattern(dto.getRegexPattern());
         pattern.setMessage(dto.getMessage());
+        pattern.setDateFormat(dto.getDateFormat() != null && !dto.getDateFormat().isBlank() ? dto.getDateFormat().trim() : null);
+        pattern.setPriority(dto.getPriority());
         // Category removed - now auto-detected via Gemini API based on merchant name
         pattern.setStatus(dto.getStatus() != null ? dto.getStatus() : PatternStatus.PENDING);
         
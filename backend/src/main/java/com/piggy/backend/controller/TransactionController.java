@@ -1,24 +1,42 @@
 package com.piggy.backend.controller;
 
+import com.piggy.backend.dto.BatchParseResponse;
+import com.piggy.backend.dto.SmsParseRequest;
 import com.piggy.backend.dto.TransactionDTO;
+import com.piggy.backend.dto.TransactionPage;
+import com.piggy.backend.dto.TransactionSummary;
+import com.piggy.backend.entity.User;
+import com.piggy.backend.service.TransactionExportService;
 import com.piggy.backend.service.TransactionService;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    private static final int GZIP_BUFFER_SIZE = 16 * 1024;
+
     private final TransactionService service;
+    private final TransactionExportService exportService;
 
-    public TransactionController(TransactionService service) {
+    public TransactionController(TransactionService service, TransactionExportService exportService) {
         this.service = service;
+        this.exportService = exportService;
     }
 
     // Parse SMS and save transaction with bank address
@@ -34,11 +52,74 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
     }
 
-    // ADD THIS: Get all transactions for logged-in user
+    // Parse and save a whole upload in one round trip; one result per SMS, in request order
+    @PostMapping("/parse/batch")
+    public ResponseEntity<BatchParseResponse> parseSmsBatch(
+            @RequestBody List<SmsParseRequest> requests,
+            Authentication authentication) {
+        BatchParseResponse response = service.parseAndSaveBatch(requests, authentication.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    // Transactions of the logged-in user, newest first, one keyset page at a time (pass next back as cursor)
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> getUserTransactions(Authentication authentication) {
+    public ResponseEntity<TransactionPage> getUserTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
         String username = authentication.getName(); // Extract username from JWT
-        List<TransactionDTO> transactions = service.getUserTransactions(username);
-        return ResponseEntity.ok(transactions);
+        TransactionPage page = service.getUserTransactions(username, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Raw SMS of one transaction, which the list responses leave out; 404 unless it is the user's
+    @GetMapping("/{id}/sms")
+    public ResponseEntity<Map<String, String>> getSmsMessage(
+            @PathVariable Long id,
+            Authentication authentication) {
+        String smsMessage = service.getSmsMessage(authentication.getName(), id);
+        return ResponseEntity.ok(Map.of("smsMessage", smsMessage));
+    }
+
+    // Category, type and month totals for the dashboard charts; from/to are optional ISO dates (inclusive)
+    @GetMapping("/summary")
+    public ResponseEntity<TransactionSummary> getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication) {
+        TransactionSummary summary = service.getSummary(authentication.getName(), from, to);
+        return ResponseEntity.ok(summary);
+    }
+
+    // The user's whole history as a csv or ndjson download, streamed from the database as it is read
+    // and gzipped on the fly when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.of(format);
+        User user = exportService.findUser(authentication.getName());
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                exportService.export(user, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(user, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.piggy.backend.dto;
+
+import com.piggy.parser.ParseOutcome;
+
+// Result for one SMS of a batch; index is its position in the request array
+public class BatchParseItem {
+    private int index;
+    private ParseOutcome.Status status;
+    private TransactionDTO transaction;
+    private String error;
+
+    public BatchParseItem() {}
+
+    public BatchParseItem(int index, ParseOutcome.Status status, TransactionDTO transaction, String error) {
+        this.index = index;
+        this.status = status;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public ParseOutcome.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(ParseOutcome.Status status) {
+        this.status = status;
+    }
+
+    public TransactionDTO getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionDTO transaction) {
+        this.transaction = transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
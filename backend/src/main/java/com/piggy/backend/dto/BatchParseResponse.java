@@ -0,0 +1,64 @@
+package com.piggy.backend.dto;
+
+import com.piggy.parser.ParseOutcome;
+
+import java.util.List;
+
+public class BatchParseResponse {
+    private int total;
+    private int parsed;
+    private int failed;
+    private int duplicates;
+    private List<BatchParseItem> results;
+
+    public BatchParseResponse() {}
+
+    public BatchParseResponse(List<BatchParseItem> results) {
+        this.results = results;
+        this.total = results.size();
+        this.parsed = (int) results.stream().filter(item -> item.getTransaction() != null).count();
+        this.duplicates = (int) results.stream().filter(item -> item.getStatus() == ParseOutcome.Status.DUPLICATE).count();
+        this.failed = total - parsed - duplicates;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getParsed() {
+        return parsed;
+    }
+
+    public void setParsed(int parsed) {
+        this.parsed = parsed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    // SMS skipped because the user already has them saved (or they repeat earlier in the batch)
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(int duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public List<BatchParseItem> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchParseItem> results) {
+        this.results = results;
+    }
+}
@@ -10,7 +10,10 @@ public class PatternDTO {
     private String merchantName;
     private String type;
     private String regexPattern;
+    private String optimizedRegex;
     private String message;
+    private String dateFormat;
+    private Integer priority;
     // Category removed - now auto-detected via Gemini API based on merchant name
     private PatternStatus status;
 
@@ -23,7 +26,10 @@ public class PatternDTO {
         this.merchantName = pattern.getMerchantName();
         this.type = pattern.getType();
         this.regexPattern = pattern.getRegexPattern();
+        this.optimizedRegex = pattern.getOptimizedRegex();
         this.message = pattern.getMessage();
+        this.dateFormat = pattern.getDateFormat();
+        this.priority = pattern.getPriority();
         this.status = pattern.getStatus();
     }
 
@@ -76,6 +82,14 @@ public class PatternDTO {
         this.regexPattern = regexPattern;
     }
 
+    public String getOptimizedRegex() {
+        return optimizedRegex;
+    }
+
+    public void setOptimizedRegex(String optimizedRegex) {
+        this.optimizedRegex = optimizedRegex;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -84,6 +98,22 @@ public class PatternDTO {
         this.message = message;
     }
 
+    public String getDateFormat() {
+        return dateFormat;
+    }
+
+    public void setDateFormat(String dateFormat) {
+        this.dateFormat = dateFormat;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
     public PatternStatus getStatus() {
         return status;
     }
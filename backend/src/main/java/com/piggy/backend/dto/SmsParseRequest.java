@@ -0,0 +1,29 @@
+package com.piggy.backend.dto;
+
+public class SmsParseRequest {
+    private String sms;
+    private String bankAddress;
+
+    public SmsParseRequest() {}
+
+    public SmsParseRequest(String sms, String bankAddress) {
+        this.sms = sms;
+        this.bankAddress = bankAddress;
+    }
+
+    public String getSms() {
+        return sms;
+    }
+
+    public void setSms(String sms) {
+        this.sms = sms;
+    }
+
+    public String getBankAddress() {
+        return bankAddress;
+    }
+
+    public void setBankAddress(String bankAddress) {
+        this.bankAddress = bankAddress;
+    }
+}
@@ -1,8 +1,8 @@
 package com.piggy.backend.dto;
 
 import com.piggy.backend.entity.Transaction;
-import com.piggy.backend.entity.TransactionType;
 import com.piggy.backend.entity.Category;
+import com.piggy.parser.TransactionType;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
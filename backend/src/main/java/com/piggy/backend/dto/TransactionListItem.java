@@ -0,0 +1,71 @@
+package com.piggy.backend.dto;
+
+import com.piggy.backend.entity.Category;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.parser.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A transaction as listed: TransactionDTO without the raw SMS, which is fetched from GET /api/transactions/{id}/sms
+public class TransactionListItem {
+    private Long id;
+    private String bankAddress;
+    private String bankName;
+    private Category category;
+    private String accountNumber;
+    private String merchant;
+    private TransactionType type;
+    private LocalDateTime date;
+    private BigDecimal amount;
+    private BigDecimal balance;
+    private String refNumber;
+
+    public TransactionListItem() {}
+
+    public TransactionListItem(TransactionRepository.ListRow row) {
+        this.id = row.getId();
+        this.bankAddress = row.getBankAddress();
+        this.bankName = row.getBankName();
+        this.category = row.getCategory();
+        this.accountNumber = row.getAccountNumber();
+        this.merchant = row.getMerchant();
+        this.type = row.getType();
+        this.date = row.getDate();
+        this.amount = row.getAmount();
+        this.balance = row.getBalance();
+        this.refNumber = row.getRefNumber();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBankAddress() { return bankAddress; }
+    public void setBankAddress(String bankAddress) { this.bankAddress = bankAddress; }
+
+    public String getBankName() { return bankName; }
+    public void setBankName(String bankName) { this.bankName = bankName; }
+
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public String getMerchant() { return merchant; }
+    public void setMerchant(String merchant) { this.merchant = merchant; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public LocalDateTime getDate() { return date; }
+    public void setDate(LocalDateTime date) { this.date = date; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public String getRefNumber() { return refNumber; }
+    public void setRefNumber(String refNumber) { this.refNumber = refNumber; }
+}
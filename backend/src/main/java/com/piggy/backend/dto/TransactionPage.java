@@ -0,0 +1,32 @@
+package com.piggy.backend.dto;
+
+import java.util.List;
+
+// One page of a user's transactions, newest first; next is the cursor of the following page, null on the last one
+public class TransactionPage {
+    private List<TransactionListItem> items;
+    private String next;
+
+    public TransactionPage() {}
+
+    public TransactionPage(List<TransactionListItem> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<TransactionListItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TransactionListItem> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,140 @@
+package com.piggy.backend.dto;
+
+import com.piggy.backend.entity.Category;
+import com.piggy.parser.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Dashboard totals of a user's transactions between from and to (inclusive, null = unbounded), grouped in the database
+public class TransactionSummary {
+    private LocalDate from;
+    private LocalDate to;
+    private List<TypeTotal> byType;
+    private List<CategoryTotal> byCategory;
+    private List<MonthTotal> byMonth;
+
+    public TransactionSummary() {}
+
+    public TransactionSummary(LocalDate from, LocalDate to, List<TypeTotal> byType,
+                              List<CategoryTotal> byCategory, List<MonthTotal> byMonth) {
+        this.from = from;
+        this.to = to;
+        this.byType = byType;
+        this.byCategory = byCategory;
+        this.byMonth = byMonth;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<TypeTotal> getByType() {
+        return byType;
+    }
+
+    public void setByType(List<TypeTotal> byType) {
+        this.byType = byType;
+    }
+
+    public List<CategoryTotal> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(List<CategoryTotal> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public List<MonthTotal> getByMonth() {
+        return byMonth;
+    }
+
+    public void setByMonth(List<MonthTotal> byMonth) {
+        this.byMonth = byMonth;
+    }
+
+    public static class TypeTotal {
+        private TransactionType type;
+        private long count;
+        private BigDecimal total;
+
+        public TypeTotal() {}
+
+        public TypeTotal(TransactionType type, long count, BigDecimal total) {
+            this.type = type;
+            this.count = count;
+            this.total = total;
+        }
+
+        public TransactionType getType() { return type; }
+        public void setType(TransactionType type) { this.type = type; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+    }
+
+    public static class CategoryTotal {
+        private Category category;
+        private TransactionType type;
+        private long count;
+        private BigDecimal total;
+
+        public CategoryTotal() {}
+
+        public CategoryTotal(Category category, TransactionType type, long count, BigDecimal total) {
+            this.category = category;
+            this.type = type;
+            this.count = count;
+            this.total = total;
+        }
+
+        public Category getCategory() { return category; }
+        public void setCategory(Category category) { this.category = category; }
+        public TransactionType getType() { return type; }
+        public void setType(TransactionType type) { this.type = type; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+    }
+
+    // month is "yyyy-MM"
+    public static class MonthTotal {
+        private String month;
+        private TransactionType type;
+        private long count;
+        private BigDecimal total;
+
+        public MonthTotal() {}
+
+        public MonthTotal(String month, TransactionType type, long count, BigDecimal total) {
+            this.month = month;
+            this.type = type;
+            this.count = count;
+            this.total = total;
+        }
+
+        public String getMonth() { return month; }
+        public void setMonth(String month) { this.month = month; }
+        public TransactionType getType() { return type; }
+        public void setType(TransactionType type) { this.type = type; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+    }
+}
@@ -1,10 +1,14 @@
 package com.piggy.backend.entity;
 
+import com.piggy.parser.PatternDefinition;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "patterns")
-public class Pattern {
+@Table(name = "patterns", indexes = {
+        @Index(name = "idx_patterns_bank_address_status", columnList = "bank_address, status"),
+        @Index(name = "idx_patterns_status_bank_address", columnList = "status, bank_address")
+})
+public class Pattern implements PatternDefinition {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,9 +29,22 @@ public class Pattern {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String regexPattern;
 
+    // Faster equivalent of regexPattern written by RegexOptimizer on save; null when there is none
+    @Column(columnDefinition = "TEXT")
+    private String optimizedRegex;
+
     @Column(nullable = false)
     private String message;
 
+    // Optional date format of the "date" group (e.g. "dd-MMM-yy"); learned from the first parse when empty
+    @Column
+    private String dateFormat;
+
+    // Patterns with a higher priority are always tried first; within the same priority
+    // the most frequently matching ones go first. Null means 0.
+    @Column
+    private Integer priority;
+
     // Category removed - now auto-detected via Gemini API based on merchant name
 
     @Enumerated(EnumType.STRING)
@@ -35,12 +52,15 @@ public class Pattern {
     private PatternStatus status;
 
     // Getters and Setters
+    @Override
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    @Override
     public String getBankAddress() { return bankAddress; }
     public void setBankAddress(String bankAddress) { this.bankAddress = bankAddress; }
 
+    @Override
     public String getBankName() { return bankName; }
     public void setBankName(String bankName) { this.bankName = bankName; }
 
@@ -50,12 +70,29 @@ public class Pattern {
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
 
+    @Override
     public String getRegexPattern() { return regexPattern; }
     public void setRegexPattern(String regexPattern) { this.regexPattern = regexPattern; }
 
+    @Override
+    public String getOptimizedRegex() { return optimizedRegex; }
+    public void setOptimizedRegex(String optimizedRegex) { this.optimizedRegex = optimizedRegex; }
+
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
 
+    @Override
+    public String getDateFormat() { return dateFormat; }
+    public void setDateFormat(String dateFormat) { this.dateFormat = dateFormat; }
+
+    @Override
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+
     public PatternStatus getStatus() { return status; }
     public void setStatus(PatternStatus status) { this.status = status; }
+
+    // The parser only registers APPROVED patterns
+    @Override
+    public boolean isApproved() { return status == PatternStatus.APPROVED; }
 }
\ No newline at end of file
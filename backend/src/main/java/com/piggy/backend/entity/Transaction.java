@@ -1,15 +1,29 @@
 package com.piggy.backend.entity;
 
+import com.piggy.parser.TransactionType;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+// Indexes are created by the Flyway migrations (db/migration); declared here too for ddl-auto schemas (tests)
+@Table(name = "transactions", indexes = {
+        // Keyset pagination of a user's transactions: WHERE user_id = ? ORDER BY date DESC, id DESC
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id"),
+        // Summary GROUP BYs over a user's date range, answered from the index alone
+        @Index(name = "idx_transactions_user_date_totals", columnList = "user_id, date, category, type, amount"),
+        @Index(name = "idx_transactions_bank_address_id", columnList = "bank_address, id")
+}, uniqueConstraints = {
+        // The same SMS is saved once per user; also serves the duplicate lookups and the bloom filter load
+        @UniqueConstraint(name = "uk_transactions_user_content_hash", columnNames = {"user_id", "content_hash"})
+})
 public class Transaction {
 
+    // Pooled sequence, not IDENTITY: Hibernate can only batch inserts when it assigns ids itself.
+    // allocationSize must match IdSequenceInitializer.ALLOCATION_SIZE
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     // —— From Pattern entity (set from matched pattern) ——
@@ -33,6 +47,8 @@ public class Transaction {
     private String refNumber;      // e.g. Ref No, UPI Ref
     @Column(length = 2000)
     private String smsMessage;    // Original SMS text used to parse this transaction
+    @Column(length = 64)
+    private String contentHash;   // SmsDeduplicationService.contentHash of (user, bank address, SMS); null on rows saved before it
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -71,6 +87,9 @@ public class Transaction {
     public String getRefNumber() { return refNumber; }
     public void setRefNumber(String refNumber) { this.refNumber = refNumber; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public String getSmsMessage() { return smsMessage; }
     public void setSmsMessage(String smsMessage) { this.smsMessage = smsMessage; }
 
@@ -0,0 +1,98 @@
+package com.piggy.backend.entity;
+
+import com.piggy.parser.TransactionType;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running totals of one user's transactions for one (month, category, type).
+ * Kept in step with the transactions table by TransactionRollupService, so the
+ * dashboard summary reads a few rows per month instead of every transaction.
+ */
+@Entity
+@Table(name = "transaction_rollups", uniqueConstraints = {
+        // Also serves the summary's WHERE user_id = ? AND rollup_month BETWEEN ... range
+        @UniqueConstraint(name = "uk_transaction_rollups_key", columnNames = {"user_id", "rollup_month", "category", "type"})
+})
+public class TransactionRollup {
+
+    // Transactions without a category or type are counted under these (the parser's own defaults),
+    // so every column of the unique key is NOT NULL and two deltas of the same key always collide
+    public static final Category NO_CATEGORY = Category.OTHERS;
+    public static final TransactionType NO_TYPE = TransactionType.ALERT;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "rollup_month", nullable = false)
+    private LocalDate month;       // First day of the month
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    private long transactionCount;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    public TransactionRollup() {}
+
+    public TransactionRollup(User user, LocalDate month, Category category, TransactionType type) {
+        this.user = user;
+        this.month = month;
+        this.category = category != null ? category : NO_CATEGORY;
+        this.type = type != null ? type : NO_TYPE;
+    }
+
+    // Fold in count transactions totalling total with amounts between min and max (amounts may be null)
+    public void add(long count, BigDecimal total, BigDecimal min, BigDecimal max) {
+        transactionCount += count;
+        if (total != null) {
+            totalAmount = totalAmount.add(total);
+        }
+        if (min != null && (minAmount == null || min.compareTo(minAmount) < 0)) {
+            minAmount = min;
+        }
+        if (max != null && (maxAmount == null || max.compareTo(maxAmount) > 0)) {
+            maxAmount = max;
+        }
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public LocalDate getMonth() { return month; }
+    public void setMonth(LocalDate month) { this.month = month; }
+
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+}
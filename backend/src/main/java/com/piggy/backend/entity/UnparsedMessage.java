@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "unparsed_messages")
+@Table(name = "unparsed_messages", indexes = {
+        @Index(name = "idx_unparsed_messages_processed_created_at", columnList = "processed, created_at"),
+        @Index(name = "idx_unparsed_messages_bank_address_created_at", columnList = "bank_address, created_at")
+})
 public class UnparsedMessage {
 
+    // Pooled sequence, not IDENTITY: Hibernate can only batch inserts when it assigns ids itself.
+    // allocationSize must match IdSequenceInitializer.ALLOCATION_SIZE
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unparsed_message_seq")
+    @SequenceGenerator(name = "unparsed_message_seq", sequenceName = "unparsed_messages_seq", allocationSize = 50)
     private Long id;
 
     private String bankAddress;
@@ -10,9 +10,14 @@ public interface PatternRepository extends JpaRepository<Pattern, Long> {
     List<Pattern> findByStatus(PatternStatus status);
     List<Pattern> findByBankAddressAndStatus(String bankAddress, PatternStatus status);
     
+    // Index-only scan of idx_patterns_status_bank_address
     @Query("SELECT DISTINCT p.bankAddress FROM Pattern p WHERE p.status = 'APPROVED'")
     List<String> findDistinctBankAddresses();
     
-    @Query("SELECT DISTINCT p FROM Pattern p WHERE p.status = 'APPROVED' AND p.bankAddress = ?1")
+    // No DISTINCT: rows of one table can't repeat, and DISTINCT over the TEXT columns forces a temporary table
+    @Query("SELECT p FROM Pattern p WHERE p.status = 'APPROVED' AND p.bankAddress = ?1")
     List<Pattern> findApprovedPatternsByBankAddress(String bankAddress);
+
+    @Query("SELECT p.message FROM Pattern p WHERE p.bankAddress = ?1")
+    List<String> findSampleMessagesByBankAddress(String bankAddress);
 }
\ No newline at end of file
@@ -1,12 +1,134 @@
 package com.piggy.backend.repository;
 
+import com.piggy.backend.entity.Category;
 import com.piggy.backend.entity.Transaction;
 import com.piggy.backend.entity.User;
+import com.piggy.parser.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository
         extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUser(User user);
+    // Display columns of a transaction: everything but the raw SMS (up to 2000 chars a row) and the content hash
+    String LIST_COLUMNS = "SELECT t.id AS id, t.date AS date, t.type AS type, t.category AS category, t.amount AS amount,"
+            + " t.balance AS balance, t.merchant AS merchant, t.bankName AS bankName, t.bankAddress AS bankAddress,"
+            + " t.accountNumber AS accountNumber, t.refNumber AS refNumber";
+
+    // Keyset pagination over idx_transactions_user_date_id, newest first; rows without a date come last.
+    // After a dated cursor only dated rows are read (one range on the index); the service continues
+    // with findUndatedPageByUserAfter once they run out.
+    @Query(LIST_COLUMNS + " FROM Transaction t WHERE t.user = ?1 ORDER BY t.date DESC, t.id DESC")
+    List<ListRow> findFirstPageByUser(User user, Pageable pageable);
+
+    @Query(LIST_COLUMNS + " FROM Transaction t WHERE t.user = ?1"
+            + " AND (t.date < ?2 OR (t.date = ?2 AND t.id < ?3))"
+            + " ORDER BY t.date DESC, t.id DESC")
+    List<ListRow> findPageByUserAfter(User user, LocalDateTime date, Long id, Pageable pageable);
+
+    @Query(LIST_COLUMNS + " FROM Transaction t WHERE t.user = ?1 AND t.date IS NULL AND t.id < ?2 ORDER BY t.id DESC")
+    List<ListRow> findUndatedPageByUserAfter(User user, Long id, Pageable pageable);
+
+    // The SMS of one of the user's transactions; empty when the transaction isn't theirs ('' when it has no SMS)
+    @Query("SELECT COALESCE(t.smsMessage, '') FROM Transaction t WHERE t.id = ?1 AND t.user = ?2")
+    Optional<String> findSmsMessageByIdAndUser(Long id, User user);
+
+    // Export: the user's whole history read through a cursor, 500 rows per round trip (on MySQL only with
+    // useCursorFetch=true on the JDBC URL; otherwise the driver buffers the whole result). Projected rows, not
+    // entities, so nothing piles up in the persistence context while the stream is open.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LIST_COLUMNS + ", t.smsMessage AS smsMessage FROM Transaction t WHERE t.user = ?1 ORDER BY t.date DESC, t.id DESC")
+    Stream<ExportRow> streamExportRowsByUser(User user);
+
+    // A missing category or type counts as TransactionRollup.NO_CATEGORY / NO_TYPE, as in the rollups
+    String ROLLUP_CATEGORY = "COALESCE(t.category, com.piggy.backend.entity.Category.OTHERS)";
+    String ROLLUP_TYPE = "COALESCE(t.type, com.piggy.parser.TransactionType.ALERT)";
+
+    // Dashboard summary: totals over [from, to) of the (user_id, date) index prefix, grouped in the database
+    @Query("SELECT " + ROLLUP_CATEGORY + " AS category, " + ROLLUP_TYPE + " AS type, COUNT(t) AS count, SUM(t.amount) AS total"
+            + " FROM Transaction t WHERE t.user = ?1 AND t.date >= ?2 AND t.date < ?3"
+            + " GROUP BY " + ROLLUP_CATEGORY + ", " + ROLLUP_TYPE)
+    List<CategoryTypeTotal> sumByCategoryAndType(User user, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT EXTRACT(YEAR FROM t.date) AS year, EXTRACT(MONTH FROM t.date) AS month, " + ROLLUP_TYPE + " AS type,"
+            + " COUNT(t) AS count, SUM(t.amount) AS total"
+            + " FROM Transaction t WHERE t.user = ?1 AND t.date >= ?2 AND t.date < ?3"
+            + " GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), " + ROLLUP_TYPE
+            + " ORDER BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date)")
+    List<MonthTypeTotal> sumByMonthAndType(User user, LocalDateTime from, LocalDateTime to);
+
+    // Backfill of transaction_rollups: the user's whole history per (month, category, type)
+    @Query("SELECT EXTRACT(YEAR FROM t.date) AS year, EXTRACT(MONTH FROM t.date) AS month, " + ROLLUP_CATEGORY + " AS category,"
+            + " " + ROLLUP_TYPE + " AS type, COUNT(t) AS count, SUM(t.amount) AS total, MIN(t.amount) AS minAmount, MAX(t.amount) AS maxAmount"
+            + " FROM Transaction t WHERE t.user = ?1 AND t.date IS NOT NULL"
+            + " GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), " + ROLLUP_CATEGORY + ", " + ROLLUP_TYPE)
+    List<MonthlyRollup> rollupByUser(User user);
+
+    // Duplicate detection over uk_transactions_user_content_hash, index-only
+    @Query("SELECT t.contentHash FROM Transaction t WHERE t.user = ?1 AND t.contentHash IN ?2")
+    List<String> findExistingContentHashes(User user, Collection<String> contentHashes);
+
+    Optional<Transaction> findByUserAndContentHash(User user, String contentHash);
+
+    @Query("SELECT t.contentHash FROM Transaction t WHERE t.user = ?1 AND t.contentHash IS NOT NULL")
+    Stream<String> streamContentHashesByUser(User user);
+
+    long countByUser(User user);
+
+    @Query("SELECT t.smsMessage FROM Transaction t WHERE t.bankAddress = ?1 AND t.smsMessage IS NOT NULL ORDER BY t.id DESC")
+    List<String> findRecentSmsMessagesByBankAddress(String bankAddress, Pageable pageable);
+
+    interface ListRow {
+        Long getId();
+        LocalDateTime getDate();
+        TransactionType getType();
+        Category getCategory();
+        BigDecimal getAmount();
+        BigDecimal getBalance();
+        String getMerchant();
+        String getBankName();
+        String getBankAddress();
+        String getAccountNumber();
+        String getRefNumber();
+    }
+
+    interface ExportRow extends ListRow {
+        String getSmsMessage();
+    }
+
+    interface CategoryTypeTotal {
+        Category getCategory();
+        TransactionType getType();
+        Long getCount();
+        BigDecimal getTotal();
+    }
+
+    interface MonthTypeTotal {
+        Integer getYear();
+        Integer getMonth();
+        TransactionType getType();
+        Long getCount();
+        BigDecimal getTotal();
+    }
+
+    interface MonthlyRollup {
+        Integer getYear();
+        Integer getMonth();
+        Category getCategory();
+        TransactionType getType();
+        Long getCount();
+        BigDecimal getTotal();
+        BigDecimal getMinAmount();
+        BigDecimal getMaxAmount();
+    }
 }
@@ -0,0 +1,30 @@
+package com.piggy.backend.repository;
+
+import com.piggy.backend.entity.TransactionRollup;
+import com.piggy.backend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long>, TransactionRollupUpsert {
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.user = ?1")
+    int deleteByUser(User user);
+
+    // Same shapes as TransactionRepository's GROUP BY totals, over [from, to) months of rollups
+    @Query("SELECT r.category AS category, r.type AS type, SUM(r.transactionCount) AS count, SUM(r.totalAmount) AS total"
+            + " FROM TransactionRollup r WHERE r.user = ?1 AND r.month >= ?2 AND r.month < ?3"
+            + " GROUP BY r.category, r.type")
+    List<TransactionRepository.CategoryTypeTotal> sumByCategoryAndType(User user, LocalDate from, LocalDate to);
+
+    @Query("SELECT EXTRACT(YEAR FROM r.month) AS year, EXTRACT(MONTH FROM r.month) AS month, r.type AS type,"
+            + " SUM(r.transactionCount) AS count, SUM(r.totalAmount) AS total"
+            + " FROM TransactionRollup r WHERE r.user = ?1 AND r.month >= ?2 AND r.month < ?3"
+            + " GROUP BY r.month, r.type"
+            + " ORDER BY r.month")
+    List<TransactionRepository.MonthTypeTotal> sumByMonthAndType(User user, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,19 @@
+package com.piggy.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Insert-or-add of one rollup delta, in the SQL of the database in use
+ * (see {@link TransactionRollupUpsertImpl}).
+ */
+public interface TransactionRollupUpsert {
+
+    /**
+     * Add a delta to the user's (month, category, type) rollup, inserting the row if it is not there yet.
+     * A single statement on uk_transaction_rollups_key, so two uploads creating the same key both land
+     * instead of the second failing on the unique key.
+     */
+    int upsert(Long userId, LocalDate month, String category, String type,
+               long count, BigDecimal total, BigDecimal minAmount, BigDecimal maxAmount);
+}
@@ -0,0 +1,67 @@
+package com.piggy.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * MySQL 8.0.19+ reads the incoming row through an alias ({@code VALUES (...) AS delta}), since
+ * {@code VALUES(col)} in ON DUPLICATE KEY UPDATE is deprecated from 8.0.20. MariaDB and H2
+ * (MODE=MySQL, the tests) only have the {@code VALUES(col)} form.
+ */
+class TransactionRollupUpsertImpl implements TransactionRollupUpsert {
+
+    private static final String INSERT = "INSERT INTO transaction_rollups"
+            + " (user_id, rollup_month, category, type, transaction_count, total_amount, min_amount, max_amount)"
+            + " VALUES (:userId, :month, :category, :type, :count, :total, :minAmount, :maxAmount)";
+
+    private static final String ROW_ALIAS_UPSERT = INSERT + " AS delta"
+            + " ON DUPLICATE KEY UPDATE"
+            + " transaction_count = transaction_count + delta.transaction_count,"
+            + " total_amount = total_amount + delta.total_amount,"
+            + " min_amount = LEAST(COALESCE(min_amount, delta.min_amount), COALESCE(delta.min_amount, min_amount)),"
+            + " max_amount = GREATEST(COALESCE(max_amount, delta.max_amount), COALESCE(delta.max_amount, max_amount))";
+
+    private static final String VALUES_UPSERT = INSERT
+            + " ON DUPLICATE KEY UPDATE"
+            + " transaction_count = transaction_count + VALUES(transaction_count),"
+            + " total_amount = total_amount + VALUES(total_amount),"
+            + " min_amount = LEAST(COALESCE(min_amount, VALUES(min_amount)), COALESCE(VALUES(min_amount), min_amount)),"
+            + " max_amount = GREATEST(COALESCE(max_amount, VALUES(max_amount)), COALESCE(VALUES(max_amount), max_amount))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsertSql;
+
+    @Override
+    public int upsert(Long userId, LocalDate month, String category, String type,
+                      long count, BigDecimal total, BigDecimal minAmount, BigDecimal maxAmount) {
+        return entityManager.createNativeQuery(upsertSql())
+                .setParameter("userId", userId)
+                .setParameter("month", month)
+                .setParameter("category", category)
+                .setParameter("type", type)
+                .setParameter("count", count)
+                .setParameter("total", total)
+                .setParameter("minAmount", minAmount)
+                .setParameter("maxAmount", maxAmount)
+                .executeUpdate();
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+            upsertSql = dialect instanceof MySQLDialect && !(dialect instanceof MariaDBDialect)
+                    && dialect.getVersion().isSameOrAfter(8, 0, 19) ? ROW_ALIAS_UPSERT : VALUES_UPSERT;
+        }
+        return upsertSql;
+    }
+}
@@ -1,7 +1,9 @@
 package com.piggy.backend.repository;
 
 import com.piggy.backend.entity.UnparsedMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +19,8 @@ public interface UnparsedMessageRepository extends JpaRepository<UnparsedMessage
     
     // Count pending messages for all users
     long countByProcessed(boolean processed);
+
+    // Most recent unparsed SMS of a bank
+    @Query("SELECT m.smsMessage FROM UnparsedMessage m WHERE m.bankAddress = ?1 ORDER BY m.createdAt DESC")
+    List<String> findRecentSmsMessagesByBankAddress(String bankAddress, Pageable pageable);
 }
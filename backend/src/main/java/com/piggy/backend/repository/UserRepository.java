@@ -3,6 +3,7 @@ package com.piggy.backend.repository;
 import com.piggy.backend.entity.Role;
 import com.piggy.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,5 +12,15 @@ public interface UserRepository
         extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
+
+    // What authentication needs: a point lookup on the unique username index, without the rest of the entity
+    @Query("SELECT u.username AS username, u.password AS password FROM User u WHERE u.username = ?1")
+    Optional<Credentials> findCredentialsByUsername(String username);
+
     List<User> findByRoleNot(Role role);
+
+    interface Credentials {
+        String getUsername();
+        String getPassword();
+    }
 }
@@ -1,6 +1,5 @@
 package com.piggy.backend.service;
 
-import com.piggy.backend.entity.User;
 import com.piggy.backend.repository.UserRepository;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,8 +19,8 @@ public class CustomUserDetailsService
 
     @Override
     public UserDetails loadUserByUsername(String username) {
-        User user = userRepository
-                .findByUsername(username)
+        UserRepository.Credentials user = userRepository
+                .findCredentialsByUsername(username)
                 .orElseThrow();
 
         return org.springframework.security.core.userdetails.User
@@ -6,25 +6,67 @@ import com.piggy.backend.entity.PatternStatus;
 import com.piggy.backend.exception.BadRequestException;
 import com.piggy.backend.exception.ResourceNotFoundException;
 import com.piggy.backend.repository.PatternRepository;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.backend.repository.UnparsedMessageRepository;
+import com.piggy.parser.CompiledPatternCache;
+import com.piggy.parser.PatternRegistry;
+import com.piggy.parser.RegexComplexityAnalyzer;
+import com.piggy.parser.RegexOptimizer;
+import com.piggy.parser.RegexTimeGuard;
+import com.piggy.parser.RegexTimeoutException;
+import com.piggy.parser.SmsDateFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
 @Service
 public class PatternService {
+    // How many recent parsed / unparsed SMS of the bank the complexity check replays
+    private static final int CORPUS_SAMPLE_SIZE = 20;
+
     private final PatternRepository patternRepository;
+    private final TransactionRepository transactionRepository;
+    private final UnparsedMessageRepository unparsedMessageRepository;
+    private final PatternRegistry<Pattern> patternRegistry;
+    private final CompiledPatternCache compiledPatternCache;
+    private final RegexTimeGuard regexTimeGuard;
+
+    @Value("${pattern.approval.max-cost-micros:25000}")
+    private long maxApprovalCostMicros;
 
-    public PatternService(PatternRepository patternRepository) {
+    public PatternService(PatternRepository patternRepository,
+                          TransactionRepository transactionRepository,
+                          UnparsedMessageRepository unparsedMessageRepository,
+                          PatternRegistry<Pattern> patternRegistry,
+                          CompiledPatternCache compiledPatternCache,
+                          RegexTimeGuard regexTimeGuard) {
         this.patternRepository = patternRepository;
+        this.transactionRepository = transactionRepository;
+        this.unparsedMessageRepository = unparsedMessageRepository;
+        this.patternRegistry = patternRegistry;
+        this.compiledPatternCache = compiledPatternCache;
+        this.regexTimeGuard = regexTimeGuard;
     }
 
     public List<Pattern> getApprovedPatterns() {
         return patternRepository.findByStatus(PatternStatus.APPROVED);
     }
 
+    // Served from the in-memory registry - no DB query
     public List<Pattern> getApprovedPatternsByBankAddress(String bankAddress) {
-        return patternRepository.findApprovedPatternsByBankAddress(bankAddress);
+        return patternRegistry.getApprovedPatterns(bankAddress);
+    }
+
+    // Load all APPROVED patterns into the in-memory registry (called at startup)
+    public void reloadApprovedPatterns() {
+        List<Pattern> approved = patternRepository.findByStatus(PatternStatus.APPROVED);
+        compiledPatternCache.clear();
+        patternRegistry.loadAll(approved);
+        System.out.println("✓ Loaded " + approved.size() + " approved patterns into registry");
     }
 
     public List<Pattern> getPendingPatterns() {
@@ -32,7 +74,13 @@ public class PatternService {
     }
 
     public Pattern savePattern(Pattern pattern) {
-        return patternRepository.save(pattern);
+        validateDateFormat(pattern.getDateFormat());
+        prepareForParser(pattern);
+        Pattern saved = patternRepository.save(pattern);
+        compiledPatternCache.invalidate(saved.getId());
+        regexTimeGuard.release(saved.getId());
+        patternRegistry.register(saved);
+        return saved;
     }
 
     public Pattern updatePatternStatus(Long id, PatternStatus status) {
@@ -44,7 +92,91 @@ public class PatternService {
         }
         
         pattern.setStatus(status);
-        return patternRepository.save(pattern);
+        prepareForParser(pattern);
+        Pattern saved = patternRepository.save(pattern);
+        compiledPatternCache.invalidate(saved.getId());
+        regexTimeGuard.release(saved.getId());
+        patternRegistry.register(saved);
+        return saved;
+    }
+
+    // Checks and optimises the regex of a pattern being approved against the bank's messages. Other
+    // statuses are never run by the parser (the registry drops them), so they skip both and keep no optimised regex
+    private void prepareForParser(Pattern pattern) {
+        if (pattern.getStatus() != PatternStatus.APPROVED) {
+            pattern.setOptimizedRegex(null);
+            return;
+        }
+        List<String> corpus = getBankCorpus(pattern);
+        checkComplexity(pattern, corpus);
+        optimizeRegex(pattern, corpus);
+    }
+
+    /**
+     * Analyse the regex against the bank's own messages before it is approved: refused when
+     * it doesn't compile, when it has a nested quantifier or overlapping repeated alternation
+     * (these blow up on some input even if this bank's messages don't contain it), or when its
+     * worst-case match time is still over {@code pattern.approval.max-cost-micros}.
+     */
+    private void checkComplexity(Pattern pattern, List<String> corpus) {
+        RegexComplexityAnalyzer.Report report = RegexComplexityAnalyzer.analyze(
+                pattern.getRegexPattern(), corpus, maxApprovalCostMicros);
+        report.findings().forEach(finding -> System.out.println("⚠ Pattern regex for "
+                + pattern.getBankAddress() + ": " + finding));
+
+        if (!report.isValid()) {
+            throw new BadRequestException("Invalid regex pattern: " + report.syntaxError());
+        }
+        if (report.hasBacktrackingRisk()) {
+            throw new BadRequestException("Regex can backtrack catastrophically: "
+                    + String.join("; ", report.backtrackingRisks()));
+        }
+        if (report.exceeds(maxApprovalCostMicros)) {
+            String cost = report.costMicros() == Long.MAX_VALUE
+                    ? "over " + maxApprovalCostMicros / 1000 + " ms"
+                    : report.costMicros() / 1000 + " ms";
+            String reasons = report.warnings().isEmpty() ? "" : " (" + String.join("; ", report.warnings()) + ")";
+            throw new BadRequestException("Regex is too slow to approve: worst case " + cost
+                    + " on this bank's messages" + reasons);
+        }
+    }
+
+    /**
+     * Store a faster equivalent of the regex for the parser to run. It is only kept when it
+     * finds the same match and the same named-group captures as the original on every SMS
+     * of the bank's corpus; otherwise the original regex is used as written.
+     */
+    private void optimizeRegex(Pattern pattern, List<String> corpus) {
+        String regex = pattern.getRegexPattern();
+        String optimized = RegexOptimizer.optimize(regex);
+        if (optimized == null || optimized.equals(regex) || !RegexOptimizer.verify(regex, optimized, corpus)) {
+            pattern.setOptimizedRegex(null);
+            return;
+        }
+        pattern.setOptimizedRegex(optimized);
+        System.out.println("✓ Optimised pattern regex for " + pattern.getBankAddress() + ": " + optimized);
+    }
+
+    // The pattern's own sample, the makers' samples for the bank and its most recent parsed and unparsed SMS
+    private List<String> getBankCorpus(Pattern pattern) {
+        List<String> corpus = new ArrayList<>();
+        corpus.add(pattern.getMessage());
+        String bankAddress = pattern.getBankAddress();
+        corpus.addAll(patternRepository.findSampleMessagesByBankAddress(bankAddress));
+        corpus.addAll(transactionRepository.findRecentSmsMessagesByBankAddress(bankAddress, PageRequest.of(0, CORPUS_SAMPLE_SIZE)));
+        corpus.addAll(unparsedMessageRepository.findRecentSmsMessagesByBankAddress(bankAddress, PageRequest.of(0, CORPUS_SAMPLE_SIZE)));
+        return corpus;
+    }
+
+    private void validateDateFormat(String dateFormat) {
+        if (dateFormat == null || dateFormat.isBlank() || SmsDateFormat.forPattern(dateFormat) != null) {
+            return;
+        }
+        try {
+            SmsDateFormat.customFormatter(dateFormat);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid date format: " + dateFormat);
+        }
     }
 
     public List<String> getDistinctBankAddresses() {
@@ -55,7 +187,7 @@ public class PatternService {
         List<String> addresses = patternRepository.findDistinctBankAddresses();
         return addresses.stream()
                 .map(address -> {
-                    List<Pattern> patterns = patternRepository.findApprovedPatternsByBankAddress(address);
+                    List<Pattern> patterns = patternRegistry.getApprovedPatterns(address);
                     if (!patterns.isEmpty()) {
                         Pattern firstPattern = patterns.get(0);
                         return new BankAddressInfo(address, firstPattern.getBankName());
@@ -81,7 +213,8 @@ public class PatternService {
                 regexPattern, 
                 java.util.regex.Pattern.CASE_INSENSITIVE
             );
-            Matcher matcher = regexPatternObj.matcher(sampleMessage);
+            // Same time budget as parsing, so a backtracking regex can't hang the request
+            Matcher matcher = regexPatternObj.matcher(regexTimeGuard.guard(sampleMessage));
 
             // Use Matcher.find() to check if pattern matches
             if (matcher.find()) {
@@ -99,6 +232,13 @@ public class PatternService {
                     null
                 );
             }
+        } catch (RegexTimeoutException e) {
+            return new RegexMatchResponse(
+                false,
+                "✗ Pattern is too slow: it ran longer than " + regexTimeGuard.getBudgetMillis()
+                        + " ms on the sample message. Avoid nested quantifiers like (a+)+ and chains of .*",
+                null
+            );
         } catch (Exception e) {
             return new RegexMatchResponse(
                 false,
@@ -0,0 +1,147 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.backend.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Makes SMS ingest idempotent: every saved transaction carries a content hash of
+ * (user, bank address, normalised SMS), unique per user in the database. A per-user
+ * bloom filter of the saved hashes answers "definitely new" for most incoming SMS, so
+ * only the few "maybe seen" ones cost a database lookup.
+ */
+@Service
+public class SmsDeduplicationService {
+    // Hashes per IN (...) lookup
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    // Smallest filter built for a user, so new users don't rebuild it after a few uploads
+    private static final long MIN_FILTER_CAPACITY = 10_000;
+
+    private final TransactionRepository repository;
+    private final Map<Long, BloomFilter> filters;
+    // Users whose filter is being loaded -> hashes recorded since the load started; guarded by filters
+    private final Map<Long, Set<String>> loading = new HashMap<>();
+    private final double falsePositiveRate;
+
+    public SmsDeduplicationService(TransactionRepository repository,
+                                   @Value("${transactions.dedup.cached-users:1000}") int cachedUsers,
+                                   @Value("${transactions.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.falsePositiveRate = falsePositiveRate;
+        // Least recently used users' filters are dropped and rebuilt from the database when they come back
+        this.filters = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BloomFilter> eldest) {
+                return size() > cachedUsers;
+            }
+        });
+    }
+
+    /**
+     * SHA-256 hex of the user, the bank address and the SMS with surrounding whitespace
+     * trimmed and inner runs of whitespace collapsed, so re-exports that differ only in
+     * line breaks or padding still count as the same message.
+     */
+    public static String contentHash(User user, String bankAddress, String sms) {
+        String normalised = user.getId() + "\n"
+                + bankAddress.strip().toUpperCase(Locale.ROOT) + "\n"
+                + sms.strip().replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalised.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The hashes among contentHashes that the user already has saved. Only the ones the
+     * bloom filter can't rule out are looked up in the database.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findExisting(User user, Collection<String> contentHashes) {
+        BloomFilter filter = filterFor(user);
+        return findSaved(user, contentHashes.stream().filter(filter::mightContain).toList());
+    }
+
+    // The hashes among contentHashes that the user has saved, straight from the database
+    @Transactional(readOnly = true)
+    public Set<String> findSaved(User user, Collection<String> contentHashes) {
+        List<String> candidates = contentHashes.stream().distinct().toList();
+        Set<String> existing = new HashSet<>();
+        for (int start = 0; start < candidates.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = candidates.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, candidates.size()));
+            existing.addAll(repository.findExistingContentHashes(user, chunk));
+        }
+        return existing;
+    }
+
+    // Call once the transactions carrying these hashes are committed
+    public void recordSaved(User user, Collection<String> contentHashes) {
+        synchronized (filters) {
+            BloomFilter filter = filters.get(user.getId());
+            if (filter == null) {
+                // Not cached; a load already reading the database may have missed them, so it adds them when done
+                Set<String> pending = loading.get(user.getId());
+                if (pending != null) {
+                    pending.addAll(contentHashes);
+                }
+                return;
+            }
+            contentHashes.forEach(filter::add);
+            if (filter.isSaturated()) {
+                filters.remove(user.getId());
+            }
+        }
+    }
+
+    private BloomFilter filterFor(User user) {
+        Set<String> pending;
+        synchronized (filters) {
+            BloomFilter filter = filters.get(user.getId());
+            if (filter != null) {
+                return filter;
+            }
+            pending = loading.computeIfAbsent(user.getId(), id -> new HashSet<>());
+        }
+
+        // Read outside the lock; hashes recorded meanwhile collect in pending. Two requests racing
+        // for the same user share pending and build the filter twice, harmlessly
+        long capacity = Math.max(MIN_FILTER_CAPACITY, repository.countByUser(user) * 2);
+        BloomFilter loaded = new BloomFilter(capacity, falsePositiveRate);
+        try (Stream<String> hashes = repository.streamContentHashesByUser(user)) {
+            hashes.forEach(loaded::add);
+        }
+
+        synchronized (filters) {
+            pending.forEach(loaded::add);
+            BloomFilter raced = filters.get(user.getId());
+            if (raced != null) {
+                return raced;
+            }
+            // Cached only by the load that still owns pending, so no recorded hash is left out
+            if (loading.remove(user.getId(), pending)) {
+                filters.put(user.getId(), loaded);
+            }
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.User;
+import com.piggy.backend.exception.BadRequestException;
+import com.piggy.backend.exception.ResourceNotFoundException;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.backend.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's whole transaction history as CSV or NDJSON. Rows are read through a
+ * database cursor and written as they arrive, so memory use stays the same however long
+ * the history is.
+ */
+@Service
+public class TransactionExportService {
+    // Column order of both formats; the names match the TransactionDTO JSON fields
+    private static final String[] COLUMNS = {"id", "date", "type", "category", "amount", "balance", "merchant",
+            "bankName", "bankAddress", "accountNumber", "refNumber", "smsMessage"};
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format of(String format) {
+            for (Format value : values()) {
+                if (value.extension.equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + format + " (expected csv or ndjson)");
+        }
+    }
+
+    private final TransactionRepository repository;
+    private final UserRepository userRepository;
+
+    public TransactionExportService(TransactionRepository repository, UserRepository userRepository) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+    }
+
+    // Resolved before the response starts, so an unknown user is still a plain 404
+    public User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    /**
+     * Write the user's transactions, newest first, to out. Runs in one read-only database
+     * transaction, which keeps the cursor open until the last row is written. out is
+     * flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(User user, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writeCsvRow(writer, COLUMNS);
+        }
+
+        long rows = 0;
+        try (Stream<TransactionRepository.ExportRow> stream = repository.streamExportRowsByUser(user)) {
+            Iterator<TransactionRepository.ExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Object[] values = values(iterator.next());
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, values);
+                } else {
+                    writeJsonLine(writer, values);
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+
+        System.out.println("✓ Exported " + rows + " transactions as " + format + " for user: " + user.getUsername());
+        return rows;
+    }
+
+    private static Object[] values(TransactionRepository.ExportRow row) {
+        return new Object[]{row.getId(), row.getDate(), row.getType(), row.getCategory(), row.getAmount(),
+                row.getBalance(), row.getMerchant(), row.getBankName(), row.getBankAddress(), row.getAccountNumber(),
+                row.getRefNumber(), row.getSmsMessage()};
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes doubled; null is an empty field
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = text(values[i]);
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // One flat JSON object per line; the values are scalars, so they are written directly rather than mapped
+    private static void writeJsonLine(Writer writer, Object[] values) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeJsonString(writer, COLUMNS[i]);
+            writer.write(':');
+            Object value = values[i];
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof Number) {
+                writer.write(text(value));
+            } else {
+                writeJsonString(writer, text(value));
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    // Dates as ISO-8601 (as in the JSON API), amounts without exponent
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal amount) {
+            return amount.toPlainString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.Category;
+import com.piggy.backend.entity.Transaction;
+import com.piggy.backend.entity.TransactionRollup;
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.backend.repository.TransactionRollupRepository;
+import com.piggy.parser.TransactionType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains transaction_rollups, the per-user (month, category, type) totals the
+ * dashboard summary reads. Every transaction insert goes through {@link #saveAll},
+ * which updates the rollups in the same database transaction.
+ */
+@Service
+public class TransactionRollupService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionRollupRepository rollupRepository;
+
+    public TransactionRollupService(TransactionRepository transactionRepository,
+                                    TransactionRollupRepository rollupRepository) {
+        this.transactionRepository = transactionRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Save new transactions of the user and add them to the user's rollups, all or nothing.
+     * Transactions without a date belong to no month and are left out of the rollups,
+     * as they are out of every summary range.
+     */
+    @Transactional
+    public List<Transaction> saveAll(User user, List<Transaction> transactions) {
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+
+        // One delta per key, so a batch costs a row per month/category/type rather than per transaction.
+        // Sorted, so concurrent uploads lock the rollup rows they share in the same order
+        Map<RollupKey, TransactionRollup> deltas = new TreeMap<>(RollupKey.ORDER);
+        for (Transaction transaction : saved) {
+            if (transaction.getDate() == null) {
+                continue;
+            }
+            RollupKey key = RollupKey.of(YearMonth.from(transaction.getDate()).atDay(1),
+                    transaction.getCategory(), transaction.getType());
+            deltas.computeIfAbsent(key, k -> new TransactionRollup(user, k.month(), k.category(), k.type()))
+                    .add(1, transaction.getAmount(), transaction.getAmount(), transaction.getAmount());
+        }
+
+        // Insert-or-add in one statement: a key no upload has created yet cannot be inserted twice
+        deltas.forEach((key, delta) -> rollupRepository.upsert(user.getId(), key.month(),
+                key.category().name(), key.type().name(), delta.getTransactionCount(), delta.getTotalAmount(), delta.getMinAmount(), delta.getMaxAmount()));
+        return saved;
+    }
+
+    /**
+     * Recompute the user's rollups from the transactions table (backfill of data saved
+     * before rollups existed, or repair). Returns the number of rollup rows written.
+     */
+    @Transactional
+    public int rebuild(User user) {
+        rollupRepository.deleteByUser(user);
+        List<TransactionRollup> rollups = transactionRepository.rollupByUser(user).stream()
+                .map(row -> {
+                    TransactionRollup rollup = new TransactionRollup(user,
+                            LocalDate.of(row.getYear(), row.getMonth(), 1), row.getCategory(), row.getType());
+                    rollup.add(row.getCount(), row.getTotal(), row.getMinAmount(), row.getMaxAmount());
+                    return rollup;
+                })
+                .toList();
+        rollupRepository.saveAll(rollups);
+        return rollups.size();
+    }
+
+    // Summary totals over whole months: [fromMonth, toMonth) as first days of months
+    public List<TransactionRepository.CategoryTypeTotal> sumByCategoryAndType(User user, LocalDate fromMonth, LocalDate toMonth) {
+        return rollupRepository.sumByCategoryAndType(user, fromMonth, toMonth);
+    }
+
+    public List<TransactionRepository.MonthTypeTotal> sumByMonthAndType(User user, LocalDate fromMonth, LocalDate toMonth) {
+        return rollupRepository.sumByMonthAndType(user, fromMonth, toMonth);
+    }
+
+    private record RollupKey(LocalDate month, Category category, TransactionType type) {
+        static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::month)
+                .thenComparing(RollupKey::category)
+                .thenComparing(RollupKey::type);
+
+        static RollupKey of(LocalDate month, Category category, TransactionType type) {
+            return new RollupKey(month, category != null ? category : TransactionRollup.NO_CATEGORY,
+                    type != null ? type : TransactionRollup.NO_TYPE);
+        }
+    }
+}
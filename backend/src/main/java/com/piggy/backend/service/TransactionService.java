@@ -1,37 +1,82 @@
 package com.piggy.backend.service;
 
+import com.piggy.backend.dto.BatchParseItem;
+import com.piggy.backend.dto.BatchParseResponse;
+import com.piggy.backend.dto.SmsParseRequest;
 import com.piggy.backend.dto.TransactionDTO;
+import com.piggy.backend.dto.TransactionListItem;
+import com.piggy.backend.dto.TransactionPage;
+import com.piggy.backend.dto.TransactionSummary;
 import com.piggy.backend.entity.Transaction;
+import com.piggy.backend.entity.UnparsedMessage;
 import com.piggy.backend.entity.User;
 import com.piggy.backend.exception.BadRequestException;
 import com.piggy.backend.exception.ResourceNotFoundException;
 import com.piggy.backend.repository.TransactionRepository;
 import com.piggy.backend.repository.UserRepository;
 import com.piggy.backend.util.SmsRegexParser;
+import com.piggy.parser.ParseOutcome;
+import com.piggy.parser.SmsMessage;
+import com.piggy.parser.TransactionType;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
+    // Open ends of a summary range, within what a MySQL DATETIME can hold (both the first of a month)
+    private static final LocalDateTime SUMMARY_START = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime SUMMARY_END = LocalDateTime.of(9999, 12, 1, 0, 0);
 
     private final TransactionRepository repository;
     private final UserRepository userRepository;
     private final SmsRegexParser smsRegexParser;
-    
-    @Autowired
-    private UnparsedMessageService unparsedMessageService;
+    private final UnparsedMessageService unparsedMessageService;
+    private final TransactionRollupService rollupService;
+    private final SmsDeduplicationService deduplicationService;
+
+    @Value("${transactions.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${transactions.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${transactions.page.max-size:500}")
+    private int maxPageSize;
 
     public TransactionService(
             TransactionRepository repository,
             UserRepository userRepository,
-            SmsRegexParser smsRegexParser) {
+            SmsRegexParser smsRegexParser,
+            UnparsedMessageService unparsedMessageService,
+            TransactionRollupService rollupService,
+            SmsDeduplicationService deduplicationService) {
         this.repository = repository;
         this.userRepository = userRepository;
         this.smsRegexParser = smsRegexParser;
+        this.unparsedMessageService = unparsedMessageService;
+        this.rollupService = rollupService;
+        this.deduplicationService = deduplicationService;
     }
 
     // Parse SMS and save transaction for a specific user with bank address
@@ -48,6 +93,15 @@ public class TransactionService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        // Already saved: uploading the same SMS again returns the existing transaction
+        String contentHash = SmsDeduplicationService.contentHash(user, bankAddress, sms);
+        if (!deduplicationService.findExisting(user, List.of(contentHash)).isEmpty()) {
+            Optional<Transaction> existing = repository.findByUserAndContentHash(user, contentHash);
+            if (existing.isPresent()) {
+                return new TransactionDTO(existing.get());
+            }
+        }
+
         // Parse the SMS with bank address
         Transaction transaction = smsRegexParser.parse(sms, bankAddress);
         if (transaction == null) {
@@ -71,28 +125,288 @@ public class TransactionService {
         }
         
         transaction.setSmsMessage(sms);
+        transaction.setContentHash(contentHash);
 
         // Associate with user
         transaction.setUser(user);
 
-        // Save to database
-        repository.save(transaction);
+        // Save to database, together with the user's monthly rollups
+        try {
+            rollupService.saveAll(user, List.of(transaction));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload saved the same SMS after the check above
+            Optional<Transaction> existing = repository.findByUserAndContentHash(user, contentHash);
+            if (existing.isEmpty()) {
+                throw e;
+            }
+            return new TransactionDTO(existing.get());
+        }
+        deduplicationService.recordSaved(user, List.of(contentHash));
 
         return new TransactionDTO(transaction);
     }
 
-    // ADD THIS: Get all transactions for a specific user
-    public List<TransactionDTO> getUserTransactions(String username) {
+    /**
+     * Parse and save a whole upload in one request: the user is resolved once, the SMS are
+     * parsed in parallel, and the parsed transactions and the unparsed messages are each
+     * saved with one saveAll. Results come back per SMS, in request order. Not one transaction
+     * on purpose: no DB connection is held while the SMS are parsed and categorised.
+     */
+    public BatchParseResponse parseAndSaveBatch(List<SmsParseRequest> requests, String username) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one SMS message is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("Too many SMS messages in one batch: " + requests.size()
+                    + " (maximum " + maxBatchSize + ")");
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        List<SmsMessage> messages = requests.stream()
+                .map(request -> request == null ? null : new SmsMessage(request.getSms(), request.getBankAddress()))
+                .toList();
+
+        // Skip SMS the user already has saved, and repeats within the batch, before parsing anything
+        String[] contentHashes = new String[messages.size()];
+        for (int i = 0; i < messages.size(); i++) {
+            SmsMessage message = messages.get(i);
+            if (message != null && !isBlank(message.sms()) && !isBlank(message.bankAddress())) {
+                contentHashes[i] = SmsDeduplicationService.contentHash(user, message.bankAddress(), message.sms());
+            }
+        }
+        Set<String> seen = new HashSet<>(deduplicationService.findExisting(user,
+                Arrays.stream(contentHashes).filter(Objects::nonNull).toList()));
+        List<Integer> toParse = new ArrayList<>();
+        for (int i = 0; i < contentHashes.length; i++) {
+            if (contentHashes[i] == null || seen.add(contentHashes[i])) {
+                toParse.add(i);
+            }
+        }
+
+        List<ParseOutcome<Transaction>> parsedOutcomes = smsRegexParser.parseAll(toParse.stream().map(messages::get).toList());
+        List<ParseOutcome<Transaction>> outcomes = new ArrayList<>(Collections.nCopies(messages.size(),
+                new ParseOutcome<>(ParseOutcome.Status.DUPLICATE, null, null)));
+        for (int j = 0; j < toParse.size(); j++) {
+            outcomes.set(toParse.get(j), parsedOutcomes.get(j));
+        }
+
+        List<Integer> parsedIndexes = new ArrayList<>();
+        List<UnparsedMessage> unparsed = new ArrayList<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            ParseOutcome<Transaction> outcome = outcomes.get(i);
+            SmsMessage message = messages.get(i);
+            if (outcome.isParsed()) {
+                Transaction transaction = outcome.transaction();
+                transaction.setSmsMessage(message.sms());
+                transaction.setContentHash(contentHashes[i]);
+                transaction.setUser(user);
+                parsedIndexes.add(i);
+            } else if (outcome.status() != ParseOutcome.Status.DUPLICATE
+                    && message != null && !isBlank(message.sms()) && !isBlank(message.bankAddress())) {
+                // Same as a single parse: makers see it in the unparsed queue
+                unparsed.add(UnparsedMessageService.newUnparsedMessage(
+                        message.bankAddress(), message.sms(), errorMessage(outcome, message), user));
+            }
+        }
+
+        List<Transaction> parsed = saveParsed(user, outcomes, parsedIndexes);
+        deduplicationService.recordSaved(user, parsed.stream().map(Transaction::getContentHash).toList());
+        if (!unparsed.isEmpty()) {
+            unparsedMessageService.saveUnparsedMessages(unparsed);
+        }
+        long duplicates = outcomes.stream().filter(outcome -> outcome.status() == ParseOutcome.Status.DUPLICATE).count();
+        System.out.println("✓ Batch of " + outcomes.size() + " SMS for user " + username + ": "
+                + parsed.size() + " parsed, " + unparsed.size() + " saved as unparsed, " + duplicates + " duplicates skipped");
+
+        List<BatchParseItem> results = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            ParseOutcome<Transaction> outcome = outcomes.get(i);
+            results.add(outcome.isParsed()
+                    ? new BatchParseItem(i, outcome.status(), new TransactionDTO(outcome.transaction()), null)
+                    : new BatchParseItem(i, outcome.status(), null, errorMessage(outcome, messages.get(i))));
+        }
+        return new BatchParseResponse(results);
+    }
+
+    /**
+     * Save the parsed transactions at the given indexes of outcomes, all in one saveAll.
+     * When a concurrent upload saved some of the same SMS in the meantime, the unique
+     * content hash fails the whole saveAll: those rows are turned into DUPLICATE outcomes
+     * and the rest is saved again. Returns the transactions that were saved.
+     */
+    private List<Transaction> saveParsed(User user, List<ParseOutcome<Transaction>> outcomes, List<Integer> indexes) {
+        while (true) {
+            List<Transaction> parsed = indexes.stream().map(i -> outcomes.get(i).transaction()).toList();
+            try {
+                rollupService.saveAll(user, parsed);
+                return parsed;
+            } catch (DataIntegrityViolationException e) {
+                Set<String> saved = deduplicationService.findSaved(user,
+                        parsed.stream().map(Transaction::getContentHash).toList());
+                if (saved.isEmpty()) {
+                    throw e;
+                }
+                List<Integer> remaining = new ArrayList<>();
+                for (int i : indexes) {
+                    Transaction transaction = outcomes.get(i).transaction();
+                    if (saved.contains(transaction.getContentHash())) {
+                        outcomes.set(i, new ParseOutcome<>(ParseOutcome.Status.DUPLICATE, null, null));
+                    } else {
+                        transaction.setId(null); // Assigned by the rolled back attempt
+                        remaining.add(i);
+                    }
+                }
+                indexes = remaining;
+            }
+        }
+    }
+
+    private static String errorMessage(ParseOutcome<Transaction> outcome, SmsMessage message) {
+        if (outcome.status() == ParseOutcome.Status.DUPLICATE) {
+            return null;
+        }
+        if (outcome.status() == ParseOutcome.Status.UNPARSED && message != null) {
+            return "Unable to parse SMS message. No matching pattern found for bank address: " + message.bankAddress();
+        }
+        return outcome.reason();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * One page of the user's transactions, newest first (date, then id). Keyset pagination:
+     * the cursor is the (date, id) of the last row of the previous page, so every page is an
+     * index range scan on (user_id, date, id) however long the history is. Rows are read
+     * without their raw SMS; {@link #getSmsMessage} fetches it for one transaction.
+     *
+     * @param cursor {@link TransactionPage#getNext()} of the previous page, or null for the first page
+     * @param limit  page size; null for the default, capped at the maximum
+     */
+    public TransactionPage getUserTransactions(String username, String cursor, Integer limit) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        size = Math.min(size, maxPageSize);
+
         // Find the user
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Get all transactions for this user
-        List<Transaction> transactions = repository.findByUser(user);
-        
+        // One extra row tells whether there is a next page
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<TransactionRepository.ListRow> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = repository.findFirstPageByUser(user, page);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.date() == null) {
+                transactions = repository.findUndatedPageByUserAfter(user, after.id(), page);
+            } else {
+                transactions = repository.findPageByUserAfter(user, after.date(), after.id(), page);
+                if (transactions.size() <= size) {
+                    // Dated rows ran out: fill the page with the undated ones, which sort last
+                    List<TransactionRepository.ListRow> rows = new ArrayList<>(transactions);
+                    rows.addAll(repository.findUndatedPageByUserAfter(user, Long.MAX_VALUE,
+                            PageRequest.of(0, size + 1 - transactions.size())));
+                    transactions = rows;
+                }
+            }
+        }
+
+        String next = null;
+        if (transactions.size() > size) {
+            transactions = transactions.subList(0, size);
+            TransactionRepository.ListRow last = transactions.get(size - 1);
+            next = new Cursor(last.getDate(), last.getId()).encode();
+        }
+
         // Convert to DTOs
-        return transactions.stream()
-                .map(TransactionDTO::new)
+        return new TransactionPage(transactions.stream()
+                .map(TransactionListItem::new)
+                .collect(Collectors.toList()), next);
+    }
+
+    // The raw SMS of one of the user's transactions, left out of the list responses
+    public String getSmsMessage(String username, Long id) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        return repository.findSmsMessageByIdAndUser(id, user)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
+    }
+
+    /**
+     * Totals for the dashboard charts, grouped by the database instead of shipping every
+     * row to the browser. from and to are inclusive days; null leaves that end open.
+     * Ranges of whole months (the dashboard's) are read from transaction_rollups, a few rows
+     * per month; any other range is grouped over the user's (user_id, date) index range.
+     */
+    public TransactionSummary getSummary(String username, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        LocalDateTime start = from != null ? from.atStartOfDay() : SUMMARY_START;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : SUMMARY_END;
+        boolean wholeMonths = start.getDayOfMonth() == 1 && end.getDayOfMonth() == 1;
+
+        List<TransactionRepository.CategoryTypeTotal> categoryTotals = wholeMonths
+                ? rollupService.sumByCategoryAndType(user, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByCategoryAndType(user, start, end);
+
+        // Per-type totals are the category rows added up; no need for another query
+        Map<TransactionType, TransactionSummary.TypeTotal> byType = new EnumMap<>(TransactionType.class);
+        List<TransactionSummary.CategoryTotal> byCategory = new ArrayList<>();
+        for (TransactionRepository.CategoryTypeTotal row : categoryTotals) {
+            BigDecimal total = row.getTotal() != null ? row.getTotal() : BigDecimal.ZERO;
+            byCategory.add(new TransactionSummary.CategoryTotal(row.getCategory(), row.getType(), row.getCount(), total));
+            if (row.getType() != null) {
+                byType.merge(row.getType(), new TransactionSummary.TypeTotal(row.getType(), row.getCount(), total),
+                        (a, b) -> new TransactionSummary.TypeTotal(a.getType(),
+                                a.getCount() + b.getCount(), a.getTotal().add(b.getTotal())));
+            }
+        }
+
+        List<TransactionRepository.MonthTypeTotal> monthTotals = wholeMonths
+                ? rollupService.sumByMonthAndType(user, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByMonthAndType(user, start, end);
+        List<TransactionSummary.MonthTotal> byMonth = monthTotals.stream()
+                .map(row -> new TransactionSummary.MonthTotal(
+                        YearMonth.of(row.getYear(), row.getMonth()).toString(),
+                        row.getType(),
+                        row.getCount(),
+                        row.getTotal() != null ? row.getTotal() : BigDecimal.ZERO))
                 .collect(Collectors.toList());
+
+        return new TransactionSummary(from, to, new ArrayList<>(byType.values()), byCategory, byMonth);
+    }
+
+    // Position after which the next page starts; opaque to clients (URL-safe base64 of "date|id")
+    private record Cursor(LocalDateTime date, Long id) {
+
+        String encode() {
+            String raw = (date != null ? date.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                String date = raw.substring(0, separator);
+                return new Cursor(date.isEmpty() ? null : LocalDateTime.parse(date),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
     }
 }
\ No newline at end of file
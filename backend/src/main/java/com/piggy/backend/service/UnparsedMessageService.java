@@ -19,12 +19,7 @@ public class UnparsedMessageService {
     @Transactional
     public UnparsedMessage saveUnparsedMessage(String bankAddress, String smsMessage, String errorMessage, User user) {
         try {
-            UnparsedMessage unparsedMessage = new UnparsedMessage();
-            unparsedMessage.setBankAddress(bankAddress);
-            unparsedMessage.setSmsMessage(smsMessage);
-            unparsedMessage.setErrorMessage(errorMessage);
-            unparsedMessage.setProcessed(false);
-            unparsedMessage.setUser(user);
+            UnparsedMessage unparsedMessage = newUnparsedMessage(bankAddress, smsMessage, errorMessage, user);
             
             System.out.println("Saving unparsed message for bank: " + bankAddress);
             UnparsedMessage saved = unparsedMessageRepository.save(unparsedMessage);
@@ -37,6 +32,24 @@ public class UnparsedMessageService {
         }
     }
 
+    // Bulk variant for batch uploads - one saveAll instead of a save per message
+    @Transactional
+    public List<UnparsedMessage> saveUnparsedMessages(List<UnparsedMessage> messages) {
+        List<UnparsedMessage> saved = unparsedMessageRepository.saveAll(messages);
+        System.out.println("✓ Saved " + saved.size() + " unparsed messages");
+        return saved;
+    }
+
+    public static UnparsedMessage newUnparsedMessage(String bankAddress, String smsMessage, String errorMessage, User user) {
+        UnparsedMessage unparsedMessage = new UnparsedMessage();
+        unparsedMessage.setBankAddress(bankAddress);
+        unparsedMessage.setSmsMessage(smsMessage);
+        unparsedMessage.setErrorMessage(errorMessage);
+        unparsedMessage.setProcessed(false);
+        unparsedMessage.setUser(user);
+        return unparsedMessage;
+    }
+
     public List<UnparsedMessage> getAllUnparsedMessages() {
         return unparsedMessageRepository.findAllByOrderByCreatedAtDesc();
     }
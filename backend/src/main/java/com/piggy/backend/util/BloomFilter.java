@@ -0,0 +1,67 @@
+package com.piggy.backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe bloom filter over SHA-256 hex digests (such as transaction content hashes).
+ * The digest is already uniformly distributed, so its first 128 bits serve as the two
+ * base hashes of double hashing instead of hashing the key again.
+ * {@link #mightContain} never answers false for a key that was added.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param capacity            keys the filter is sized for; past it the false-positive rate rises
+     * @param falsePositiveRate   wanted false-positive rate at capacity, e.g. 0.01
+     */
+    public BloomFilter(long capacity, double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("capacity must be positive and falsePositiveRate in (0, 1)");
+        }
+        // Optimal sizes: m = -n ln p / (ln 2)^2 bits, k = m/n ln 2 hash functions
+        long words = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / 64);
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, words)));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    public void add(String sha256Hex) {
+        long h1 = Long.parseUnsignedLong(sha256Hex, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(sha256Hex, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String sha256Hex) {
+        long h1 = Long.parseUnsignedLong(sha256Hex, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(sha256Hex, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // More keys than it was sized for: still correct, but answering "maybe" too often to be worth keeping
+    public boolean isSaturated() {
+        return insertions.get() > capacity;
+    }
+}
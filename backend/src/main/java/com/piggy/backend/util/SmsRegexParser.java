@@ -1,151 +1,64 @@
 package com.piggy.backend.util;
 
 import com.piggy.backend.entity.Category;
-import com.piggy.backend.entity.Pattern;
 import com.piggy.backend.entity.Transaction;
-import com.piggy.backend.entity.TransactionType;
 import com.piggy.backend.service.GeminiCategorizationService;
-import com.piggy.backend.service.PatternService;
+import com.piggy.parser.ParseOutcome;
+import com.piggy.parser.ParsedTransaction;
+import com.piggy.parser.SmsMessage;
+import com.piggy.parser.SmsParser;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.util.List;
-import java.util.regex.Matcher;
 
+/**
+ * Spring adapter over the container-free {@link SmsParser} of piggy-parser-core:
+ * turns its result into a Transaction entity and adds the category.
+ */
 @Component
 public class SmsRegexParser {
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-        DateTimeFormatter.ofPattern("d-MMM-yy"),
-        DateTimeFormatter.ofPattern("dd-MMM-yy"),
-        DateTimeFormatter.ofPattern("dd/MM/yy"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("d-MMM-yyyy"),
-        DateTimeFormatter.ofPattern("dd-MMM-yyyy"),
-        new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dMMMyy").toFormatter(),
-        new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("ddMMMyy").toFormatter()
-    };
-
-    private final PatternService patternService;
+    private final SmsParser smsParser;
     private final GeminiCategorizationService geminiService;
 
-    public SmsRegexParser(PatternService patternService, GeminiCategorizationService geminiService) {
-        this.patternService = patternService;
+    public SmsRegexParser(SmsParser smsParser, GeminiCategorizationService geminiService) {
+        this.smsParser = smsParser;
         this.geminiService = geminiService;
     }
 
     public Transaction parse(String sms, String bankAddress) {
-        List<Pattern> approvedPatterns = patternService.getApprovedPatternsByBankAddress(bankAddress);
-
-        if (approvedPatterns.isEmpty()) {
-            System.out.println("⚠ No approved patterns found for bank address: " + bankAddress);
-            return null;
-        }
-
-        for (Pattern pattern : approvedPatterns) {
-            java.util.regex.Pattern regex = java.util.regex.Pattern.compile(
-                    pattern.getRegexPattern(),
-                    java.util.regex.Pattern.CASE_INSENSITIVE
-            );
-            Matcher matcher = regex.matcher(sms);
-
-            if (matcher.find()) {
-                System.out.println("✓ Pattern matched for bank address: " + bankAddress);
-                Transaction transaction = buildTransaction(matcher, pattern, bankAddress);
-                
-                // If transaction is null, pattern didn't have required fields (like amount)
-                // Continue to try other patterns
-                if (transaction == null) {
-                    System.out.println("⚠ Pattern matched but transaction build failed - trying next pattern");
-                    continue;
-                }
-                
-                return transaction;
-            }
-        }
-
-        System.out.println("⚠ No matching pattern found for SMS from bank address: " + bankAddress);
-        return null;
+        ParsedTransaction parsed = smsParser.parse(sms, bankAddress);
+        return parsed != null ? toTransaction(parsed) : null;
     }
 
     /**
-     * Set pattern fields from Pattern entity only (never from regex).
-     * Fill only extracted fields from matcher; do not override anything that comes from the pattern.
+     * Parse a batch in parallel (see {@link SmsParser#parseAll(List)}): one outcome per
+     * message, in input order, carrying the categorised Transaction when it parsed.
+     * Categorisation runs in the parser's batch tasks, so Gemini calls overlap up to
+     * {@code parser.batch.parallelism} at a time instead of queueing on the request thread.
      */
-    private Transaction buildTransaction(Matcher matcher, Pattern pattern, String bankAddress) {
-        Transaction transaction = new Transaction();
-
-        // Store original SMS for intelligent type detection
-        String smsContent = matcher.group(0); // Full matched text
-
-        // —— From Pattern entity only (never overridden by regex) ——
-        transaction.setBankAddress(pattern.getBankAddress());
-        transaction.setBankName(pattern.getBankName());
-
-        // —— From regex extraction only (fields not in pattern entity) ——
-        try {
-            transaction.setAccountNumber(matcher.group("accountNumber"));
-        } catch (Exception e) { /* skip */ }
-
-        // Determine transaction type first
-        TransactionType transactionType;
-        try {
-            String type = matcher.group("type");
-            transactionType = normalizeType(type, smsContent);
-        } catch (Exception e) {
-            // No type in regex - intelligently determine from SMS content
-            transactionType = detectTypeFromContent(smsContent);
-        }
-        transaction.setType(transactionType);
-
-        // Extract amount - optional for ALERT/REMINDER, required for DEBITED/CREDITED
-        try {
-            String amountStr = matcher.group("amount");
-            if (amountStr == null || amountStr.isBlank()) {
-                System.out.println("⚠ Amount field is empty or null - pattern may be for notification/alert message");
-                // Don't set amount - leave it null (okay for ALERT/REMINDER)
-            } else {
-                amountStr = amountStr.replace(",", "").trim();
-                transaction.setAmount(new BigDecimal(amountStr));
-            }
-        } catch (IllegalArgumentException e) {
-            // Amount group doesn't exist in pattern
-            System.out.println("⚠ Amount group not found in pattern - checking if this is an alert/reminder");
-            
-            // If it's ALERT or REMINDER, missing amount is acceptable
-            if (transactionType == TransactionType.ALERT || transactionType == TransactionType.REMINDER) {
-                System.out.println("✓ Type is ALERT/REMINDER - continuing without amount");
-                // Leave amount as null - this is fine for alerts/reminders
-            } else {
-                // For DEBITED/CREDITED, amount is required
-                System.out.println("✗ Type is DEBITED/CREDITED but no amount found - invalid transaction pattern");
-                return null;
-            }
-        } catch (Exception e) {
-            System.err.println("✗ Error extracting amount: " + e.getMessage());
-            return null;
-        }
+    public List<ParseOutcome<Transaction>> parseAll(List<SmsMessage> messages) {
+        return smsParser.parseAll(messages, this::toTransaction);
+    }
 
-        // Extract merchant name
-        String merchant = "Unknown";
-        try {
-            String extractedMerchant = matcher.group("merchant");
-            merchant = extractedMerchant != null ? extractedMerchant.trim() : "Unknown";
-        } catch (Exception e) {
-            // No merchant group in pattern
-        }
-        transaction.setMerchant(merchant);
+    private Transaction toTransaction(ParsedTransaction parsed) {
+        Transaction transaction = new Transaction();
+        transaction.setBankAddress(parsed.getBankAddress());
+        transaction.setBankName(parsed.getBankName());
+        transaction.setAccountNumber(parsed.getAccountNumber());
+        transaction.setType(parsed.getType());
+        transaction.setAmount(parsed.getAmount());
+        transaction.setMerchant(parsed.getMerchant());
+        transaction.setDate(parsed.getDate());
+        transaction.setBalance(parsed.getBalance());
+        transaction.setRefNumber(parsed.getRefNumber());
 
         // —— Category: Use Gemini API to auto-categorize based on merchant name ——
         Category category;
         if (geminiService.isEnabled()) {
             // Use Gemini to categorize based on merchant and SMS content
-            category = geminiService.categorize(merchant, smsContent);
-            System.out.println("✓ Auto-categorized via Gemini: " + merchant + " -> " + category);
+            category = geminiService.categorize(parsed.getMerchant(), parsed.getMatchedText());
+            System.out.println("✓ Auto-categorized via Gemini: " + parsed.getMerchant() + " -> " + category);
         } else {
             // Gemini not enabled - default to OTHERS
             category = Category.OTHERS;
@@ -153,130 +66,6 @@ public class SmsRegexParser {
         }
         transaction.setCategory(category);
 
-        try {
-            String dateStr = matcher.group("date");
-            if (dateStr != null && !dateStr.isBlank()) {
-                transaction.setDate(parseDate(dateStr.trim()).atStartOfDay());
-            } else {
-                transaction.setDate(LocalDateTime.now());
-            }
-        } catch (Exception e) {
-            transaction.setDate(LocalDateTime.now());
-        }
-
-        try {
-            String balanceStr = matcher.group("balance");
-            if (balanceStr != null && !balanceStr.isBlank()) {
-                balanceStr = balanceStr.replace(",", "").trim();
-                transaction.setBalance(new BigDecimal(balanceStr));
-            }
-        } catch (Exception e) { /* skip */ }
-
-        try {
-            String refNumber = matcher.group("refNumber");
-            if (refNumber != null && !refNumber.isBlank()) {
-                transaction.setRefNumber(refNumber.trim());
-            }
-        } catch (Exception e) { /* skip */ }
-
         return transaction;
     }
-
-    private static TransactionType normalizeType(String type, String smsContent) {
-        if (type == null || type.isBlank()) {
-            // No type specified in regex - intelligently detect from content
-            return detectTypeFromContent(smsContent);
-        }
-        String u = type.toUpperCase();
-        if (u.contains("CREDIT") || "CREDITED".equals(u) || u.contains("RECEIVED")) return TransactionType.CREDITED;
-        if (u.contains("SPENT") || u.contains("DEBIT") || "DEBITED".equals(u) || 
-            u.contains("USED") || u.contains("CHARGED") || u.contains("WITHDRAWN")) return TransactionType.DEBITED;
-        if (u.contains("ALERT") || "ALERT".equals(u)) return TransactionType.ALERT;
-        if (u.contains("REMINDER") || "REMINDER".equals(u)) return TransactionType.REMINDER;
-        // If type is specified but not recognized, check content
-        return detectTypeFromContent(smsContent);
-    }
-
-    /**
-     * Intelligently detect transaction type based on SMS content keywords.
-     * Only returns DEBITED/CREDITED if clear transaction keywords are found.
-     * Otherwise defaults to ALERT/REMINDER for notification-type messages.
-     */
-    private static TransactionType detectTypeFromContent(String smsContent) {
-        if (smsContent == null || smsContent.isBlank()) {
-            return TransactionType.ALERT;
-        }
-        
-        String content = smsContent.toLowerCase();
-        
-        // Check for CREDITED/RECEIVED keywords
-        if (content.contains("credited") || 
-            content.contains("received") || 
-            content.contains("deposited") ||
-            content.contains("credit to") ||
-            content.contains("added to") ||
-            content.matches(".*\\bcr\\b.*") || // CR = Credit
-            content.contains("refund") ||
-            content.contains("payment received")) {
-            return TransactionType.CREDITED;
-        }
-        
-        // Check for DEBITED/SPENT keywords
-        // Including card transaction patterns
-        if (content.contains("debited") || 
-            content.contains("spent") || 
-            content.contains("withdrawn") ||
-            content.contains("deducted") ||
-            content.contains("transferred") ||
-            content.contains("paid") ||
-            content.contains("purchase") ||
-            content.matches(".*\\bdr\\b.*") || // DR = Debit
-            // Card transaction patterns
-            (content.contains("transaction") && (content.contains("debit card") || content.contains("credit card"))) ||
-            content.contains("has been used") ||
-            content.contains("has been spent") ||
-            content.contains("has been charged") ||
-            (content.matches(".*transaction of rs\\..*") && content.matches(".*(debit card|credit card).*"))) {
-            return TransactionType.DEBITED;
-        }
-        
-        // Check for REMINDER keywords
-        if (content.contains("reminder") || 
-            content.contains("due") || 
-            content.contains("upcoming") ||
-            content.contains("scheduled") ||
-            content.contains("will auto-debit") ||
-            content.contains("payment due")) {
-            return TransactionType.REMINDER;
-        }
-        
-        // Check for ALERT keywords (overdue, default, statement, etc.)
-        if (content.contains("alert") || 
-            content.contains("overdue") || 
-            content.contains("default") ||
-            content.contains("failed") ||
-            content.contains("statement") ||
-            content.contains("reported") ||
-            content.contains("notification") ||
-            content.contains("please ignore if") ||
-            content.contains("ignore if paid") ||
-            content.contains("declined") ||
-            content.contains("limit exceeded")) {
-            return TransactionType.ALERT;
-        }
-        
-        // If no clear keywords found, default to ALERT (notification)
-        // This is safer than defaulting to DEBITED for unknown messages
-        return TransactionType.ALERT;
-    }
-
-    private static LocalDate parseDate(String dateStr) {
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(dateStr, formatter);
-            } catch (Exception ignored) {
-            }
-        }
-        throw new IllegalArgumentException("Unsupported date format: " + dateStr);
-    }
 }
@@ -0,0 +1,54 @@
+-- Schema as Hibernate's ddl-auto=update created it before migrations were introduced.
+-- Runs only on empty databases; existing ones are baselined at this version (spring.flyway.baseline-version=1)
+-- and pick up everything after it from V2 on.
+
+CREATE TABLE users (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    password VARCHAR(255) NOT NULL,
+    role     ENUM ('USER', 'ADMIN', 'MAKER', 'CHECKER') NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE patterns (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    bank_address  VARCHAR(255) NOT NULL,
+    bank_name     VARCHAR(255) NOT NULL,
+    merchant_name VARCHAR(255),
+    message       VARCHAR(255) NOT NULL,
+    regex_pattern TEXT NOT NULL,
+    status        ENUM ('APPROVED', 'PENDING', 'REJECTED', 'DRAFT') NOT NULL,
+    type          VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE transactions (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    account_number VARCHAR(255),
+    amount         DECIMAL(38, 2),
+    balance        DECIMAL(38, 2),
+    bank_address   VARCHAR(255),
+    bank_name      VARCHAR(255),
+    category       ENUM ('FOOD', 'SHOPPING', 'ENTERTAINMENT', 'TRANSPORT', 'UTILITIES', 'OTHERS'),
+    date           DATETIME(6),
+    merchant       VARCHAR(255),
+    ref_number     VARCHAR(255),
+    sms_message    VARCHAR(2000),
+    type           ENUM ('CREDITED', 'DEBITED', 'ALERT', 'REMINDER'),
+    user_id        BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE unparsed_messages (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    bank_address  VARCHAR(255),
+    created_at    DATETIME(6),
+    error_message VARCHAR(1000),
+    processed     BIT NOT NULL,
+    sms_message   VARCHAR(2000),
+    user_id       BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_unparsed_messages_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
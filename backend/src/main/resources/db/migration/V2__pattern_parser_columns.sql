@@ -0,0 +1,5 @@
+-- Pattern columns the parser reads: the date format of the "date" group, the try-first priority,
+-- and the optimised regex written when a pattern is approved. All nullable, so existing rows need no values.
+ALTER TABLE patterns ADD COLUMN date_format VARCHAR(255);
+ALTER TABLE patterns ADD COLUMN priority INTEGER;
+ALTER TABLE patterns ADD COLUMN optimized_regex TEXT;
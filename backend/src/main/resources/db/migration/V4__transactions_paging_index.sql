@@ -0,0 +1,2 @@
+-- Keyset pages of GET /api/transactions: WHERE user_id = ? AND (date < ? OR (date = ? AND id < ?)) ORDER BY date DESC, id DESC
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date, id);
@@ -0,0 +1,17 @@
+-- Per-user (month, category, type) totals behind the dashboard summary, kept by TransactionRollupService.
+-- The unique key is also the target of its INSERT ... ON DUPLICATE KEY UPDATE. Its columns are all NOT NULL
+-- (transactions without a category or type are counted as OTHERS / ALERT): NULLs never collide in a unique key.
+CREATE TABLE transaction_rollups (
+    id                BIGINT NOT NULL AUTO_INCREMENT,
+    category          ENUM ('FOOD', 'SHOPPING', 'ENTERTAINMENT', 'TRANSPORT', 'UTILITIES', 'OTHERS') NOT NULL,
+    max_amount        DECIMAL(38, 2),
+    min_amount        DECIMAL(38, 2),
+    rollup_month      DATE NOT NULL,
+    total_amount      DECIMAL(38, 2),
+    transaction_count BIGINT NOT NULL,
+    type              ENUM ('CREDITED', 'DEBITED', 'ALERT', 'REMINDER') NOT NULL,
+    user_id           BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_transaction_rollups_key UNIQUE (user_id, rollup_month, category, type),
+    CONSTRAINT fk_transaction_rollups_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,22 @@
+-- Composite indexes matched to the repository queries. InnoDB secondary indexes also carry the primary key,
+-- so every query below that reads only these columns (and id) is answered from the index alone.
+
+-- TransactionRepository.sumByCategoryAndType / sumByMonthAndType / rollupByUser:
+-- WHERE user_id = ? AND date range, reading category, type and amount - all of them in this index.
+-- (Paging keeps idx_transactions_user_date_id, whose (date, id) order this index cannot give.)
+CREATE INDEX idx_transactions_user_date_totals ON transactions (user_id, date, category, type, amount);
+
+-- TransactionRepository.findRecentSmsMessagesByBankAddress: WHERE bank_address = ? ORDER BY id DESC LIMIT n
+CREATE INDEX idx_transactions_bank_address_id ON transactions (bank_address, id);
+
+-- PatternRepository.findByBankAddressAndStatus / findApprovedPatternsByBankAddress / findSampleMessagesByBankAddress
+CREATE INDEX idx_patterns_bank_address_status ON patterns (bank_address, status);
+
+-- PatternRepository.findByStatus, and findDistinctBankAddresses as an index-only scan of one status
+CREATE INDEX idx_patterns_status_bank_address ON patterns (status, bank_address);
+
+-- UnparsedMessageRepository.findByProcessedOrderByCreatedAtDesc (no filesort), countByProcessed (index-only)
+CREATE INDEX idx_unparsed_messages_processed_created_at ON unparsed_messages (processed, created_at);
+
+-- UnparsedMessageRepository.findRecentSmsMessagesByBankAddress: WHERE bank_address = ? ORDER BY created_at DESC LIMIT n
+CREATE INDEX idx_unparsed_messages_bank_address_created_at ON unparsed_messages (bank_address, created_at);
@@ -0,0 +1,6 @@
+-- Idempotent ingest: SmsDeduplicationService.contentHash of (user, bank address, normalised SMS).
+-- Rows saved before this stay NULL (a unique index allows any number of NULLs) and are not deduplicated against.
+ALTER TABLE transactions ADD COLUMN content_hash VARCHAR(64);
+
+-- Unique per user; also the index-only path of the duplicate lookups and the bloom filter load
+ALTER TABLE transactions ADD CONSTRAINT uk_transactions_user_content_hash UNIQUE (user_id, content_hash);
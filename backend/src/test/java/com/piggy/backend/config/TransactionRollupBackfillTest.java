@@ -0,0 +1,87 @@
+package com.piggy.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * V8 on an H2 database (MODE=MySQL) migrated up to V7 and holding transactions saved before rollups.
+ */
+class TransactionRollupBackfillTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:backfill-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway().target("7").load().migrate();
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role) VALUES (1, 'legacy', 'x', 'USER')");
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role) VALUES (2, 'done', 'x', 'USER')");
+    }
+
+    @Test
+    void testBackfillGroupsLegacyTransactionsPerMonthCategoryAndType() {
+        insertTransaction(1, 1, "2024-01-05 10:00:00", "FOOD", "DEBITED", "50.00");
+        insertTransaction(2, 1, "2024-01-20 18:30:00", "FOOD", "DEBITED", "250.00");
+        // No category: counted under OTHERS, together with the row that has it
+        insertTransaction(3, 1, "2024-02-01 09:00:00", null, "CREDITED", "1000.00");
+        insertTransaction(4, 1, "2024-02-11 09:00:00", "OTHERS", "CREDITED", "10.00");
+        // No date: in no month
+        insertTransaction(5, 1, null, "FOOD", "DEBITED", "99.00");
+
+        flyway().load().migrate();
+
+        List<Map<String, Object>> rollups = jdbcTemplate.queryForList("SELECT rollup_month, category, type,"
+                + " transaction_count, total_amount, min_amount, max_amount FROM transaction_rollups ORDER BY rollup_month");
+        assertEquals(2, rollups.size());
+        assertEquals("2024-01-01", rollups.get(0).get("rollup_month").toString());
+        assertEquals("FOOD", rollups.get(0).get("category"));
+        assertEquals(2L, ((Number) rollups.get(0).get("transaction_count")).longValue());
+        assertEquals(0, new BigDecimal("300.00").compareTo((BigDecimal) rollups.get(0).get("total_amount")));
+        assertEquals(0, new BigDecimal("50.00").compareTo((BigDecimal) rollups.get(0).get("min_amount")));
+        assertEquals(0, new BigDecimal("250.00").compareTo((BigDecimal) rollups.get(0).get("max_amount")));
+        assertEquals("OTHERS", rollups.get(1).get("category"));
+        assertEquals("CREDITED", rollups.get(1).get("type"));
+        assertEquals(2L, ((Number) rollups.get(1).get("transaction_count")).longValue());
+        assertEquals(0, new BigDecimal("1010.00").compareTo((BigDecimal) rollups.get(1).get("total_amount")));
+    }
+
+    @Test
+    void testBackfillLeavesUsersWithRollupsAlone() {
+        insertTransaction(1, 1, "2024-01-05 10:00:00", "FOOD", "DEBITED", "50.00");
+        insertTransaction(2, 2, "2024-01-05 10:00:00", "FOOD", "DEBITED", "70.00");
+        jdbcTemplate.update("INSERT INTO transaction_rollups (user_id, rollup_month, category, type, transaction_count,"
+                + " total_amount, min_amount, max_amount) VALUES (2, DATE '2024-01-01', 'FOOD', 'DEBITED', 1, 70.00, 70.00, 70.00)");
+
+        flyway().load().migrate();
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_rollups WHERE user_id = 1", Integer.class));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT transaction_count FROM transaction_rollups WHERE user_id = 2", Long.class));
+    }
+
+    private org.flywaydb.core.api.configuration.FluentConfiguration flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .javaMigrations(new TransactionRollupBackfill());
+    }
+
+    private void insertTransaction(long id, long userId, String date, String category, String type, String amount) {
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, date, category, type, amount) VALUES (?, ?, ?, ?, ?, ?)",
+                id, userId, date != null ? java.sql.Timestamp.valueOf(date) : null, category, type, new BigDecimal(amount));
+    }
+}
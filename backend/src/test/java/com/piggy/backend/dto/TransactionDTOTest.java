@@ -2,7 +2,7 @@ package com.piggy.backend.dto;
 
 import com.piggy.backend.entity.Category;
 import com.piggy.backend.entity.Transaction;
-import com.piggy.backend.entity.TransactionType;
+import com.piggy.parser.TransactionType;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
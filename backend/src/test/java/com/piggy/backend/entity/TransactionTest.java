@@ -1,5 +1,6 @@
 package com.piggy.backend.entity;
 
+import com.piggy.parser.TransactionType;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -0,0 +1,189 @@
+package com.piggy.backend.repository;
+
+import com.piggy.backend.config.IdSequenceInitializer;
+import com.piggy.backend.entity.Role;
+import com.piggy.backend.entity.Transaction;
+import com.piggy.backend.entity.UnparsedMessage;
+import com.piggy.backend.entity.User;
+import com.piggy.parser.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk ingest: saveAll must go out as JDBC batches (hibernate.jdbc.batch_size=50), not one
+ * INSERT round trip per row as with IDENTITY ids. Runs on H2 here;
+ * {@link MySqlBulkInsertBatchingTest} runs the same on MySQL.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkInsertBatchingTest {
+
+    static final int ROWS = 1000;
+    private static final int THROUGHPUT_ROWS = 5000;
+    private static final int THROUGHPUT_RUNS = 3;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UnparsedMessageRepository unparsedMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdSequenceInitializer idSequenceInitializer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("bulk-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        userRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testTransactionsAreInsertedInBatches() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(transaction(i));
+        }
+
+        transactionRepository.saveAll(transactions);
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // About 20 INSERT batches and 20 sequence calls, instead of 1000 single-row INSERTs
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                "Inserts were not batched: " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(ROWS, transactions.stream().map(Transaction::getId).distinct().count());
+    }
+
+    @Test
+    void testUnparsedMessagesAreInsertedInBatches() {
+        List<UnparsedMessage> messages = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            UnparsedMessage message = new UnparsedMessage();
+            message.setBankAddress("VM-HDFCBK");
+            message.setSmsMessage("Unknown SMS " + i);
+            message.setErrorMessage("No matching pattern found");
+            message.setUser(user);
+            messages.add(message);
+        }
+
+        unparsedMessageRepository.saveAll(messages);
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                "Inserts were not batched: " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void testSequenceIsMovedPastIdsFromIdentityEra() {
+        // A row written before the switch to sequences, far ahead of the sequence
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+        long legacyId = maxId + 10_000;
+        jdbcTemplate.update("INSERT INTO transactions (id, bank_address, user_id) VALUES (?, ?, ?)",
+                legacyId, "VM-HDFCBK", user.getId());
+
+        idSequenceInitializer.afterSingletonsInstantiated();
+        // Use up any block the pooled optimizer still holds, then the next block must start past the legacy row
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 2 * 50 + 1; i++) {
+            transactions.add(transaction(i));
+        }
+        transactionRepository.saveAll(transactions);
+
+        Transaction last = transactions.get(transactions.size() - 1);
+        assertTrue(last.getId() > legacyId, "Sequence not moved past existing id " + legacyId + ": " + last.getId());
+    }
+
+    /**
+     * Batched against one-row-per-statement inserts of the same rows (the session's JDBC batch
+     * size set to 1), best of a few runs each. Prints rows/s; only asserts the statement counts,
+     * since timings depend on the machine.
+     */
+    @Test
+    void testBatchedInsertThroughput() {
+        long unbatchedNanos = Long.MAX_VALUE;
+        long batchedNanos = Long.MAX_VALUE;
+        long unbatchedStatements = 0;
+        long batchedStatements = 0;
+        for (int run = 0; run < THROUGHPUT_RUNS; run++) {
+            statistics.clear();
+            unbatchedNanos = Math.min(unbatchedNanos, timeSaveAll(1));
+            unbatchedStatements = statistics.getPrepareStatementCount();
+            statistics.clear();
+            batchedNanos = Math.min(batchedNanos, timeSaveAll(50));
+            batchedStatements = statistics.getPrepareStatementCount();
+        }
+        System.out.printf("Bulk insert of %d transactions: one row per statement %.0f rows/s (%d statements),"
+                        + " batches of 50 %.0f rows/s (%d statements)%n",
+                THROUGHPUT_ROWS, THROUGHPUT_ROWS * 1e9 / unbatchedNanos, unbatchedStatements,
+                THROUGHPUT_ROWS * 1e9 / batchedNanos, batchedStatements);
+
+        assertTrue(unbatchedStatements >= THROUGHPUT_ROWS);
+        assertTrue(batchedStatements < THROUGHPUT_ROWS / 10);
+    }
+
+    private long timeSaveAll(int jdbcBatchSize) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < THROUGHPUT_ROWS; i++) {
+            transactions.add(transaction(i));
+        }
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            transactionRepository.saveAll(transactions);
+        });
+        return System.nanoTime() - start;
+    }
+
+    Transaction transaction(int i) {
+        Transaction transaction = new Transaction();
+        transaction.setBankAddress("VM-HDFCBK");
+        transaction.setBankName("HDFC Bank");
+        transaction.setType(TransactionType.DEBITED);
+        transaction.setAmount(new BigDecimal(100 + i));
+        transaction.setMerchant("MERCHANT " + i);
+        transaction.setDate(LocalDateTime.of(2026, 1, 1 + i % 28, 0, 0));
+        transaction.setSmsMessage("A/c XX5678 debited for INR " + (100 + i));
+        transaction.setUser(user);
+        return transaction;
+    }
+}
@@ -0,0 +1,64 @@
+package com.piggy.backend.repository;
+
+import com.piggy.backend.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BulkInsertBatchingTest} on MySQL, with rewriteBatchedStatements=true on the JDBC URL as in
+ * application.properties.example. Without it Connector/J sends a batch as one INSERT per row and
+ * the server-side statement count shows it. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class MySqlBulkInsertBatchingTest extends BulkInsertBatchingTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.4")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBatchesReachTheServerAsMultiRowInserts() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(transaction(i));
+        }
+        long before = comInsert();
+
+        transactionRepository.saveAll(transactions);
+
+        long inserts = comInsert() - before;
+        System.out.println("INSERT statements executed by MySQL for " + ROWS + " rows: " + inserts);
+        assertTrue(inserts <= ROWS / 50 + 1, "Batches were not rewritten: " + inserts + " INSERT statements");
+    }
+
+    // INSERTs the server has executed; the container serves this test only
+    private long comInsert() {
+        return jdbcTemplate.queryForObject("SHOW GLOBAL STATUS LIKE 'Com_insert'",
+                (row, i) -> Long.parseLong(row.getString("Value")));
+    }
+}
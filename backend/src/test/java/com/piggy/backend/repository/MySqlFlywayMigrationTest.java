@@ -0,0 +1,70 @@
+package com.piggy.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FlywayMigrationTest} on a real MySQL, plus the plans of the queries the V4/V6 indexes
+ * were made for. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class MySqlFlywayMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.4");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testEveryMigrationAppliedAndEntitiesValidate() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE version IS NOT NULL AND success = 1 ORDER BY installed_rank",
+                String.class);
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8"), versions);
+    }
+
+    @Test
+    void testQueryPlansUseTheirIndexes() {
+        jdbcTemplate.update("INSERT INTO users (username, password, role) VALUES ('explain', 'x', 'USER')");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'explain'", Long.class);
+        for (int i = 0; i < 200; i++) {
+            jdbcTemplate.update("INSERT INTO transactions (id, user_id, date, category, type, amount, bank_address)"
+                            + " VALUES (?, ?, TIMESTAMP '2026-01-01 00:00:00' - INTERVAL ? HOUR, 'FOOD', 'DEBITED', 10.00, 'VM-HDFCBK')",
+                    i + 1, userId, i);
+        }
+        jdbcTemplate.execute("ANALYZE TABLE transactions");
+
+        assertPlanUses("idx_transactions_user_date_id", "SELECT id, date FROM transactions WHERE user_id = " + userId
+                + " AND (date < '2025-12-20' OR (date = '2025-12-20' AND id < 100)) ORDER BY date DESC, id DESC LIMIT 51");
+        assertPlanUses("idx_transactions_user_date_totals", "SELECT category, type, COUNT(*), SUM(amount) FROM transactions"
+                + " WHERE user_id = " + userId + " AND date >= '2025-12-01' AND date < '2026-01-01' GROUP BY category, type");
+        assertPlanUses("idx_transactions_bank_address_id",
+                "SELECT sms_message FROM transactions WHERE bank_address = 'VM-HDFCBK' ORDER BY id DESC LIMIT 20");
+    }
+
+    private void assertPlanUses(String index, String query) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query);
+        System.out.println("EXPLAIN " + query + "\n  " + plan);
+        assertTrue(plan.stream().anyMatch(row -> index.equals(row.get("key"))), index + " not used: " + plan);
+    }
+}
@@ -0,0 +1,109 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.dto.BatchParseItem;
+import com.piggy.backend.dto.BatchParseResponse;
+import com.piggy.backend.dto.SmsParseRequest;
+import com.piggy.backend.entity.Pattern;
+import com.piggy.backend.entity.PatternStatus;
+import com.piggy.backend.entity.Role;
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.PatternRepository;
+import com.piggy.backend.repository.UserRepository;
+import com.piggy.parser.ParseOutcome;
+import com.piggy.parser.PatternRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two uploads of the same SMS by the same user, each in its own request thread against H2:
+ * whichever way they interleave, one saves the transaction and the other reports DUPLICATE.
+ */
+@SpringBootTest
+class DuplicateUploadConcurrencyTest {
+
+    private static final String BANK_ADDRESS = "VM-RACEBK";
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatternRepository patternRepository;
+
+    @Autowired
+    private PatternRegistry<Pattern> patternRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("race-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        userRepository.save(user);
+
+        Pattern pattern = new Pattern();
+        pattern.setBankAddress(BANK_ADDRESS);
+        pattern.setBankName("Race Bank");
+        pattern.setMessage("Rs.500 debited");
+        pattern.setRegexPattern("Rs\\.(?<amount>\\d+) (?<type>debited)");
+        pattern.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(patternRepository.save(pattern));
+    }
+
+    @Test
+    void testConcurrentUploadsOfSameSmsSaveItOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String sms = "Rs." + (100 + round) + " debited";
+                CountDownLatch start = new CountDownLatch(1);
+                Future<BatchParseResponse> first = executor.submit(() -> upload(start, sms));
+                Future<BatchParseResponse> second = executor.submit(() -> upload(start, sms));
+                start.countDown();
+
+                List<ParseOutcome.Status> statuses = List.of(
+                        status(first.get(30, TimeUnit.SECONDS)), status(second.get(30, TimeUnit.SECONDS)));
+
+                assertTrue(statuses.contains(ParseOutcome.Status.PARSED), sms + ": " + statuses);
+                assertTrue(statuses.contains(ParseOutcome.Status.DUPLICATE), sms + ": " + statuses);
+                assertEquals(1, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transactions WHERE user_id = ? AND sms_message = ?",
+                        Integer.class, user.getId(), sms), sms);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchParseResponse upload(CountDownLatch start, String sms) throws InterruptedException {
+        start.await();
+        return transactionService.parseAndSaveBatch(List.of(new SmsParseRequest(sms, BANK_ADDRESS)), user.getUsername());
+    }
+
+    private static ParseOutcome.Status status(BatchParseResponse response) {
+        List<BatchParseItem> results = response.getResults();
+        assertEquals(1, results.size());
+        return results.get(0).getStatus();
+    }
+}
@@ -0,0 +1,104 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SmsDeduplicationServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private SmsDeduplicationService deduplicationService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        deduplicationService = new SmsDeduplicationService(transactionRepository, 10, 0.01);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+    }
+
+    @Test
+    void testContentHashIgnoresWhitespaceAndSenderCase() {
+        String hash = SmsDeduplicationService.contentHash(user, "VM-HDFCBK", "Rs.1500 debited\nfrom A/c XX1234");
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, SmsDeduplicationService.contentHash(user, " vm-hdfcbk", "  Rs.1500 debited from   A/c XX1234 "));
+        assertNotEquals(hash, SmsDeduplicationService.contentHash(user, "VM-HDFCBK", "Rs.1500 debited from A/c XX9999"));
+
+        User other = new User();
+        other.setId(2L);
+        assertNotEquals(hash, SmsDeduplicationService.contentHash(other, "VM-HDFCBK", "Rs.1500 debited from A/c XX1234"));
+    }
+
+    @Test
+    void testFindExistingOnlyLooksUpWhatTheFilterCannotRuleOut() {
+        String saved = SmsDeduplicationService.contentHash(user, "HDFCBK", "Rs.1500 debited");
+        String fresh = SmsDeduplicationService.contentHash(user, "HDFCBK", "Rs.200 debited");
+        when(transactionRepository.countByUser(user)).thenReturn(1L);
+        when(transactionRepository.streamContentHashesByUser(user)).thenReturn(Stream.of(saved));
+        when(transactionRepository.findExistingContentHashes(user, List.of(saved))).thenReturn(List.of(saved));
+
+        Set<String> existing = deduplicationService.findExisting(user, List.of(saved, fresh));
+
+        assertEquals(Set.of(saved), existing);
+        verify(transactionRepository).findExistingContentHashes(user, List.of(saved));
+    }
+
+    @Test
+    void testRecordedHashesAreCheckedWithoutReloading() {
+        String hash = SmsDeduplicationService.contentHash(user, "HDFCBK", "Rs.1500 debited");
+        when(transactionRepository.countByUser(user)).thenReturn(0L);
+        when(transactionRepository.streamContentHashesByUser(user)).thenReturn(Stream.empty());
+
+        assertTrue(deduplicationService.findExisting(user, List.of(hash)).isEmpty());
+        verify(transactionRepository, never()).findExistingContentHashes(any(), any());
+
+        deduplicationService.recordSaved(user, List.of(hash));
+        when(transactionRepository.findExistingContentHashes(user, List.of(hash))).thenReturn(List.of(hash));
+
+        assertEquals(Set.of(hash), deduplicationService.findExisting(user, List.of(hash)));
+        // The filter was built once and kept
+        verify(transactionRepository, times(1)).streamContentHashesByUser(user);
+    }
+
+    @Test
+    void testHashRecordedWhileFilterLoadsIsNotLost() {
+        String hash = SmsDeduplicationService.contentHash(user, "HDFCBK", "Rs.1500 debited");
+        when(transactionRepository.countByUser(user)).thenReturn(0L);
+        // Committed and recorded by another upload after the load read its snapshot
+        when(transactionRepository.streamContentHashesByUser(user)).thenAnswer(invocation -> {
+            deduplicationService.recordSaved(user, List.of(hash));
+            return Stream.empty();
+        });
+
+        deduplicationService.findExisting(user, List.of());
+        when(transactionRepository.findExistingContentHashes(user, List.of(hash))).thenReturn(List.of(hash));
+
+        assertEquals(Set.of(hash), deduplicationService.findExisting(user, List.of(hash)));
+        verify(transactionRepository, times(1)).streamContentHashesByUser(user);
+    }
+
+    @Test
+    void testFindSavedSkipsTheFilter() {
+        String hash = SmsDeduplicationService.contentHash(user, "HDFCBK", "Rs.1500 debited");
+        when(transactionRepository.findExistingContentHashes(user, List.of(hash))).thenReturn(List.of(hash));
+
+        assertEquals(Set.of(hash), deduplicationService.findSaved(user, List.of(hash, hash)));
+        verify(transactionRepository, never()).streamContentHashesByUser(any());
+    }
+}
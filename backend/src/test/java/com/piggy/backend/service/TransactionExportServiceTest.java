@@ -0,0 +1,118 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.Category;
+import com.piggy.backend.entity.User;
+import com.piggy.backend.exception.BadRequestException;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.backend.repository.UserRepository;
+import com.piggy.parser.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TransactionExportService exportService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+    }
+
+    @Test
+    void testExportCsvQuotesFieldsThatNeedIt() throws Exception {
+        TransactionRepository.ExportRow row = row(7L, LocalDateTime.of(2024, 1, 15, 10, 30),
+                new BigDecimal("1500.00"), "Cafe \"Blue\", MG Road", "Rs.1500 debited\nfrom A/c XX1234");
+        when(transactionRepository.streamExportRowsByUser(user)).thenReturn(Stream.of(row));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(user, TransactionExportService.Format.CSV, out);
+
+        assertEquals(1, rows);
+        assertEquals("id,date,type,category,amount,balance,merchant,bankName,bankAddress,accountNumber,refNumber,smsMessage\r\n"
+                        + "7,2024-01-15T10:30,DEBITED,FOOD,1500.00,,\"Cafe \"\"Blue\"\", MG Road\",HDFC Bank,VM-HDFCBK,XX1234,,"
+                        + "\"Rs.1500 debited\nfrom A/c XX1234\"\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportNdjsonWritesOneObjectPerLine() throws Exception {
+        TransactionRepository.ExportRow first = row(8L, LocalDateTime.of(2024, 2, 1, 9, 0),
+                new BigDecimal("1E+3"), "Store \\ \"Outlet\"", "Rs.1000 debited");
+        TransactionRepository.ExportRow second = row(7L, null, new BigDecimal("250.50"), null, "Line 1\nLine 2");
+        when(transactionRepository.streamExportRowsByUser(user)).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(user, TransactionExportService.Format.NDJSON, out);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":8,\"date\":\"2024-02-01T09:00\",\"type\":\"DEBITED\",\"category\":\"FOOD\",\"amount\":1000,"
+                + "\"balance\":null,\"merchant\":\"Store \\\\ \\\"Outlet\\\"\",\"bankName\":\"HDFC Bank\","
+                + "\"bankAddress\":\"VM-HDFCBK\",\"accountNumber\":\"XX1234\",\"refNumber\":null,"
+                + "\"smsMessage\":\"Rs.1000 debited\"}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"id\":7,\"date\":null,"));
+        assertTrue(lines[1].endsWith("\"smsMessage\":\"Line 1\\nLine 2\"}"));
+    }
+
+    @Test
+    void testExportWithoutTransactionsWritesOnlyTheCsvHeader() throws Exception {
+        when(transactionRepository.streamExportRowsByUser(user)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(user, TransactionExportService.Format.CSV, out);
+
+        assertEquals(0, rows);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("id,date,"));
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).split("\r\n").length);
+    }
+
+    @Test
+    void testFormatOf() {
+        assertEquals(TransactionExportService.Format.CSV, TransactionExportService.Format.of("csv"));
+        assertEquals(TransactionExportService.Format.NDJSON, TransactionExportService.Format.of("NDJSON"));
+        assertThrows(BadRequestException.class, () -> TransactionExportService.Format.of("xlsx"));
+    }
+
+    private TransactionRepository.ExportRow row(Long id, LocalDateTime date, BigDecimal amount, String merchant, String sms) {
+        TransactionRepository.ExportRow row = mock(TransactionRepository.ExportRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getDate()).thenReturn(date);
+        when(row.getType()).thenReturn(TransactionType.DEBITED);
+        when(row.getCategory()).thenReturn(Category.FOOD);
+        when(row.getAmount()).thenReturn(amount);
+        when(row.getBalance()).thenReturn(null);
+        when(row.getMerchant()).thenReturn(merchant);
+        when(row.getBankName()).thenReturn("HDFC Bank");
+        when(row.getBankAddress()).thenReturn("VM-HDFCBK");
+        when(row.getAccountNumber()).thenReturn("XX1234");
+        when(row.getRefNumber()).thenReturn(null);
+        when(row.getSmsMessage()).thenReturn(sms);
+        return row;
+    }
+}
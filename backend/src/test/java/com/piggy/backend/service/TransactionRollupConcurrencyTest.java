@@ -0,0 +1,98 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.Category;
+import com.piggy.backend.entity.Role;
+import com.piggy.backend.entity.Transaction;
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.UserRepository;
+import com.piggy.parser.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two uploads of the same user hitting a (month, category, type) that has no rollup row yet,
+ * each in its own database transaction against H2: both must land in one row.
+ */
+@SpringBootTest
+class TransactionRollupConcurrencyTest {
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("rollup-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        userRepository.save(user);
+    }
+
+    @Test
+    void testConcurrentSaveAllOnNewKeyAddsUp() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> {
+                start.await();
+                return rollupService.saveAll(user, List.of(transaction("100.00")));
+            });
+            Future<?> second = executor.submit(() -> {
+                start.await();
+                return rollupService.saveAll(user, List.of(transaction("250.00")));
+            });
+            start.countDown();
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT transaction_count, total_amount, min_amount, max_amount FROM transaction_rollups"
+                        + " WHERE user_id = ? AND category = 'FOOD' AND type = 'DEBITED'", user.getId());
+        assertEquals(1, rows.size());
+        Map<String, Object> rollup = rows.get(0);
+        assertEquals(2L, ((Number) rollup.get("transaction_count")).longValue());
+        assertEquals(0, new BigDecimal("350.00").compareTo((BigDecimal) rollup.get("total_amount")));
+        assertEquals(0, new BigDecimal("100.00").compareTo((BigDecimal) rollup.get("min_amount")));
+        assertEquals(0, new BigDecimal("250.00").compareTo((BigDecimal) rollup.get("max_amount")));
+    }
+
+    private Transaction transaction(String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setBankAddress("VM-HDFCBK");
+        transaction.setBankName("HDFC Bank");
+        transaction.setCategory(Category.FOOD);
+        transaction.setType(TransactionType.DEBITED);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDate(LocalDateTime.of(2026, 3, 14, 12, 0));
+        transaction.setSmsMessage("A/c XX5678 debited for INR " + amount);
+        transaction.setUser(user);
+        return transaction;
+    }
+}
@@ -0,0 +1,135 @@
+package com.piggy.backend.service;
+
+import com.piggy.backend.entity.Category;
+import com.piggy.backend.entity.Transaction;
+import com.piggy.backend.entity.TransactionRollup;
+import com.piggy.backend.entity.User;
+import com.piggy.backend.repository.TransactionRepository;
+import com.piggy.backend.repository.TransactionRollupRepository;
+import com.piggy.parser.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRollupServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionRollupRepository rollupRepository;
+
+    @InjectMocks
+    private TransactionRollupService rollupService;
+
+    @Captor
+    private ArgumentCaptor<List<TransactionRollup>> rollupsCaptor;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+    }
+
+    @Test
+    void testSaveAllUpsertsOneDeltaPerKey() {
+        List<Transaction> transactions = List.of(
+                transaction("2024-02-01T09:00", Category.OTHERS, TransactionType.CREDITED, "1000.00"),
+                transaction("2024-01-05T10:00", Category.FOOD, TransactionType.DEBITED, "50.00"),
+                transaction("2024-01-20T18:30", Category.FOOD, TransactionType.DEBITED, "250.00"));
+
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        rollupService.saveAll(user, transactions);
+
+        // In key order, January before February
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).upsert(1L, LocalDate.of(2024, 1, 1), "FOOD", "DEBITED",
+                2, new BigDecimal("300.00"), new BigDecimal("50.00"), new BigDecimal("250.00"));
+        inOrder.verify(rollupRepository).upsert(1L, LocalDate.of(2024, 2, 1), "OTHERS", "CREDITED",
+                1, new BigDecimal("1000.00"), new BigDecimal("1000.00"), new BigDecimal("1000.00"));
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void testSaveAllCountsMissingCategoryAndTypeUnderTheirDefaults() {
+        List<Transaction> transactions = List.of(
+                transaction("2024-01-05T10:00", null, null, "50.00"),
+                transaction("2024-01-06T10:00", Category.OTHERS, TransactionType.ALERT, "20.00"));
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        rollupService.saveAll(user, transactions);
+
+        verify(rollupRepository).upsert(1L, LocalDate.of(2024, 1, 1), "OTHERS", "ALERT",
+                2, new BigDecimal("70.00"), new BigDecimal("20.00"), new BigDecimal("50.00"));
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void testSaveAllWithoutDatedTransactionsLeavesRollupsAlone() {
+        List<Transaction> transactions = List.of(transaction(null, Category.FOOD, TransactionType.DEBITED, "50.00"));
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        rollupService.saveAll(user, transactions);
+
+        verify(transactionRepository).saveAll(transactions);
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void testRebuildReplacesRollupsFromTransactions() {
+        TransactionRepository.MonthlyRollup row = mock(TransactionRepository.MonthlyRollup.class);
+        when(row.getYear()).thenReturn(2023);
+        when(row.getMonth()).thenReturn(12);
+        when(row.getCategory()).thenReturn(Category.SHOPPING);
+        when(row.getType()).thenReturn(TransactionType.DEBITED);
+        when(row.getCount()).thenReturn(5L);
+        when(row.getTotal()).thenReturn(new BigDecimal("5000.00"));
+        when(row.getMinAmount()).thenReturn(new BigDecimal("100.00"));
+        when(row.getMaxAmount()).thenReturn(new BigDecimal("2500.00"));
+        when(transactionRepository.rollupByUser(user)).thenReturn(List.of(row));
+
+        int rows = rollupService.rebuild(user);
+
+        assertEquals(1, rows);
+        verify(rollupRepository).deleteByUser(user);
+        verify(rollupRepository).saveAll(rollupsCaptor.capture());
+        TransactionRollup rollup = rollupsCaptor.getValue().get(0);
+        assertEquals(LocalDate.of(2023, 12, 1), rollup.getMonth());
+        assertEquals(5, rollup.getTransactionCount());
+        assertEquals(new BigDecimal("5000.00"), rollup.getTotalAmount());
+        assertEquals(new BigDecimal("100.00"), rollup.getMinAmount());
+        assertEquals(new BigDecimal("2500.00"), rollup.getMaxAmount());
+        verify(rollupRepository, never()).upsert(any(), any(), any(), any(), anyLong(), any(), any(), any());
+    }
+
+    private Transaction transaction(String date, Category category, TransactionType type, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setDate(date != null ? LocalDateTime.parse(date) : null);
+        transaction.setCategory(category);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setUser(user);
+        return transaction;
+    }
+}
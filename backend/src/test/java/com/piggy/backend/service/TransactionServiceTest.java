@@ -1,29 +1,43 @@
 package com.piggy.backend.service;
 
+import com.piggy.backend.dto.BatchParseResponse;
+import com.piggy.backend.dto.SmsParseRequest;
 import com.piggy.backend.dto.TransactionDTO;
+import com.piggy.backend.dto.TransactionPage;
+import com.piggy.backend.dto.TransactionSummary;
 import com.piggy.backend.entity.*;
 import com.piggy.backend.exception.BadRequestException;
 import com.piggy.backend.exception.ResourceNotFoundException;
 import com.piggy.backend.repository.TransactionRepository;
 import com.piggy.backend.repository.UserRepository;
 import com.piggy.backend.util.SmsRegexParser;
+import com.piggy.parser.ParseOutcome;
+import com.piggy.parser.TransactionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +55,12 @@ class TransactionServiceTest {
     @Mock
     private UnparsedMessageService unparsedMessageService;
 
+    @Mock
+    private TransactionRollupService transactionRollupService;
+
+    @Mock
+    private SmsDeduplicationService smsDeduplicationService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -67,6 +87,10 @@ class TransactionServiceTest {
         testTransaction.setAmount(new BigDecimal("1500.00"));
         testTransaction.setBalance(new BigDecimal("50000.00"));
         testTransaction.setUser(testUser);
+
+        ReflectionTestUtils.setField(transactionService, "maxBatchSize", 5000);
+        ReflectionTestUtils.setField(transactionService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(transactionService, "maxPageSize", 500);
     }
 
     @Test
@@ -76,14 +100,14 @@ class TransactionServiceTest {
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(smsRegexParser.parse(sms, bankAddress)).thenReturn(testTransaction);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(transactionRollupService.saveAll(testUser, List.of(testTransaction))).thenReturn(List.of(testTransaction));
 
         TransactionDTO result = transactionService.parseAndSave(sms, bankAddress, "testuser");
 
         assertNotNull(result);
         assertEquals("HDFC Bank", result.getBankName());
         assertEquals(TransactionType.DEBITED, result.getType());
-        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionRollupService).saveAll(testUser, List.of(testTransaction));
     }
 
     @Test
@@ -130,6 +154,174 @@ class TransactionServiceTest {
             transactionService.parseAndSave(sms, bankAddress, "testuser"));
     }
 
+    @Test
+    void testParseAndSaveBatchSavesInBulkAndKeepsOrder() {
+        Transaction parsed = new Transaction();
+        parsed.setBankName("HDFC Bank");
+        parsed.setType(TransactionType.DEBITED);
+        List<SmsParseRequest> requests = Arrays.asList(
+                new SmsParseRequest("Rs.1500 debited", "HDFCBK"),
+                new SmsParseRequest("Hello", "HDFCBK"),
+                new SmsParseRequest("  ", "HDFCBK"));
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(smsRegexParser.parseAll(anyList())).thenReturn(List.of(
+                ParseOutcome.parsed(parsed),
+                ParseOutcome.unparsed("No matching pattern"),
+                ParseOutcome.failed("SMS is empty")));
+
+        BatchParseResponse response = transactionService.parseAndSaveBatch(requests, "testuser");
+
+        assertEquals(3, response.getTotal());
+        assertEquals(1, response.getParsed());
+        assertEquals(2, response.getFailed());
+        assertEquals(ParseOutcome.Status.PARSED, response.getResults().get(0).getStatus());
+        assertEquals("HDFC Bank", response.getResults().get(0).getTransaction().getBankName());
+        assertEquals(1, response.getResults().get(1).getIndex());
+        assertTrue(response.getResults().get(1).getError().contains("HDFCBK"));
+        assertEquals("SMS is empty", response.getResults().get(2).getError());
+        assertEquals(testUser, parsed.getUser());
+        assertEquals("Rs.1500 debited", parsed.getSmsMessage());
+        verify(userRepository, times(1)).findByUsername("testuser");
+        verify(transactionRollupService).saveAll(testUser, List.of(parsed));
+        // Only the SMS that was actually tried is queued for the makers
+        verify(unparsedMessageService).saveUnparsedMessages(argThat(messages -> messages.size() == 1
+                && "Hello".equals(messages.get(0).getSmsMessage())));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testParseAndSaveBatchSkipsDuplicates() {
+        Transaction parsed = new Transaction();
+        parsed.setBankName("HDFC Bank");
+        List<SmsParseRequest> requests = Arrays.asList(
+                new SmsParseRequest("Rs.1500 debited", "HDFCBK"),
+                new SmsParseRequest("Rs.200 debited", "HDFCBK"),
+                new SmsParseRequest("Rs.1500   debited ", "HDFCBK"));
+        String newHash = SmsDeduplicationService.contentHash(testUser, "HDFCBK", "Rs.1500 debited");
+        String savedHash = SmsDeduplicationService.contentHash(testUser, "HDFCBK", "Rs.200 debited");
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(smsDeduplicationService.findExisting(eq(testUser), anyList())).thenReturn(Set.of(savedHash));
+        when(smsRegexParser.parseAll(anyList())).thenReturn(List.of(ParseOutcome.parsed(parsed)));
+
+        BatchParseResponse response = transactionService.parseAndSaveBatch(requests, "testuser");
+
+        // The saved SMS and the in-batch repeat (same text up to whitespace) are never parsed
+        verify(smsRegexParser).parseAll(argThat(messages -> messages.size() == 1
+                && "Rs.1500 debited".equals(messages.get(0).sms())));
+        assertEquals(3, response.getTotal());
+        assertEquals(1, response.getParsed());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(0, response.getFailed());
+        assertEquals(ParseOutcome.Status.DUPLICATE, response.getResults().get(1).getStatus());
+        assertEquals(ParseOutcome.Status.DUPLICATE, response.getResults().get(2).getStatus());
+        assertNull(response.getResults().get(2).getError());
+        assertEquals(newHash, parsed.getContentHash());
+        verify(smsDeduplicationService).recordSaved(testUser, List.of(newHash));
+        verifyNoInteractions(unparsedMessageService);
+    }
+
+    @Test
+    void testParseAndSaveDuplicateReturnsExistingTransaction() {
+        String sms = "Rs.1500 debited from A/c XX1234 on 15-Jan-24";
+        String contentHash = SmsDeduplicationService.contentHash(testUser, "HDFCBK", sms);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(smsDeduplicationService.findExisting(testUser, List.of(contentHash))).thenReturn(Set.of(contentHash));
+        when(transactionRepository.findByUserAndContentHash(testUser, contentHash)).thenReturn(Optional.of(testTransaction));
+
+        TransactionDTO result = transactionService.parseAndSave(sms, "HDFCBK", "testuser");
+
+        assertEquals(1L, result.getId());
+        verifyNoInteractions(smsRegexParser, transactionRollupService);
+    }
+
+    @Test
+    void testParseAndSaveConcurrentDuplicateReturnsExistingTransaction() {
+        String sms = "Rs.1500 debited from A/c XX1234 on 15-Jan-24";
+        String contentHash = SmsDeduplicationService.contentHash(testUser, "HDFCBK", sms);
+        Transaction existing = new Transaction();
+        existing.setId(7L);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(smsRegexParser.parse(sms, "HDFCBK")).thenReturn(testTransaction);
+        // Another request saved the same SMS between the duplicate check and the insert
+        when(transactionRollupService.saveAll(testUser, List.of(testTransaction)))
+                .thenThrow(new DataIntegrityViolationException("uk_transactions_user_content_hash"));
+        when(transactionRepository.findByUserAndContentHash(testUser, contentHash)).thenReturn(Optional.of(existing));
+
+        TransactionDTO result = transactionService.parseAndSave(sms, "HDFCBK", "testuser");
+
+        assertEquals(7L, result.getId());
+        verify(smsDeduplicationService, never()).recordSaved(any(), anyList());
+    }
+
+    @Test
+    void testParseAndSaveBatchTurnsConcurrentlySavedSmsIntoDuplicates() {
+        Transaction first = new Transaction();
+        Transaction second = new Transaction();
+        List<SmsParseRequest> requests = List.of(
+                new SmsParseRequest("Rs.1500 debited", "HDFCBK"),
+                new SmsParseRequest("Rs.200 debited", "HDFCBK"));
+        String firstHash = SmsDeduplicationService.contentHash(testUser, "HDFCBK", "Rs.1500 debited");
+        String secondHash = SmsDeduplicationService.contentHash(testUser, "HDFCBK", "Rs.200 debited");
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(smsRegexParser.parseAll(anyList())).thenReturn(List.of(ParseOutcome.parsed(first), ParseOutcome.parsed(second)));
+        // Another upload saved the first SMS after findExisting
+        when(transactionRollupService.saveAll(testUser, List.of(first, second)))
+                .thenAnswer(invocation -> {
+                    second.setId(11L);
+                    throw new DataIntegrityViolationException("uk_transactions_user_content_hash");
+                });
+        when(smsDeduplicationService.findSaved(testUser, List.of(firstHash, secondHash))).thenReturn(Set.of(firstHash));
+        when(transactionRollupService.saveAll(testUser, List.of(second))).thenReturn(List.of(second));
+
+        BatchParseResponse response = transactionService.parseAndSaveBatch(requests, "testuser");
+
+        assertEquals(1, response.getParsed());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(ParseOutcome.Status.DUPLICATE, response.getResults().get(0).getStatus());
+        assertEquals(ParseOutcome.Status.PARSED, response.getResults().get(1).getStatus());
+        // The id of the rolled back attempt is not reused
+        assertNull(second.getId());
+        verify(smsDeduplicationService).recordSaved(testUser, List.of(secondHash));
+    }
+
+    @Test
+    void testParseAndSaveBatchRethrowsOtherIntegrityViolations() {
+        Transaction parsed = new Transaction();
+        List<SmsParseRequest> requests = List.of(new SmsParseRequest("Rs.1500 debited", "HDFCBK"));
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(smsRegexParser.parseAll(anyList())).thenReturn(List.of(ParseOutcome.parsed(parsed)));
+        when(transactionRollupService.saveAll(testUser, List.of(parsed)))
+                .thenThrow(new DataIntegrityViolationException("some other constraint"));
+        when(smsDeduplicationService.findSaved(eq(testUser), anyList())).thenReturn(Set.of());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> transactionService.parseAndSaveBatch(requests, "testuser"));
+        verify(smsDeduplicationService, never()).recordSaved(any(), anyList());
+    }
+
+    @Test
+    void testParseAndSaveBatchEmpty() {
+        assertThrows(BadRequestException.class, () ->
+            transactionService.parseAndSaveBatch(Collections.emptyList(), "testuser"));
+    }
+
+    @Test
+    void testParseAndSaveBatchTooLarge() {
+        ReflectionTestUtils.setField(transactionService, "maxBatchSize", 2);
+        List<SmsParseRequest> requests = Collections.nCopies(3, new SmsParseRequest("Rs.1500 debited", "HDFCBK"));
+
+        assertThrows(BadRequestException.class, () ->
+            transactionService.parseAndSaveBatch(requests, "testuser"));
+        verifyNoInteractions(smsRegexParser);
+    }
+
     @Test
     void testGetUserTransactionsSuccess() {
         Transaction transaction2 = new Transaction();
@@ -139,26 +331,114 @@ class TransactionServiceTest {
         transaction2.setAmount(new BigDecimal("5000.00"));
         transaction2.setUser(testUser);
 
-        List<Transaction> transactions = Arrays.asList(testTransaction, transaction2);
+        List<TransactionRepository.ListRow> transactions = listRows(testTransaction, transaction2);
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+        when(transactionRepository.findFirstPageByUser(testUser, PageRequest.of(0, 51))).thenReturn(transactions);
 
-        List<TransactionDTO> result = transactionService.getUserTransactions("testuser");
+        TransactionPage result = transactionService.getUserTransactions("testuser", null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Amazon", result.getItems().get(0).getMerchant());
+        assertEquals(new BigDecimal("5000.00"), result.getItems().get(1).getAmount());
+        assertNull(result.getNext());
     }
 
     @Test
     void testGetUserTransactionsEmpty() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(transactionRepository.findByUser(testUser)).thenReturn(Collections.emptyList());
+        when(transactionRepository.findFirstPageByUser(testUser, PageRequest.of(0, 51))).thenReturn(Collections.emptyList());
 
-        List<TransactionDTO> result = transactionService.getUserTransactions("testuser");
+        TransactionPage result = transactionService.getUserTransactions("testuser", null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void testGetUserTransactionsNextPageFollowsCursor() {
+        Transaction older = new Transaction();
+        older.setId(7L);
+        older.setDate(testTransaction.getDate().minusDays(1));
+        older.setAmount(new BigDecimal("10.00"));
+        Transaction oldest = new Transaction();
+        oldest.setId(3L);
+        oldest.setDate(testTransaction.getDate().minusDays(2));
+        oldest.setAmount(new BigDecimal("20.00"));
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRepository.findFirstPageByUser(testUser, PageRequest.of(0, 3)))
+                .thenReturn(listRows(testTransaction, older, oldest));
+
+        TransactionPage first = transactionService.getUserTransactions("testuser", null, 2);
+
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNext());
+
+        // The cursor resumes after the last row returned: (older.date, 7)
+        when(transactionRepository.findPageByUserAfter(testUser, older.getDate(), 7L, PageRequest.of(0, 3)))
+                .thenReturn(listRows(oldest));
+
+        TransactionPage second = transactionService.getUserTransactions("testuser", first.getNext(), 2);
+
+        assertEquals(1, second.getItems().size());
+        assertEquals(3L, second.getItems().get(0).getId());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void testGetUserTransactionsContinuesWithUndatedRowsAfterDatedOnes() {
+        Transaction oldest = new Transaction();
+        oldest.setId(3L);
+        oldest.setDate(testTransaction.getDate().minusDays(2));
+        oldest.setAmount(new BigDecimal("20.00"));
+        Transaction undated = new Transaction();
+        undated.setId(9L);
+        undated.setAmount(new BigDecimal("30.00"));
+        Transaction undatedOlder = new Transaction();
+        undatedOlder.setId(4L);
+        undatedOlder.setAmount(new BigDecimal("40.00"));
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRepository.findFirstPageByUser(testUser, PageRequest.of(0, 3)))
+                .thenReturn(listRows(testTransaction, oldest, undated));
+
+        TransactionPage first = transactionService.getUserTransactions("testuser", null, 2);
+
+        // No dated rows are left after (oldest.date, 3): the page is made of the undated ones
+        when(transactionRepository.findPageByUserAfter(testUser, oldest.getDate(), 3L, PageRequest.of(0, 3)))
+                .thenReturn(Collections.emptyList());
+        when(transactionRepository.findUndatedPageByUserAfter(testUser, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(listRows(undated, undatedOlder));
+
+        TransactionPage second = transactionService.getUserTransactions("testuser", first.getNext(), 2);
+
+        assertEquals(2, second.getItems().size());
+        assertEquals(9L, second.getItems().get(0).getId());
+        assertEquals(4L, second.getItems().get(1).getId());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void testGetUserTransactionsLimitIsCapped() {
+        ReflectionTestUtils.setField(transactionService, "maxPageSize", 100);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRepository.findFirstPageByUser(testUser, PageRequest.of(0, 101))).thenReturn(Collections.emptyList());
+
+        TransactionPage result = transactionService.getUserTransactions("testuser", null, 10_000);
+
+        assertTrue(result.getItems().isEmpty());
+    }
+
+    @Test
+    void testGetUserTransactionsInvalidCursor() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(BadRequestException.class, () ->
+            transactionService.getUserTransactions("testuser", "not-a-cursor", null));
+        verify(transactionRepository, never()).findPageByUserAfter(any(), any(), any(), any());
     }
 
     @Test
@@ -166,6 +446,131 @@ class TransactionServiceTest {
         when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> 
-            transactionService.getUserTransactions("nonexistent"));
+            transactionService.getUserTransactions("nonexistent", null, null));
+    }
+
+    @Test
+    void testGetSummaryAddsUpCategoriesPerType() {
+        LocalDate from = LocalDate.of(2024, 1, 10);
+        LocalDate to = LocalDate.of(2024, 2, 20);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = LocalDateTime.of(2024, 2, 21, 0, 0);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRepository.sumByCategoryAndType(testUser, start, end)).thenReturn(List.of(
+                categoryTotal(Category.FOOD, TransactionType.DEBITED, 3, "450.00"),
+                categoryTotal(Category.SHOPPING, TransactionType.DEBITED, 1, "1500.00"),
+                categoryTotal(Category.OTHERS, TransactionType.CREDITED, 1, "50000.00")));
+        when(transactionRepository.sumByMonthAndType(testUser, start, end)).thenReturn(List.of(
+                monthTotal(2024, 1, TransactionType.DEBITED, 4, "1950.00"),
+                monthTotal(2024, 2, TransactionType.CREDITED, 1, "50000.00")));
+
+        TransactionSummary summary = transactionService.getSummary("testuser", from, to);
+
+        assertEquals(3, summary.getByCategory().size());
+        assertEquals(2, summary.getByType().size());
+        TransactionSummary.TypeTotal debits = summary.getByType().stream()
+                .filter(t -> t.getType() == TransactionType.DEBITED).findFirst().orElseThrow();
+        assertEquals(4, debits.getCount());
+        assertEquals(new BigDecimal("1950.00"), debits.getTotal());
+        assertEquals("2024-01", summary.getByMonth().get(0).getMonth());
+        assertEquals("2024-02", summary.getByMonth().get(1).getMonth());
+        verifyNoInteractions(transactionRollupService);
+    }
+
+    @Test
+    void testGetSummaryOfWholeMonthsReadsRollups() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 2, 29);
+        LocalDate end = LocalDate.of(2024, 3, 1);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRollupService.sumByCategoryAndType(testUser, from, end)).thenReturn(List.of(
+                categoryTotal(Category.FOOD, TransactionType.DEBITED, 3, "450.00")));
+        when(transactionRollupService.sumByMonthAndType(testUser, from, end)).thenReturn(List.of(
+                monthTotal(2024, 2, TransactionType.DEBITED, 3, "450.00")));
+
+        TransactionSummary summary = transactionService.getSummary("testuser", from, to);
+
+        assertEquals(new BigDecimal("450.00"), summary.getByType().get(0).getTotal());
+        assertEquals("2024-02", summary.getByMonth().get(0).getMonth());
+        verify(transactionRepository, never()).sumByCategoryAndType(any(), any(), any());
+        verify(transactionRepository, never()).sumByMonthAndType(any(), any(), any());
+    }
+
+    @Test
+    void testGetSummaryWithoutRangeReadsRollups() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        TransactionSummary summary = transactionService.getSummary("testuser", null, null);
+
+        assertTrue(summary.getByType().isEmpty());
+        verify(transactionRollupService).sumByCategoryAndType(eq(testUser), any(LocalDate.class), any(LocalDate.class));
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetSummaryRejectsReversedRange() {
+        assertThrows(BadRequestException.class, () ->
+            transactionService.getSummary("testuser", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 2, 1)));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetSmsMessageOfOwnTransaction() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRepository.findSmsMessageByIdAndUser(1L, testUser)).thenReturn(Optional.of("Rs.1500 debited"));
+
+        assertEquals("Rs.1500 debited", transactionService.getSmsMessage("testuser", 1L));
+    }
+
+    @Test
+    void testGetSmsMessageOfOtherUsersTransaction() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(transactionRepository.findSmsMessageByIdAndUser(99L, testUser)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () ->
+            transactionService.getSmsMessage("testuser", 99L));
+    }
+
+    private static List<TransactionRepository.ListRow> listRows(Transaction... transactions) {
+        return Arrays.stream(transactions).map(TransactionServiceTest::listRow).toList();
+    }
+
+    private static TransactionRepository.ListRow listRow(Transaction transaction) {
+        return new TransactionRepository.ListRow() {
+            public Long getId() { return transaction.getId(); }
+            public LocalDateTime getDate() { return transaction.getDate(); }
+            public TransactionType getType() { return transaction.getType(); }
+            public Category getCategory() { return transaction.getCategory(); }
+            public BigDecimal getAmount() { return transaction.getAmount(); }
+            public BigDecimal getBalance() { return transaction.getBalance(); }
+            public String getMerchant() { return transaction.getMerchant(); }
+            public String getBankName() { return transaction.getBankName(); }
+            public String getBankAddress() { return transaction.getBankAddress(); }
+            public String getAccountNumber() { return transaction.getAccountNumber(); }
+            public String getRefNumber() { return transaction.getRefNumber(); }
+        };
+    }
+
+    private static TransactionRepository.CategoryTypeTotal categoryTotal(Category category, TransactionType type,
+                                                                         long count, String total) {
+        return new TransactionRepository.CategoryTypeTotal() {
+            public Category getCategory() { return category; }
+            public TransactionType getType() { return type; }
+            public Long getCount() { return count; }
+            public BigDecimal getTotal() { return new BigDecimal(total); }
+        };
+    }
+
+    private static TransactionRepository.MonthTypeTotal monthTotal(int year, int month, TransactionType type,
+                                                                   long count, String total) {
+        return new TransactionRepository.MonthTypeTotal() {
+            public Integer getYear() { return year; }
+            public Integer getMonth() { return month; }
+            public TransactionType getType() { return type; }
+            public Long getCount() { return count; }
+            public BigDecimal getTotal() { return new BigDecimal(total); }
+        };
     }
 }
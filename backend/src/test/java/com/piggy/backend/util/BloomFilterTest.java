@@ -0,0 +1,60 @@
+package com.piggy.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() throws Exception {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(sha256("sms " + i));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain(sha256("sms " + i)));
+        }
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void testFalsePositiveRateNearTarget() throws Exception {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(sha256("saved " + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(sha256("new " + i))) {
+                falsePositives++;
+            }
+        }
+        // 1% expected; allow for sampling noise
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testSaturatedPastCapacity() throws Exception {
+        BloomFilter filter = new BloomFilter(2, 0.01);
+        filter.add(sha256("a"));
+        filter.add(sha256("b"));
+        assertFalse(filter.isSaturated());
+        filter.add(sha256("c"));
+        assertTrue(filter.isSaturated());
+    }
+
+    @Test
+    void testRejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -2,15 +2,25 @@ package com.piggy.backend.util;
 
 import com.piggy.backend.entity.*;
 import com.piggy.backend.service.GeminiCategorizationService;
-import com.piggy.backend.service.PatternService;
+import com.piggy.parser.BankPatternSet;
+import com.piggy.parser.CompiledPatternCache;
+import com.piggy.parser.ParseOutcome;
+import com.piggy.parser.PatternHitStats;
+import com.piggy.parser.PatternRegistry;
+import com.piggy.parser.RegexTimeGuard;
+import com.piggy.parser.SmsMessage;
+import com.piggy.parser.SmsParser;
+import com.piggy.parser.TemplateFingerprintCache;
+import com.piggy.parser.TransactionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -19,26 +29,33 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class SmsRegexParserTest {
 
-    @Mock
-    private PatternService patternService;
-
     @Mock
     private GeminiCategorizationService geminiService;
 
+    private PatternRegistry<Pattern> patternRegistry;
+
+    private PatternHitStats hitStats;
+
+    private TemplateFingerprintCache templateCache;
+
+    private RegexTimeGuard regexTimeGuard;
+
     private SmsRegexParser smsRegexParser;
 
     @BeforeEach
     void setUp() {
-        smsRegexParser = new SmsRegexParser(patternService, geminiService);
+        patternRegistry = new PatternRegistry<>();
+        hitStats = new PatternHitStats();
+        templateCache = new TemplateFingerprintCache();
+        regexTimeGuard = new RegexTimeGuard(50, 2);
+        smsRegexParser = new SmsRegexParser(new SmsParser(patternRegistry, new CompiledPatternCache(), hitStats,
+                templateCache, regexTimeGuard), geminiService);
         // By default, Gemini is disabled and returns OTHERS
-        when(geminiService.isEnabled()).thenReturn(false);
+        lenient().when(geminiService.isEnabled()).thenReturn(false);
     }
 
     @Test
     void testParseWithNoApprovedPatterns() {
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Collections.emptyList());
-
         Transaction result = smsRegexParser.parse("Rs.500 debited", "HDFCBK");
 
         assertNull(result);
@@ -54,8 +71,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+\\.?\\d*).*debited.*A/c.*(?<accountNumber>XX\\d+)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited from A/c XX1234", "HDFCBK");
 
@@ -75,8 +91,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("completely different pattern that wont match");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited from A/c XX1234", "HDFCBK");
 
@@ -91,8 +106,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+\\.?\\d*).*(?<type>debited)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.1500.50 debited from your account", "HDFCBK");
 
@@ -108,8 +122,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+\\.?\\d*).*(?<type>credited)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.5000 credited to your account", "HDFCBK");
 
@@ -125,8 +138,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+\\.?\\d*).*debited");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.1,50,000.50 debited from your account", "HDFCBK");
 
@@ -142,8 +154,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("(?<type>Alert).*statement.*ready");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Alert: Your statement is ready", "HDFCBK");
 
@@ -159,8 +170,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("(?<type>Reminder).*payment.*due");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Reminder: Your payment is due tomorrow", "HDFCBK");
 
@@ -176,8 +186,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited.*at\\s+(?<merchant>[\\w\\s]+)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited at Amazon Store", "HDFCBK");
 
@@ -193,8 +202,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited.*on\\s+(?<date>\\d{2}-\\w{3}-\\d{2})");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited on 15-Jan-24", "HDFCBK");
 
@@ -202,6 +210,229 @@ class SmsRegexParserTest {
         assertNotNull(result.getDate());
     }
 
+    @Test
+    void testParseWithDeclaredDateFormat() {
+        Pattern pattern = new Pattern();
+        pattern.setBankAddress("SBIINB");
+        pattern.setBankName("SBI");
+        pattern.setRegexPattern("debited by (?<amount>[\\d.]+) on date (?<date>\\d{1,2}\\w{3}\\d{2})");
+        pattern.setDateFormat("ddMMMyy");
+        pattern.setStatus(PatternStatus.APPROVED);
+
+        patternRegistry.register(pattern);
+
+        Transaction result = smsRegexParser.parse("A/C X6292 debited by 350.00 on date 14Jan26 trf to SWIGGY", "SBIINB");
+
+        assertNotNull(result);
+        assertEquals(LocalDate.of(2026, 1, 14).atStartOfDay(), result.getDate());
+    }
+
+    @Test
+    void testParseLearnsDateFormat() {
+        Pattern pattern = new Pattern();
+        pattern.setId(1L);
+        pattern.setBankAddress("HDFCBK");
+        pattern.setBankName("HDFC Bank");
+        pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited.*on\\s+(?<date>\\S+)");
+        pattern.setStatus(PatternStatus.APPROVED);
+
+        patternRegistry.register(pattern);
+
+        Transaction first = smsRegexParser.parse("Rs.500 debited on 15-Jan-24", "HDFCBK");
+        Transaction second = smsRegexParser.parse("Rs.700 debited on 16-Jan-24", "HDFCBK");
+
+        assertEquals(LocalDate.of(2024, 1, 15).atStartOfDay(), first.getDate());
+        assertEquals(LocalDate.of(2024, 1, 16).atStartOfDay(), second.getDate());
+    }
+
+    @Test
+    void testFrequentPatternIsTriedFirst() {
+        Pattern rare = new Pattern();
+        rare.setId(1L);
+        rare.setBankAddress("HDFCBK");
+        rare.setBankName("HDFC Bank");
+        rare.setRegexPattern("Rs(?<amount>\\d+)");
+        rare.setStatus(PatternStatus.APPROVED);
+
+        Pattern common = new Pattern();
+        common.setId(2L);
+        common.setBankAddress("HDFCBK");
+        common.setBankName("HDFC Bank");
+        common.setRegexPattern("INR (?<amount>[\\d,.]+) spent");
+        common.setStatus(PatternStatus.APPROVED);
+
+        patternRegistry.register(rare);
+        patternRegistry.register(common);
+
+        // A different template every time, so only the ordering can help
+        for (int i = 0; i < BankPatternSet.REORDER_INTERVAL; i++) {
+            smsRegexParser.parse("INR 250.00 spent on card " + merchantName(i), "HDFCBK");
+        }
+        double before = hitStats.getAverageAttempts();
+        for (int i = BankPatternSet.REORDER_INTERVAL; i < 2 * BankPatternSet.REORDER_INTERVAL; i++) {
+            smsRegexParser.parse("INR 250.00 spent on card " + merchantName(i), "HDFCBK");
+        }
+
+        assertEquals(1, patternRegistry.getBank("HDFCBK").getOrder()[0]);
+        assertTrue(hitStats.getAverageAttempts() < before);
+        assertEquals(2 * BankPatternSet.REORDER_INTERVAL, hitStats.getHits(2L));
+    }
+
+    @Test
+    void testKnownUnparseableTemplateSkipsRegexScan() {
+        Pattern upi = new Pattern();
+        upi.setId(1L);
+        upi.setBankAddress("HDFCBK");
+        upi.setBankName("HDFC Bank");
+        upi.setRegexPattern("INR (?<amount>[\\d,.]+) debited");
+        upi.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(upi);
+
+        assertNull(smsRegexParser.parse("Your OTP is 123456", "HDFCBK"));
+        assertNull(smsRegexParser.parse("Your OTP is 987654", "HDFCBK"));
+
+        assertEquals(1, templateCache.getKnownUnparseableHitCount());
+        assertEquals(0.0, hitStats.getAverageAttempts());
+    }
+
+    @Test
+    void testUnparseableTemplateIsRetriedAfterPatternsChange() {
+        Pattern upi = new Pattern();
+        upi.setId(1L);
+        upi.setBankAddress("HDFCBK");
+        upi.setBankName("HDFC Bank");
+        upi.setRegexPattern("INR (?<amount>[\\d,.]+) debited");
+        upi.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(upi);
+
+        assertNull(smsRegexParser.parse("Rs.500 spent on card XX1234", "HDFCBK"));
+
+        Pattern card = new Pattern();
+        card.setId(2L);
+        card.setBankAddress("HDFCBK");
+        card.setBankName("HDFC Bank");
+        card.setRegexPattern("Rs\\.(?<amount>[\\d,]+) spent");
+        card.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(card);
+
+        assertNotNull(smsRegexParser.parse("Rs.750 spent on card XX1234", "HDFCBK"));
+    }
+
+    @Test
+    void testBacktrackingPatternIsAbandonedAndQuarantined() {
+        Pattern catastrophic = new Pattern();
+        catastrophic.setId(1L);
+        catastrophic.setBankAddress("HDFCBK");
+        catastrophic.setBankName("HDFC Bank");
+        catastrophic.setRegexPattern("Rs\\.(?<amount>\\d+)(.*?,){11}Paid");
+        catastrophic.setPriority(10);
+        catastrophic.setStatus(PatternStatus.APPROVED);
+
+        Pattern simple = new Pattern();
+        simple.setId(2L);
+        simple.setBankAddress("HDFCBK");
+        simple.setBankName("HDFC Bank");
+        simple.setRegexPattern("Rs\\.(?<amount>[\\d,]+) debited");
+        simple.setStatus(PatternStatus.APPROVED);
+
+        patternRegistry.register(catastrophic);
+        patternRegistry.register(simple);
+
+        String sms = "Paid: Rs.500 debited" + ",".repeat(40);
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(smsRegexParser.parse(sms + " x" + (char) ('a' + i), "HDFCBK"));
+        }
+
+        assertEquals(2, regexTimeGuard.getTimeoutCount());
+        assertTrue(regexTimeGuard.isQuarantined(1L));
+    }
+
+    private static String merchantName(int i) {
+        return "shop" + (char) ('a' + i % 26) + (char) ('a' + i / 26);
+    }
+
+    @Test
+    void testRepeatedTemplateGoesStraightToLearnedPattern() {
+        Pattern other = new Pattern();
+        other.setId(1L);
+        other.setBankAddress("HDFCBK");
+        other.setBankName("HDFC Bank");
+        other.setRegexPattern("Rs(?<amount>\\d+)");
+        other.setStatus(PatternStatus.APPROVED);
+
+        Pattern upi = new Pattern();
+        upi.setId(2L);
+        upi.setBankAddress("HDFCBK");
+        upi.setBankName("HDFC Bank");
+        upi.setRegexPattern("INR (?<amount>[\\d,.]+) debited");
+        upi.setStatus(PatternStatus.APPROVED);
+
+        patternRegistry.register(other);
+        patternRegistry.register(upi);
+
+        smsRegexParser.parse("INR 450.00 debited on 28-Jan-26", "HDFCBK");
+        Transaction result = smsRegexParser.parse("INR 2,500.00 debited on 10-Jan-26", "HDFCBK");
+
+        assertEquals(new BigDecimal("2500.00"), result.getAmount());
+        assertEquals(1, templateCache.getHitCount());
+        assertEquals(1.5, hitStats.getAverageAttempts());
+    }
+
+    @Test
+    void testTemplateCacheIsIgnoredAfterPatternsChange() {
+        Pattern upi = new Pattern();
+        upi.setId(1L);
+        upi.setBankAddress("HDFCBK");
+        upi.setBankName("HDFC Bank");
+        upi.setRegexPattern("INR (?<amount>[\\d,.]+) debited");
+        upi.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(upi);
+
+        smsRegexParser.parse("INR 450.00 debited to SWIGGY", "HDFCBK");
+
+        Pattern swiggy = new Pattern();
+        swiggy.setId(2L);
+        swiggy.setBankAddress("HDFCBK");
+        swiggy.setBankName("HDFC Bank");
+        swiggy.setRegexPattern("INR (?<amount>[\\d,.]+) debited to (?<merchant>SWIGGY)");
+        swiggy.setPriority(10);
+        swiggy.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(swiggy);
+
+        Transaction result = smsRegexParser.parse("INR 300.00 debited to SWIGGY", "HDFCBK");
+
+        assertEquals("SWIGGY", result.getMerchant());
+        assertEquals(0, templateCache.getHitCount());
+    }
+
+    @Test
+    void testPriorityWinsOverHitCount() {
+        Pattern generic = new Pattern();
+        generic.setId(1L);
+        generic.setBankAddress("HDFCBK");
+        generic.setBankName("HDFC Bank");
+        generic.setRegexPattern("Rs\\.(?<amount>[\\d,]+)");
+        generic.setStatus(PatternStatus.APPROVED);
+
+        Pattern specific = new Pattern();
+        specific.setId(2L);
+        specific.setBankAddress("HDFCBK");
+        specific.setBankName("HDFC Bank");
+        specific.setRegexPattern("Rs\\.(?<amount>[\\d,]+) debited at (?<merchant>\\w+)");
+        specific.setPriority(10);
+        specific.setStatus(PatternStatus.APPROVED);
+
+        patternRegistry.register(generic);
+        patternRegistry.register(specific);
+
+        for (int i = 0; i < 2 * BankPatternSet.REORDER_INTERVAL; i++) {
+            smsRegexParser.parse("Rs.100 received", "HDFCBK");
+        }
+        Transaction result = smsRegexParser.parse("Rs.300 debited at SWIGGY", "HDFCBK");
+
+        assertEquals("SWIGGY", result.getMerchant());
+    }
+
     @Test
     void testParseWithBalance() {
         Pattern pattern = new Pattern();
@@ -210,8 +441,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited.*Avl Bal Rs\\.(?<balance>[\\d,]+)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited. Avl Bal Rs.50000", "HDFCBK");
 
@@ -227,8 +457,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited.*Ref No\\.\\s*(?<refNumber>\\w+)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited. Ref No. ABC123456", "HDFCBK");
 
@@ -244,8 +473,7 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*DEBITED");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
+        patternRegistry.register(pattern);
 
         // Test with lowercase "debited"
         Transaction result = smsRegexParser.parse("Rs.500 debited from account", "HDFCBK");
@@ -267,8 +495,8 @@ class SmsRegexParserTest {
         pattern2.setRegexPattern("INR\\s+(?<amount>[\\d,]+).*spent");
         pattern2.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern1, pattern2));
+        patternRegistry.register(pattern1);
+        patternRegistry.register(pattern2);
 
         Transaction result = smsRegexParser.parse("Rs.500 debited from account", "HDFCBK");
 
@@ -285,9 +513,8 @@ class SmsRegexParserTest {
         pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited.*at\\s+(?<merchant>[\\w\\s]+)");
         pattern.setStatus(PatternStatus.APPROVED);
 
-        when(patternService.getApprovedPatternsByBankAddress("HDFCBK"))
-            .thenReturn(Arrays.asList(pattern));
-        
+        patternRegistry.register(pattern);
+
         // Enable Gemini and return SHOPPING for this merchant
         when(geminiService.isEnabled()).thenReturn(true);
         when(geminiService.categorize(anyString(), anyString())).thenReturn(Category.SHOPPING);
@@ -298,4 +525,27 @@ class SmsRegexParserTest {
         assertEquals(Category.SHOPPING, result.getCategory());
         verify(geminiService).categorize(anyString(), anyString());
     }
+
+    @Test
+    void testParseAllReturnsCategorisedTransactionsInInputOrder() {
+        Pattern pattern = new Pattern();
+        pattern.setId(1L);
+        pattern.setBankAddress("HDFCBK");
+        pattern.setBankName("HDFC Bank");
+        pattern.setRegexPattern("Rs\\.(?<amount>\\d+) (?<type>debited)");
+        pattern.setStatus(PatternStatus.APPROVED);
+        patternRegistry.register(pattern);
+
+        List<ParseOutcome<Transaction>> outcomes = smsRegexParser.parseAll(List.of(
+                new SmsMessage("Hello", "HDFCBK"),
+                new SmsMessage("Rs.500 debited", "HDFCBK"),
+                new SmsMessage("Rs.700 debited", "SBIINB")));
+
+        assertEquals(3, outcomes.size());
+        assertEquals(ParseOutcome.Status.UNPARSED, outcomes.get(0).status());
+        assertTrue(outcomes.get(1).isParsed());
+        assertEquals(new BigDecimal("500.00"), outcomes.get(1).transaction().getAmount());
+        assertEquals(Category.OTHERS, outcomes.get(1).transaction().getCategory());
+        assertEquals(ParseOutcome.Status.UNPARSED, outcomes.get(2).status());
+    }
 }
@@ -1,4 +1,6 @@
-import React, { useState, useMemo } from 'react';
+import React, { useState, useMemo, useEffect } from 'react';
+import axios from 'axios';
+import { useUser } from '../context/UserContext';
 
 // Import category icons
 import foodIcon from '../assets/food.png';
@@ -127,8 +129,11 @@ const getTransactionIcon = (transaction) => {
 };
 
 const TransactionCards = ({ transactions }) => {
+  const { token } = useUser();
   const [expandedId, setExpandedId] = useState(null);
   const [activeFilter, setActiveFilter] = useState('all');
+  // Raw SMS by transaction id: list responses leave it out, so it is fetched when a card is opened
+  const [smsMessages, setSmsMessages] = useState({});
 
   const closeModal = () => setExpandedId(null);
 
@@ -155,6 +160,19 @@ const TransactionCards = ({ transactions }) => {
     (t, i) => (t.id ?? `txn-${i}`) === expandedId
   );
 
+  useEffect(() => {
+    const id = expandedTransaction?.id;
+    if (id == null || expandedTransaction.smsMessage != null || id in smsMessages) return;
+
+    axios.get(`http://localhost:8080/api/transactions/${id}/sms`, {
+      headers: {
+        Authorization: `Bearer ${token}`,
+      },
+    })
+      .then(response => setSmsMessages(prev => ({ ...prev, [id]: response.data.smsMessage })))
+      .catch(err => console.error('Error fetching SMS message:', err));
+  }, [expandedTransaction, smsMessages, token]);
+
   // Filter buttons configuration
   const filterButtons = [
     { id: 'all', label: 'All', icon: (
@@ -399,7 +417,7 @@ const TransactionCards = ({ transactions }) => {
 
                     <div className="mt-4 p-3 bg-gray-50 dark:bg-gray-700 rounded-lg border border-gray-200 dark:border-gray-600">
                       <label className="block text-xs font-medium text-gray-500 dark:text-gray-400 mb-1">SMS Message</label>
-                      <p className="text-sm text-gray-700 dark:text-gray-300 break-words">{str(t.smsMessage)}</p>
+                      <p className="text-sm text-gray-700 dark:text-gray-300 break-words">{str(t.smsMessage ?? smsMessages[t.id])}</p>
                     </div>
                   </>
                 );
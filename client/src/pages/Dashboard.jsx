@@ -6,6 +6,11 @@ import { useUser } from '../context/UserContext';
 import TransactionCards, { CATEGORY_COLORS } from '../components/TransactionCards.jsx';
 import { PieChart, Pie, Cell, ResponsiveContainer, Tooltip, Legend } from 'recharts';
 
+// Messages per bulk-upload request (the backend accepts up to transactions.batch.max-size)
+const BULK_UPLOAD_CHUNK_SIZE = 1000;
+// Transactions per GET /api/transactions page (the server caps it at transactions.page.max-size)
+const TRANSACTIONS_PAGE_SIZE = 50;
+
 const Dashboard = () => {
   const navigate = useNavigate();
   
@@ -47,6 +52,11 @@ const defaultBankAddresses = [
 const [bankAddress, setBankAddress] = useState('');
 const [bankAddresses, setBankAddresses] = useState(defaultBankAddresses);
 const [transactions, setTransactions] = useState([]);
+const [nextCursor, setNextCursor] = useState(null);
+const [loadingMore, setLoadingMore] = useState(false);
+const [exporting, setExporting] = useState(false);
+const [summary, setSummary] = useState(null);
+const [summaryVersion, setSummaryVersion] = useState(0);
 const [parsedData, setParsedData] = useState(null);
 const [error, setError] = useState('');
 const [parseLoading, setParseLoading] = useState(false);
@@ -83,30 +93,11 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
     return '#6b7280'; // Gray - Others
   };
 
-  // Compute chart data from transactions
+  // Chart data from the server-side totals (GET /api/transactions/summary), not from the loaded rows
   const chartData = useMemo(() => {
-    let totalIncome = 0;
-    let totalExpense = 0;
-    const categoryExpenses = {};
-
-    transactions.forEach(transaction => {
-      const typeLower = transaction.type?.toLowerCase() || '';
-      const amount = Number(transaction.amount) || 0;
-      const category = transaction.category || 'Uncategorized';
-
-      // Skip alerts and reminders for financial calculations
-      if (typeLower.includes('alert') || typeLower.includes('reminder')) {
-        return;
-      }
-
-      if (typeLower.includes('credit')) {
-        totalIncome += amount;
-      } else if (typeLower.includes('debit')) {
-        totalExpense += amount;
-        // Track category-wise expenses
-        categoryExpenses[category] = (categoryExpenses[category] || 0) + amount;
-      }
-    });
+    const totalFor = (type) => Number(summary?.byType.find(item => item.type === type)?.total) || 0;
+    const totalIncome = totalFor('CREDITED');
+    const totalExpense = totalFor('DEBITED');
 
     // Income vs Expense pie chart data
     const incomeVsExpense = [
@@ -115,8 +106,9 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
     ].filter(item => item.value > 0);
 
     // Category-wise expense pie chart data
-    const categoryData = Object.entries(categoryExpenses)
-      .map(([name, value]) => ({ name, value }))
+    const categoryData = (summary?.byCategory || [])
+      .filter(item => item.type === 'DEBITED')
+      .map(item => ({ name: item.category || 'Uncategorized', value: Number(item.total) || 0 }))
       .sort((a, b) => b.value - a.value);
 
     return {
@@ -125,7 +117,7 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
       totalIncome,
       totalExpense,
     };
-  }, [transactions]);
+  }, [summary]);
 
   // Custom tooltip for pie charts
   const CustomTooltip = ({ active, payload }) => {
@@ -217,12 +209,15 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
 
     const fetchTransactions = async () => {
       try {
+        // First page only (newest first); older ones are loaded on demand via `next`
         const response = await axios.get('http://localhost:8080/api/transactions', {
           headers: {
             Authorization: `Bearer ${token}`,
           },
+          params: { limit: TRANSACTIONS_PAGE_SIZE },
         });
-        setTransactions(response.data);
+        setTransactions(response.data.items);
+        setNextCursor(response.data.next);
       } catch (err) {
         console.error('Error fetching transactions:', err);
         if (err.response?.status === 401) {
@@ -246,6 +241,71 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
     }
   }, [loading, isAuthenticated, token, navigate]);
 
+  // Chart totals; refetched whenever new transactions are saved (summaryVersion)
+  useEffect(() => {
+    const fetchSummary = async () => {
+      try {
+        const response = await axios.get('http://localhost:8080/api/transactions/summary', {
+          headers: {
+            Authorization: `Bearer ${token}`,
+          },
+        });
+        setSummary(response.data);
+      } catch (err) {
+        console.error('Error fetching transaction summary:', err);
+      }
+    };
+
+    if (!loading && isAuthenticated()) {
+      fetchSummary();
+    }
+  }, [loading, isAuthenticated, token, summaryVersion]);
+
+  const loadMoreTransactions = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const response = await axios.get('http://localhost:8080/api/transactions', {
+        headers: {
+          Authorization: `Bearer ${token}`,
+        },
+        params: { limit: TRANSACTIONS_PAGE_SIZE, cursor: nextCursor },
+      });
+      setTransactions(prev => [...prev, ...response.data.items]);
+      setNextCursor(response.data.next);
+    } catch (err) {
+      console.error('Error loading more transactions:', err);
+      toast.error('Failed to load more transactions. Please try again.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Whole history as a file (GET /api/transactions/export); the browser un-gzips the response
+  const exportTransactions = async (format) => {
+    setExporting(true);
+    try {
+      const response = await axios.get('http://localhost:8080/api/transactions/export', {
+        headers: {
+          Authorization: `Bearer ${token}`,
+        },
+        params: { format },
+        responseType: 'blob',
+      });
+      const url = URL.createObjectURL(response.data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `transactions.${format}`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (err) {
+      console.error('Error exporting transactions:', err);
+      toast.error('Failed to export transactions. Please try again.');
+    } finally {
+      setExporting(false);
+    }
+  };
+
   if (loading || fetchingTransactions) {
     return (
       <div className="min-h-screen bg-gray-50 dark:bg-gray-900">
@@ -289,6 +349,7 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
       
       // Automatically add transaction to the list
       setTransactions([transactionWithSms, ...transactions]);
+      setSummaryVersion(v => v + 1);
       
       toast.success('Transaction parsed and added successfully!');
       
@@ -349,14 +410,16 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
 
       const parsedTransactions = [];
       const failedMessages = [];
+      let duplicateCount = 0;
+
+      // One request per chunk of messages - the backend parses each chunk in parallel and saves it in bulk
+      for (let start = 0; start < jsonData.length; start += BULK_UPLOAD_CHUNK_SIZE) {
+        const chunk = jsonData.slice(start, start + BULK_UPLOAD_CHUNK_SIZE);
 
-      for (let i = 0; i < jsonData.length; i++) {
-        const { address, message } = jsonData[i];
-        
         try {
           const response = await axios.post(
-            'http://localhost:8080/api/transactions/parse',
-            { sms: message, bankAddress: address },
+            'http://localhost:8080/api/transactions/parse/batch',
+            chunk.map(({ address, message }) => ({ sms: message, bankAddress: address })),
             {
               headers: {
                 Authorization: `Bearer ${token}`,
@@ -364,33 +427,53 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
               },
             }
           );
-          
-          const transactionWithSms = {
-            ...response.data,
-            smsMessage: message
-          };
-          parsedTransactions.push(transactionWithSms);
-          
-          setBulkParseProgress({ current: i + 1, total: jsonData.length });
+
+          duplicateCount += response.data.duplicates || 0;
+          response.data.results.forEach((result) => {
+            const { address, message } = chunk[result.index];
+            if (result.status === 'DUPLICATE') {
+              // Already saved by an earlier upload - skipped, not a failure
+              return;
+            }
+            if (result.transaction) {
+              parsedTransactions.push({ ...result.transaction, smsMessage: message });
+            } else {
+              failedMessages.push({
+                index: start + result.index + 1,
+                address,
+                message: message.substring(0, 50) + '...',
+                error: result.error || 'Failed to parse'
+              });
+            }
+          });
         } catch (err) {
-          console.error(`Error parsing message ${i + 1}:`, err);
-          failedMessages.push({
-            index: i + 1,
-            address,
-            message: message.substring(0, 50) + '...',
-            error: err.response?.data?.message || 'Failed to parse'
+          console.error(`Error parsing messages ${start + 1}-${start + chunk.length}:`, err);
+          chunk.forEach(({ address, message }, i) => {
+            failedMessages.push({
+              index: start + i + 1,
+              address,
+              message: message.substring(0, 50) + '...',
+              error: err.response?.data?.message || 'Failed to parse'
+            });
           });
         }
+
+        setBulkParseProgress({ current: start + chunk.length, total: jsonData.length });
       }
 
       // Update transactions list with successfully parsed transactions
       if (parsedTransactions.length > 0) {
         setBulkParsedData(parsedTransactions);
         setTransactions([...parsedTransactions, ...transactions]);
+        setSummaryVersion(v => v + 1);
         toast.success(`Successfully parsed ${parsedTransactions.length} out of ${jsonData.length} messages!`);
       }
 
       // Show warning for failed messages
+      if (duplicateCount > 0) {
+        toast.info(`${duplicateCount} message(s) were already uploaded and were skipped.`);
+      }
+
       if (failedMessages.length > 0) {
         console.warn('Failed messages:', failedMessages);
         toast.warning(`${failedMessages.length} message(s) failed to parse. Check console for details.`);
@@ -641,7 +724,32 @@ const [bulkParseProgress, setBulkParseProgress] = useState({ current: 0, total:
             })()}
 
             {/* Transactions Cards */}
+            {transactions.length > 0 && (
+              <div className="flex justify-end gap-2">
+                {['csv', 'ndjson'].map(format => (
+                  <button
+                    key={format}
+                    onClick={() => exportTransactions(format)}
+                    disabled={exporting}
+                    className="px-3 py-1 text-xs font-semibold rounded-lg border border-gray-200 dark:border-gray-700 text-gray-700 dark:text-gray-300 hover:bg-gray-50 dark:hover:bg-gray-700 disabled:opacity-50"
+                  >
+                    Export {format.toUpperCase()}
+                  </button>
+                ))}
+              </div>
+            )}
             <TransactionCards transactions={transactions} />
+            {nextCursor && (
+              <div className="flex justify-center">
+                <button
+                  onClick={loadMoreTransactions}
+                  disabled={loadingMore}
+                  className="px-4 py-2 text-sm font-semibold rounded-lg border border-gray-200 dark:border-gray-700 text-gray-700 dark:text-gray-300 hover:bg-gray-50 dark:hover:bg-gray-700 disabled:opacity-50"
+                >
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
 
           {/* Right Column - Charts */}
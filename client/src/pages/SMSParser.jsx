@@ -102,6 +102,7 @@ const SMSParser = () => {
 
     // Transaction Details
     type: passedData.type || '',
+    dateFormat: passedData.dateFormat || '',
     // Category removed - now auto-detected via Gemini API when parsing messages
 
     // Pattern and Sample
@@ -272,6 +273,7 @@ const SMSParser = () => {
         bankName: formData.bankName,
         merchantName: formData.merchantName || null,
         type: formData.type || null,
+        dateFormat: formData.dateFormat || null,
         regexPattern: formData.regexPattern,
         message: formData.message,
         // Category removed - now auto-detected via Gemini API when parsing messages
@@ -300,6 +302,7 @@ const SMSParser = () => {
           bankName: '',
           merchantName: '',
           msgType: '',
+          dateFormat: '',
           regexPattern: '',
           message: '',
           onDemand: false,
@@ -606,7 +609,7 @@ const SMSParser = () => {
         </FieldGroup>
 
         {/* Transaction Details */}
-        <FieldGroup title="Transaction Details" cols={1}>
+        <FieldGroup title="Transaction Details" cols={2}>
           <SelectField
             label="Type"
             name="type"
@@ -615,6 +618,14 @@ const SMSParser = () => {
             options={['', 'CREDITED', 'DEBITED', 'ALERT', 'REMINDER']}
             disabled={userRole === 'checker'}
           />
+          <InputField
+            label="Date Format (optional)"
+            name="dateFormat"
+            value={formData.dateFormat}
+            onChange={handleInputChange}
+            placeholder="e.g. dd-MMM-yy, ddMMMyy, yyyy-MM-dd"
+            disabled={userRole === 'checker'}
+          />
           {/* Category removed - now auto-detected via Gemini API when parsing messages */}
         </FieldGroup>
 
@@ -750,6 +761,7 @@ const SMSParser = () => {
                     bankName: '',
                     merchantName: '',
                     msgType: '',
+                    dateFormat: '',
                     regexPattern: '',
                     message: '',
                     onDemand: false,
@@ -0,0 +1,61 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.AmountParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amount parsing straight from the SMS region into paise, versus cutting the group out
+ * and going through String.replace and the BigDecimal constructor.
+ * <p>
+ * Run: {@code java -jar piggy-parser-benchmarks/target/benchmarks.jar AmountParseBenchmark -prof gc}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AmountParseBenchmark {
+
+    private static final String PREFIX = "Avl Bal: INR ";
+
+    @Param({"350.00", "25,420.50", "2000", "1,00,000.00"})
+    public String amount;
+
+    private String sms;
+    private int start;
+    private int end;
+
+    @Setup
+    public void setUp() {
+        sms = PREFIX + amount + ". Ref No: 60123456789";
+        start = PREFIX.length();
+        end = start + amount.length();
+    }
+
+    @Benchmark
+    public BigDecimal minorUnits() {
+        return AmountParser.toBigDecimal(AmountParser.parseMinorUnits(sms, start, end));
+    }
+
+    @Benchmark
+    public BigDecimal substringBigDecimal() {
+        return new BigDecimal(sms.substring(start, end).replace(",", ""));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AmountParseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
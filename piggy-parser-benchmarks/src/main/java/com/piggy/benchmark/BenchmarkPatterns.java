@@ -0,0 +1,72 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.PatternRegistry;
+import com.piggy.parser.SmsPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approved patterns for the banks in the {@link SmsCorpus}, written the way makers write
+ * them in the UI. PNBSMS deliberately has none, so the unparseable path is measured too.
+ */
+public final class BenchmarkPatterns {
+
+    private BenchmarkPatterns() {
+    }
+
+    public static List<SmsPattern> all() {
+        List<SmsPattern> patterns = new ArrayList<>();
+        add(patterns, "BZ-SBIINB", "SBI",
+                "A/C\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+by\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on date\\s+"
+                        + "(?<date>\\d{1,2}\\w{3}\\d{2})\\s+trf (?:to|from)\\s+(?<merchant>[A-Z][A-Z ]*?)\\s+Refno\\s+(?<refNumber>\\d+)");
+        add(patterns, "BZ-SBIINB", "SBI",
+                "(?<type>ALERT): Minimum balance of Rs (?<amount>\\d+) is not maintained in your A/C (?<accountNumber>\\w+)\\."
+                        + " Current balance: Rs (?<balance>\\d+)");
+        add(patterns, "VM-HDFCBK", "HDFC Bank",
+                "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+(?:for|with)\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on\\s+"
+                        + "(?<date>\\d{1,2}-\\w{3}-\\d{2})\\s+(?:via UPI to|from)\\s+(?<merchant>[A-Z]+)"
+                        + ".*?Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2}).*?Ref No:\\s+(?<refNumber>\\d+)");
+        add(patterns, "VM-HDFCBK", "HDFC Bank",
+                "Credit Card\\s+(?<accountNumber>XX\\d+)\\s+has been (?<type>spent) for INR\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+at\\s+"
+                        + "(?<merchant>.+?)\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})\\.\\s+Curr O/S:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2})");
+        add(patterns, "VM-HDFCBK", "HDFC Bank",
+                "Credit Card payment of INR\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+is due on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})\\s+"
+                        + "for Card\\s+(?<accountNumber>XX\\d+)");
+        add(patterns, "AX-ICICIB", "ICICI Bank",
+                "Acct\\s+(?<accountNumber>\\w+)\\s+(?<type>credited|debited)\\s+with\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on\\s+"
+                        + "(?<date>\\d{1,2}-\\w{3}-\\d{2})\\.\\s+Info:\\s+(?<merchant>[\\w\\- ]+?)\\.\\s+Total Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2})");
+        add(patterns, "AX-ICICIB", "ICICI Bank",
+                "(?<type>REMINDER): Your loan EMI of INR\\s+(?<amount>[\\d,]+\\.\\d{2}) is due on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})\\s+"
+                        + "for Loan A/c\\s+(?<accountNumber>XX\\d+)");
+        add(patterns, "JD-AXISBK", "Axis Bank",
+                "A/c\\s+(?<accountNumber>X\\d+)\\s+is\\s+(?<type>debited|credited)\\s+(?:for|with)\\s+Rs\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on\\s+"
+                        + "(?<date>\\d{4}-\\d{2}-\\d{2})\\s+via\\s+(?<merchant>[A-Z ]+?)\\.\\s+Available Bal:\\s+Rs\\s+(?<balance>[\\d,]+\\.\\d{2})");
+        add(patterns, "KM-KOTAKB", "Kotak Bank",
+                "Transaction of Rs\\.\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on Kotak Bank (?:Debit|Credit) Card\\s+(?<accountNumber>XX\\d+)\\s+at\\s+"
+                        + "(?<merchant>.+?)\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})");
+        add(patterns, "KM-KOTAKB", "Kotak Bank",
+                "(?<type>REMINDER): Your insurance premium of Rs\\.\\s+(?<amount>[\\d,]+\\.\\d{2}) is due on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})\\s+"
+                        + "for Policy\\s+(?<accountNumber>XX\\d+)");
+        SmsPattern federal = add(patterns, "FEDBNK", "Federal Bank",
+                "Rs\\.(?<amount>\\d+(?:\\.\\d{2})?)\\s+(?<type>credited) in your A/c\\s+(?<accountNumber>XX\\d+)\\s+on\\s+"
+                        + "(?<date>\\d{2}[A-Z]{3}\\d{4})\\s+[\\d:]+\\s+using\\s+(?<merchant>.+?)\\s+at\\s+.*?Current Bal:\\s+Rs\\.(?<balance>[\\d.]+)");
+        federal.setDateFormat("ddMMMyyyy");
+        return patterns;
+    }
+
+    /**
+     * A registry holding {@link #all()}.
+     */
+    public static PatternRegistry<SmsPattern> registry() {
+        PatternRegistry<SmsPattern> registry = new PatternRegistry<>();
+        registry.loadAll(all());
+        return registry;
+    }
+
+    private static SmsPattern add(List<SmsPattern> patterns, String bankAddress, String bankName, String regex) {
+        SmsPattern pattern = new SmsPattern((long) patterns.size() + 1, bankAddress, bankName, regex);
+        patterns.add(pattern);
+        return pattern;
+    }
+}
@@ -0,0 +1,78 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.SmsDateFormat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing one date in each shape the banks of the corpus send: with the format declared
+ * on the pattern, by walking the built-in formats as an undeclared pattern does before it
+ * has learned one, and through a custom DateTimeFormatter as a non built-in format does.
+ * <p>
+ * Run: {@code java -jar piggy-parser-benchmarks/target/benchmarks.jar DateParseBenchmark -prof gc}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateParseBenchmark {
+
+    // HDFC / ICICI / Kotak, SBI, Axis, and the same date with a four-digit year
+    @Param({"10-Jan-26", "14Jan26", "2026-01-10", "10-Jan-2026"})
+    public String date;
+
+    private SmsDateFormat declared;
+    private DateTimeFormatter custom;
+
+    @Setup
+    public void setUp() {
+        for (SmsDateFormat format : SmsDateFormat.values()) {
+            if (format.parse(date, 0, date.length()) != null) {
+                declared = format;
+            }
+        }
+        if (declared == null) {
+            throw new IllegalStateException("No built-in format parses " + date);
+        }
+        custom = SmsDateFormat.customFormatter(declared.getPattern());
+    }
+
+    @Benchmark
+    public LocalDate declaredFormat() {
+        return declared.parse(date, 0, date.length());
+    }
+
+    @Benchmark
+    public LocalDate builtInFallback() {
+        for (SmsDateFormat format : SmsDateFormat.values()) {
+            LocalDate parsed = format.parse(date, 0, date.length());
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public LocalDate customFormatter() {
+        return LocalDate.parse(date, custom);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DateParseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.GroupSchema;
+import com.piggy.parser.SmsField;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * Named-group extraction: the old try/catch probing of matcher.group(name)
+ * versus index lookups through a precomputed GroupSchema.
+ * <p>
+ * Run: {@code java -jar piggy-parser-benchmarks/target/benchmarks.jar GroupExtractionBenchmark -prof gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GroupExtractionBenchmark {
+
+    private static final String[] GROUP_NAMES = {
+            "accountNumber", "type", "amount", "merchant", "date", "balance", "refNumber"
+    };
+
+    /**
+     * "all" declares every group; "sparse" only declares three, so the old code throws four times per SMS.
+     */
+    @Param({"all", "sparse"})
+    public String shape;
+
+    private Matcher matcher;
+    private GroupSchema schema;
+
+    @Setup
+    public void setUp() {
+        String sms = "Alert: Your A/c XX5678 debited for INR 2,500.00 on 10-Jan-26 via UPI to ZOMATO. "
+                + "Avl Bal: INR 15,420.50. Ref No: 60123456789";
+        String regex = "all".equals(shape)
+                ? "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+for\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})"
+                        + "\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2}).*?via UPI to\\s+(?<merchant>[A-Z]+)"
+                        + ".*?Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2}).*?Ref No:\\s+(?<refNumber>\\d+)"
+                : "A/c\\s+(?<accountNumber>\\w+)\\s+debited\\s+for\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})"
+                        + ".*?via UPI to\\s+(?<merchant>[A-Z]+)";
+        java.util.regex.Pattern compiled = java.util.regex.Pattern.compile(regex, java.util.regex.Pattern.CASE_INSENSITIVE);
+        matcher = compiled.matcher(sms);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Benchmark regex does not match");
+        }
+        schema = new GroupSchema(compiled);
+    }
+
+    @Benchmark
+    public void tryCatchByName(Blackhole blackhole) {
+        for (String name : GROUP_NAMES) {
+            try {
+                blackhole.consume(matcher.group(name));
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void schemaByIndex(Blackhole blackhole) {
+        for (SmsField field : SmsField.values()) {
+            blackhole.consume(schema.get(matcher, field));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GroupExtractionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.CompiledPattern;
+import com.piggy.parser.CompiledPatternCache;
+import com.piggy.parser.ParseOutcome;
+import com.piggy.parser.ParsedTransaction;
+import com.piggy.parser.PatternHitStats;
+import com.piggy.parser.PatternRegistry;
+import com.piggy.parser.RegexTimeGuard;
+import com.piggy.parser.SmsFingerprint;
+import com.piggy.parser.SmsMessage;
+import com.piggy.parser.SmsParser;
+import com.piggy.parser.SmsPattern;
+import com.piggy.parser.TemplateFingerprintCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * SmsParser.parse over the whole corpus, one SMS per invocation in corpus order, so
+ * every bank and the unparseable PNBSMS messages are mixed as they would be in a bulk upload.
+ * <ul>
+ *   <li>{@code parse}: the steady state - every template has been seen, the template cache hits.</li>
+ *   <li>{@code parseNewTemplate}: the template entry is dropped first, so the prefilter and
+ *       the ordered pattern scan run as for the first SMS of a new template.</li>
+ *   <li>{@code matchOnly}: just the find() of the pattern that parses the SMS. buildTransaction
+ *       is private to the parser, so its cost (group extraction, type, amount and date parsing)
+ *       is {@code parse} minus this baseline.</li>
+ *   <li>{@code parseAll}: the corpus repeated into one batch of {@link #BATCH_SIZE} SMS, parsed across
+ *       the common ForkJoin pool - compare per-SMS time with {@code parse}.</li>
+ * </ul>
+ * The parser's log lines are still formatted but written to a discarding stream.
+ * <p>
+ * Run: {@code java -jar piggy-parser-benchmarks/target/benchmarks.jar ParserBenchmark -prof gc}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+
+    static final int BATCH_SIZE = 1024;
+
+    private SmsCorpus.Sms[] corpus;
+    private long[] fingerprints;
+    private java.util.regex.Pattern[] matchingRegexes;
+    private SmsParser parser;
+    private TemplateFingerprintCache templateCache;
+    private List<SmsMessage> batch;
+    private PrintStream stdout;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        List<SmsCorpus.Sms> messages = SmsCorpus.load();
+        corpus = messages.toArray(SmsCorpus.Sms[]::new);
+        PatternRegistry<SmsPattern> registry = BenchmarkPatterns.registry();
+        CompiledPatternCache compiledPatternCache = new CompiledPatternCache();
+        templateCache = new TemplateFingerprintCache();
+        parser = new SmsParser(registry, compiledPatternCache, new PatternHitStats(), templateCache,
+                new RegexTimeGuard(1000, 3));
+
+        fingerprints = new long[corpus.length];
+        matchingRegexes = new java.util.regex.Pattern[corpus.length];
+        int parsed = 0;
+        for (int i = 0; i < corpus.length; i++) {
+            SmsCorpus.Sms sms = corpus[i];
+            fingerprints[i] = SmsFingerprint.of(sms.message());
+            ParsedTransaction transaction = parser.parse(sms.message(), sms.bankAddress());
+            if (transaction == null) {
+                continue;
+            }
+            parsed++;
+            for (SmsPattern pattern : registry.getApprovedPatterns(sms.bankAddress())) {
+                if (pattern.getId().equals(transaction.getPatternId())) {
+                    CompiledPattern compiled = compiledPatternCache.get(pattern);
+                    matchingRegexes[i] = compiled.getRegex();
+                }
+            }
+        }
+        if (parsed == 0) {
+            throw new IllegalStateException("No SMS of the corpus parsed - check BenchmarkPatterns");
+        }
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            SmsCorpus.Sms sms = corpus[i % corpus.length];
+            batch.add(new SmsMessage(sms.message(), sms.bankAddress()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public ParsedTransaction parse() {
+        SmsCorpus.Sms sms = corpus[advance()];
+        return parser.parse(sms.message(), sms.bankAddress());
+    }
+
+    @Benchmark
+    public ParsedTransaction parseNewTemplate() {
+        int i = advance();
+        SmsCorpus.Sms sms = corpus[i];
+        templateCache.remove(sms.bankAddress(), fingerprints[i]);
+        return parser.parse(sms.message(), sms.bankAddress());
+    }
+
+    @Benchmark
+    public boolean matchOnly() {
+        int i = advance();
+        java.util.regex.Pattern regex = matchingRegexes[i];
+        if (regex == null) {
+            return false;
+        }
+        Matcher matcher = regex.matcher(corpus[i].message());
+        return matcher.find();
+    }
+
+    @Benchmark
+    public List<ParseOutcome<ParsedTransaction>> parseAll() {
+        return parser.parseAll(batch);
+    }
+
+    private int advance() {
+        int i = next;
+        next = i + 1 == corpus.length ? 0 : i + 1;
+        return i;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.RegexOptimizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * One find() per SMS of the corpus: each bank regex as written versus
+ * the form RegexOptimizer stores for it.
+ * <p>
+ * Run: {@code java -jar piggy-parser-benchmarks/target/benchmarks.jar RegexOptimizerBenchmark -prof gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegexOptimizerBenchmark {
+
+    private static final String[] REGEXES = {
+            "A/C\\s+(?<accountNumber>\\w+).*?(?<type>debited|credited)\\s+by\\s+(?<amount>[\\d.]+).*?on date\\s+(?<date>\\d{1,2}\\w{3}\\d{2})"
+                    + ".*?trf to\\s+(?<merchant>[A-Z][A-Z\\s]+?)(?=\\s+Refno).*?Refno\\s+(?<refNumber>\\d+).*?(?<bankName>\\w+)$",
+            "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+for\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})"
+                    + ".*?via UPI to\\s+(?<merchant>[A-Z]+).*?Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2}).*?Ref No:\\s+(?<refNumber>\\d+)",
+            "Acct\\s+(?<accountNumber>\\w+)\\s+(?<type>credited|debited)\\s+with\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2})"
+                    + ".*?Info:\\s+(?<merchant>[\\w\\-]+).*?Total Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2})",
+            "(?<type>debit|debited)\\s*Rs\\.?\\s*(?<amount>[\\d,]+)"
+    };
+
+    @Param({"0", "1", "2", "3"})
+    public int regex;
+
+    @Param({"original", "optimized"})
+    public String variant;
+
+    private java.util.regex.Pattern compiled;
+    private List<String> messages;
+
+    @Setup
+    public void setUp() {
+        String source = REGEXES[regex];
+        String optimized = RegexOptimizer.optimize(source);
+        messages = SmsCorpus.load().stream().map(SmsCorpus.Sms::message).toList();
+        if (!RegexOptimizer.verify(source, optimized, messages)) {
+            throw new IllegalStateException("Optimised regex does not match like the original: " + optimized);
+        }
+        compiled = java.util.regex.Pattern.compile("optimized".equals(variant) ? optimized : source,
+                java.util.regex.Pattern.CASE_INSENSITIVE);
+    }
+
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        for (String sms : messages) {
+            Matcher matcher = compiled.matcher(sms);
+            blackhole.consume(matcher.find());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RegexOptimizerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
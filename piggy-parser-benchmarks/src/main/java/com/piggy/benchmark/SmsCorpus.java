@@ -0,0 +1,96 @@
+package com.piggy.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The SMS corpora bundled at the repository root, in file order. The directory is taken
+ * from {@code -Dpiggy.corpus.dir}, else the current directory or its parent - so the
+ * benchmarks run both from the repository root and from this module's directory.
+ */
+public final class SmsCorpus {
+
+    public record Sms(String bankAddress, String message) {}
+
+    public static final List<String> FILES = List.of(
+            "sample-messages.json", "demo-transactions.json", "test-card-transactions.json");
+
+    // The corpora are arrays of flat {"address": ..., "message": ...} objects - no JSON library needed
+    private static final Pattern ENTRY = Pattern.compile(
+            "\\{\\s*\"address\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*,\\s*\"message\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*}");
+
+    private SmsCorpus() {
+    }
+
+    /**
+     * Every SMS of all {@link #FILES}.
+     */
+    public static List<Sms> load() {
+        Path dir = directory();
+        List<Sms> corpus = new ArrayList<>();
+        for (String file : FILES) {
+            corpus.addAll(load(dir.resolve(file)));
+        }
+        return corpus;
+    }
+
+    public static List<Sms> load(Path file) {
+        String json;
+        try {
+            json = Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read SMS corpus " + file, e);
+        }
+        List<Sms> corpus = new ArrayList<>();
+        Matcher matcher = ENTRY.matcher(json);
+        while (matcher.find()) {
+            corpus.add(new Sms(unescape(matcher.group(1)), unescape(matcher.group(2))));
+        }
+        return corpus;
+    }
+
+    private static Path directory() {
+        String configured = System.getProperty("piggy.corpus.dir");
+        if (configured != null) {
+            return Path.of(configured);
+        }
+        for (Path candidate : List.of(Path.of("."), Path.of(".."))) {
+            if (Files.exists(candidate.resolve(FILES.get(0)))) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("SMS corpus not found - run from the repository root or set -Dpiggy.corpus.dir");
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                out.append(c);
+                continue;
+            }
+            char e = value.charAt(++i);
+            switch (e) {
+                case 'n' -> out.append('\n');
+                case 'r' -> out.append('\r');
+                case 't' -> out.append('\t');
+                case 'u' -> {
+                    out.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> out.append(e);
+            }
+        }
+        return out.toString();
+    }
+}
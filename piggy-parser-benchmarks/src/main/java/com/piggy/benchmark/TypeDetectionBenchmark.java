@@ -0,0 +1,50 @@
+package com.piggy.benchmark;
+
+import com.piggy.parser.TransactionType;
+import com.piggy.parser.TransactionTypeClassifier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-based type detection - what the parser falls back to when a pattern has no
+ * type group - over every SMS of the corpus, one per invocation.
+ * <p>
+ * Run: {@code java -jar piggy-parser-benchmarks/target/benchmarks.jar TypeDetectionBenchmark -prof gc}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeDetectionBenchmark {
+
+    private String[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        messages = SmsCorpus.load().stream().map(SmsCorpus.Sms::message).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public TransactionType classify() {
+        String sms = messages[next];
+        next = next + 1 == messages.length ? 0 : next + 1;
+        return TransactionTypeClassifier.classify(sms);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TypeDetectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.piggy.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick multi-string matcher with ASCII case folding (same folding as
+ * {@code Pattern.CASE_INSENSITIVE}). Finds every occurrence of every keyword
+ * in a single left-to-right pass over the text.
+ */
+public class AhoCorasick {
+
+    /**
+     * Receives every keyword occurrence; {@code end} is exclusive.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int keywordIndex, int start, int end);
+    }
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final String[] keywords;
+    // Per state: sorted transition chars and their target states
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Keywords ending at each state, including those reached through failure links
+    private final int[][] outputs;
+
+    public AhoCorasick(List<String> keywords) {
+        this.keywords = keywords.toArray(new String[0]);
+
+        // 1. Build the trie
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int k = 0; k < this.keywords.length; k++) {
+            String keyword = this.keywords[k];
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords must not be empty");
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.get(state).add(k);
+        }
+
+        int stateCount = trie.size();
+        edgeChars = new char[stateCount][];
+        edgeTargets = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            Map<Character, Integer> edges = trie.get(s);
+            edgeChars[s] = new char[edges.size()];
+            edgeTargets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[s][i] = edge.getKey();
+                edgeTargets[s][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 2. Failure links and merged outputs, breadth first
+        failure = new int[stateCount];
+        outputs = new int[stateCount][];
+        outputs[0] = toArray(ends.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            outputs[target] = toArray(ends.get(target));
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int target = edgeTargets[state][i];
+                int f = failure[state];
+                int next;
+                while ((next = transition(f, c)) < 0 && f != 0) {
+                    f = failure[f];
+                }
+                failure[target] = next < 0 ? 0 : next;
+                outputs[target] = merge(toArray(ends.get(target)), outputs[failure[target]]);
+                queue.add(target);
+            }
+        }
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String getKeyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Report every keyword occurrence in {@code text}, in order of end position.
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int pos = 0, n = text.length(); pos < n; pos++) {
+            char c = fold(text.charAt(pos));
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = next < 0 ? 0 : next;
+            for (int keyword : outputs[state]) {
+                handler.onMatch(keyword, pos + 1 - keywords[keyword].length(), pos + 1);
+            }
+        }
+    }
+
+    private int transition(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+
+    static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values.isEmpty()) {
+            return NO_OUTPUT;
+        }
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (inherited.length == 0) {
+            return own;
+        }
+        if (own.length == 0) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+}
@@ -0,0 +1,112 @@
+package com.piggy.parser;
+
+import java.math.BigDecimal;
+
+/**
+ * Parses money amounts like "1,50,000.50" straight from a region of the SMS into
+ * minor units (paise) without creating intermediate strings. Grouping commas are skipped,
+ * surrounding whitespace is ignored and a third decimal place is rounded half-up
+ * (the same precision the amount columns keep).
+ * A BigDecimal is only created at the persistence boundary via {@link #toBigDecimal(long)}.
+ */
+public final class AmountParser {
+
+    /**
+     * Returned when the region is not a plain decimal amount.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MAX_BEFORE_MULTIPLY = (Long.MAX_VALUE - 99) / 100;
+
+    private AmountParser() {
+    }
+
+    /**
+     * Parse {@code text[start, end)} into paise, or {@link #INVALID}.
+     */
+    public static long parseMinorUnits(CharSequence text, int start, int end) {
+        // Trim
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return INVALID;
+        }
+
+        boolean negative = false;
+        char first = text.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+
+        long rupees = 0;
+        long paise = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        boolean roundUp = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                int digit = c - '0';
+                if (!seenDot) {
+                    if (rupees > (MAX_BEFORE_MULTIPLY - digit) / 10) {
+                        return INVALID;
+                    }
+                    rupees = rupees * 10 + digit;
+                } else if (fractionDigits < 2) {
+                    paise = paise * 10 + digit;
+                    fractionDigits++;
+                } else {
+                    // Only the third decimal decides rounding
+                    if (fractionDigits == 2) {
+                        roundUp = digit >= 5;
+                    }
+                    fractionDigits++;
+                }
+            } else if (c == ',') {
+                // Grouping comma (Indian or western grouping)
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                return INVALID;
+            }
+        }
+        if (!seenDigit) {
+            return INVALID;
+        }
+
+        if (fractionDigits == 1) {
+            paise *= 10;
+        }
+        long minor = rupees * 100 + paise + (roundUp ? 1 : 0);
+        return negative ? -minor : minor;
+    }
+
+    /**
+     * Whether {@code text[start, end)} is empty or only whitespace. A negative start means the group did not match.
+     */
+    public static boolean isBlank(CharSequence text, int start, int end) {
+        if (start < 0) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convert paise to rupees with scale 2.
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+}
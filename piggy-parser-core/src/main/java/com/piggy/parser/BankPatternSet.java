@@ -0,0 +1,110 @@
+package com.piggy.parser;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable snapshot of one bank's approved patterns together with the
+ * literal prefilter built for them at registration time.
+ * <p>
+ * The only mutable part is the order in which the patterns are tried: explicit
+ * priority first, then the patterns that matched most often, re-sorted every
+ * {@link #REORDER_INTERVAL} parses so the common templates are attempted first.
+ */
+public class BankPatternSet<P extends PatternDefinition> {
+
+    // Must be initialised before EMPTY
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private static final BankPatternSet<?> EMPTY = new BankPatternSet<>(List.of());
+
+    public static final int REORDER_INTERVAL = 256;
+
+    // Unique per snapshot - caches keyed by bank compare it to spot a changed pattern set
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final List<P> patterns;
+    private final Map<Long, Integer> indexById = new HashMap<>();
+    private final PatternPrefilter prefilter;
+    // Indexes into patterns, in the order they are tried
+    private volatile int[] order;
+    private final AtomicInteger parses = new AtomicInteger();
+
+    public BankPatternSet(List<? extends P> patterns) {
+        this.patterns = List.copyOf(patterns);
+        this.prefilter = new PatternPrefilter(this.patterns.stream().map(PatternDefinition::getRegexPattern).toList());
+        this.order = sortedOrder(pattern -> 0);
+        for (int i = 0; i < this.patterns.size(); i++) {
+            if (this.patterns.get(i).getId() != null) {
+                indexById.put(this.patterns.get(i).getId(), i);
+            }
+        }
+    }
+
+    /**
+     * Shared snapshot of a bank without patterns.
+     */
+    @SuppressWarnings("unchecked")
+    public static <P extends PatternDefinition> BankPatternSet<P> empty() {
+        return (BankPatternSet<P>) EMPTY;
+    }
+
+    public List<P> getPatterns() { return patterns; }
+
+    public PatternPrefilter getPrefilter() { return prefilter; }
+
+    public boolean isEmpty() { return patterns.isEmpty(); }
+
+    public long getGeneration() { return generation; }
+
+    /**
+     * Index of the pattern with this id in {@link #getPatterns()}, or -1.
+     */
+    public int indexOf(Long patternId) {
+        Integer index = patternId != null ? indexById.get(patternId) : null;
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Indexes into {@link #getPatterns()} in the order they should be tried. Do not modify.
+     */
+    public int[] getOrder() { return order; }
+
+    /**
+     * Count a parse of this bank; every {@link #REORDER_INTERVAL} parses the order is
+     * rebuilt from the current hit counts.
+     */
+    public void recordParse(PatternHitStats stats) {
+        if (parses.incrementAndGet() % REORDER_INTERVAL == 0) {
+            reorder(stats);
+        }
+    }
+
+    /**
+     * Re-sort the patterns by hit count now.
+     */
+    public void reorder(PatternHitStats stats) {
+        order = sortedOrder(pattern -> stats.getHits(pattern.getId()));
+    }
+
+    // Priority descending, then hits descending, then the registry's id order
+    private int[] sortedOrder(ToLongFunction<P> hits) {
+        long[] counts = patterns.stream().mapToLong(hits).toArray();
+        return IntStream.range(0, patterns.size())
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> priority(patterns.get(i))).reversed()
+                        .thenComparing(Comparator.<Integer>comparingLong(i -> counts[i]).reversed())
+                        .thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int priority(PatternDefinition pattern) {
+        return pattern.getPriority() != null ? pattern.getPriority() : 0;
+    }
+}
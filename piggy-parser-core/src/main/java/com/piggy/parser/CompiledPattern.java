@@ -0,0 +1,29 @@
+package com.piggy.parser;
+
+/**
+ * A pattern's regex compiled once (case-insensitive) together with the source it was
+ * compiled from and its named-group schema.
+ */
+public class CompiledPattern {
+
+    private final String source;
+    private final java.util.regex.Pattern regex;
+    private final GroupSchema groups;
+    // Date format learned from the first successful parse of this pattern's "date" group
+    private volatile SmsDateFormat learnedDateFormat;
+
+    public CompiledPattern(String source) {
+        this.source = source;
+        this.regex = java.util.regex.Pattern.compile(source, java.util.regex.Pattern.CASE_INSENSITIVE);
+        this.groups = new GroupSchema(regex);
+    }
+
+    public String getSource() { return source; }
+
+    public java.util.regex.Pattern getRegex() { return regex; }
+
+    public GroupSchema getGroups() { return groups; }
+
+    public SmsDateFormat getLearnedDateFormat() { return learnedDateFormat; }
+    public void setLearnedDateFormat(SmsDateFormat learnedDateFormat) { this.learnedDateFormat = learnedDateFormat; }
+}
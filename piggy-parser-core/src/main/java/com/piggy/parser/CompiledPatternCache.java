@@ -0,0 +1,68 @@
+package com.piggy.parser;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of compiled regexes keyed by pattern id plus a hash of the regex source,
+ * so every approved regex is compiled once per node instead of once per SMS.
+ * Entries must be invalidated by the owner of the patterns (the backend's PatternService)
+ * when a pattern is edited or its status changes.
+ */
+public class CompiledPatternCache {
+
+    private record Key(Long patternId, int regexHash) {}
+
+    private final Map<Key, CompiledPattern> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Get the compiled form of a pattern's regex, compiling it on first use.
+     * The verified optimised form is used when the pattern has one.
+     */
+    public CompiledPattern get(PatternDefinition pattern) {
+        String regex = pattern.getOptimizedRegex() != null ? pattern.getOptimizedRegex() : pattern.getRegexPattern();
+        Key key = new Key(pattern.getId(), regex.hashCode());
+
+        CompiledPattern compiled = cache.get(key);
+        // Hash matched - make sure the source really is the same (guards against collisions)
+        if (compiled != null && compiled.getSource().equals(regex)) {
+            hits.increment();
+            return compiled;
+        }
+
+        misses.increment();
+        compiled = new CompiledPattern(regex);
+        cache.put(key, compiled);
+        return compiled;
+    }
+
+    /**
+     * Drop every cached version of a pattern (called when it is edited or its status changes).
+     */
+    public void invalidate(Long patternId) {
+        cache.keySet().removeIf(key -> Objects.equals(key.patternId(), patternId));
+    }
+
+    /**
+     * Drop all cached patterns.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.piggy.parser;
+
+/**
+ * Read-only view of an SMS that aborts a regex running past a deadline.
+ * {@code java.util.regex} reads the input one {@link #charAt} at a time, so counting
+ * those reads gives a cheap step counter; every {@link #STEPS_PER_CHECK} steps the
+ * clock is checked and {@link RegexTimeoutException} is thrown once the deadline passed.
+ */
+public final class DeadlineCharSequence implements CharSequence {
+
+    static final int STEPS_PER_CHECK = 1024;
+
+    private final CharSequence text;
+    private final long deadlineNanos;
+    private final long budgetMillis;
+    private int steps;
+
+    public DeadlineCharSequence(CharSequence text, long budgetMillis) {
+        this.text = text;
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = System.nanoTime() + budgetMillis * 1_000_000L;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++steps == STEPS_PER_CHECK) {
+            steps = 0;
+            if (System.nanoTime() - deadlineNanos > 0) {
+                throw new RegexTimeoutException(budgetMillis);
+            }
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    // Only used to read groups after a match - no budget needed
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
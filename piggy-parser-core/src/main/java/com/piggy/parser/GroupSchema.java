@@ -0,0 +1,51 @@
+package com.piggy.parser;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.MatchResult;
+
+/**
+ * Which of the supported named groups a compiled regex declares, and at which group index.
+ * Computed once per compiled pattern so extraction is a plain index lookup -
+ * no {@code matcher.group(name)} probing and no IllegalArgumentException for missing groups.
+ */
+public class GroupSchema {
+
+    private static final int ABSENT = -1;
+
+    // Group index per SmsField ordinal, or ABSENT
+    private final int[] indexes = new int[SmsField.values().length];
+
+    public GroupSchema(java.util.regex.Pattern regex) {
+        Arrays.fill(indexes, ABSENT);
+        Map<String, Integer> namedGroups = regex.namedGroups();
+        for (SmsField field : SmsField.values()) {
+            Integer index = namedGroups.get(field.getGroupName());
+            if (index != null) {
+                indexes[field.ordinal()] = index;
+            }
+        }
+    }
+
+    /**
+     * Whether the regex declares the group for this field.
+     */
+    public boolean has(SmsField field) {
+        return indexes[field.ordinal()] != ABSENT;
+    }
+
+    /**
+     * Group index for the field, or -1 if the regex doesn't declare it.
+     */
+    public int indexOf(SmsField field) {
+        return indexes[field.ordinal()];
+    }
+
+    /**
+     * Captured text for the field, or null if the group is absent or did not participate in the match.
+     */
+    public String get(MatchResult match, SmsField field) {
+        int index = indexes[field.ordinal()];
+        return index == ABSENT ? null : match.group(index);
+    }
+}
@@ -0,0 +1,52 @@
+package com.piggy.parser;
+
+import java.util.function.Function;
+
+/**
+ * Result of one SMS of a batch: the transaction when it parsed, otherwise why it didn't.
+ *
+ * @param <T> the transaction type - {@link ParsedTransaction} from the parser, or whatever a caller maps it to
+ */
+public record ParseOutcome<T>(Status status, T transaction, String reason) {
+
+    public enum Status {
+        /** An approved pattern of the bank produced a transaction. */
+        PARSED,
+        /** The bank has no approved pattern, or none of them matched. */
+        UNPARSED,
+        /** Parsing threw - the SMS was not parsed, the rest of the batch was. */
+        FAILED,
+        /** Not parsed because the same SMS is already saved; set by the ingest layer, never by the parser. */
+        DUPLICATE
+    }
+
+    public static <T> ParseOutcome<T> parsed(T transaction) {
+        return new ParseOutcome<>(Status.PARSED, transaction, null);
+    }
+
+    public static <T> ParseOutcome<T> unparsed(String reason) {
+        return new ParseOutcome<>(Status.UNPARSED, null, reason);
+    }
+
+    public static <T> ParseOutcome<T> failed(String reason) {
+        return new ParseOutcome<>(Status.FAILED, null, reason);
+    }
+
+    public boolean isParsed() {
+        return status == Status.PARSED;
+    }
+
+    /**
+     * Same outcome with the transaction converted; a mapper failure turns it into {@link Status#FAILED}.
+     */
+    public <R> ParseOutcome<R> map(Function<? super T, ? extends R> mapper) {
+        if (status != Status.PARSED) {
+            return new ParseOutcome<>(status, null, reason);
+        }
+        try {
+            return parsed(mapper.apply(transaction));
+        } catch (RuntimeException e) {
+            return failed(e.getMessage());
+        }
+    }
+}
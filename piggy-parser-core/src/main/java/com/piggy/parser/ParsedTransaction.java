@@ -0,0 +1,58 @@
+package com.piggy.parser;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fields extracted from one SMS by {@link SmsParser}. Bank address and name come from the
+ * pattern; everything else from the regex groups. Amount is null for alerts and reminders
+ * that don't carry one.
+ */
+public class ParsedTransaction {
+
+    private Long patternId;
+    private String bankAddress;
+    private String bankName;
+    private String accountNumber;
+    private TransactionType type;
+    private BigDecimal amount;
+    private String merchant;
+    private LocalDateTime date;
+    private BigDecimal balance;
+    private String refNumber;
+    // Whole text matched by the regex (group 0)
+    private String matchedText;
+
+    public Long getPatternId() { return patternId; }
+    public void setPatternId(Long patternId) { this.patternId = patternId; }
+
+    public String getBankAddress() { return bankAddress; }
+    public void setBankAddress(String bankAddress) { this.bankAddress = bankAddress; }
+
+    public String getBankName() { return bankName; }
+    public void setBankName(String bankName) { this.bankName = bankName; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getMerchant() { return merchant; }
+    public void setMerchant(String merchant) { this.merchant = merchant; }
+
+    public LocalDateTime getDate() { return date; }
+    public void setDate(LocalDateTime date) { this.date = date; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public String getRefNumber() { return refNumber; }
+    public void setRefNumber(String refNumber) { this.refNumber = refNumber; }
+
+    public String getMatchedText() { return matchedText; }
+    public void setMatchedText(String matchedText) { this.matchedText = matchedText; }
+}
@@ -0,0 +1,36 @@
+package com.piggy.parser;
+
+/**
+ * What the parser needs to know about a bank pattern. The backend's JPA entity implements
+ * it directly; {@link SmsPattern} is a plain implementation for batch jobs and benchmarks.
+ */
+public interface PatternDefinition {
+
+    Long getId();
+
+    String getBankAddress();
+
+    String getBankName();
+
+    String getRegexPattern();
+
+    /**
+     * Verified faster equivalent of {@link #getRegexPattern()} (see {@link RegexOptimizer}), or null.
+     */
+    String getOptimizedRegex();
+
+    /**
+     * Declared format of the "date" group, a {@link SmsDateFormat} pattern or any DateTimeFormatter pattern; may be null.
+     */
+    String getDateFormat();
+
+    /**
+     * Patterns with a higher priority are tried first. Null means 0.
+     */
+    Integer getPriority();
+
+    /**
+     * Only approved patterns are kept by the {@link PatternRegistry}.
+     */
+    boolean isApproved();
+}
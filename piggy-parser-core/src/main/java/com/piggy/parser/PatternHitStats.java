@@ -0,0 +1,51 @@
+package com.piggy.parser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live match statistics: how often each pattern produced a transaction and how
+ * many regexes were attempted per SMS. Counters are LongAdders, so recording a
+ * hit from many parsing threads does not contend on a single field.
+ */
+public class PatternHitStats {
+
+    private final Map<Long, LongAdder> hits = new ConcurrentHashMap<>();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+
+    /**
+     * Count a successful parse by the given pattern.
+     */
+    public void recordHit(Long patternId) {
+        if (patternId != null) {
+            hits.computeIfAbsent(patternId, id -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Count one parsed SMS and the number of regexes that were run for it.
+     */
+    public void recordParse(int regexesAttempted) {
+        messages.increment();
+        attempts.add(regexesAttempted);
+    }
+
+    public long getHits(Long patternId) {
+        LongAdder counter = patternId != null ? hits.get(patternId) : null;
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public long getMessageCount() {
+        return messages.sum();
+    }
+
+    /**
+     * Average number of regexes attempted per SMS since startup (0 before the first SMS).
+     */
+    public double getAverageAttempts() {
+        long count = messages.sum();
+        return count == 0 ? 0 : (double) attempts.sum() / count;
+    }
+}
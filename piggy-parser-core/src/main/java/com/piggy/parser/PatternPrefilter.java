@@ -0,0 +1,71 @@
+package com.piggy.parser;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Literal-anchor prefilter for one bank's patterns. The required literals of every
+ * regex are indexed in a single Aho-Corasick automaton, so one linear scan of an SMS
+ * tells which patterns can possibly match; only those are run through the full regex.
+ */
+public class PatternPrefilter {
+
+    private final int patternCount;
+    // Literal ids each pattern requires (empty = always a candidate)
+    private final int[][] requiredLiterals;
+    private final AhoCorasick automaton;
+
+    public PatternPrefilter(List<String> regexes) {
+        this.patternCount = regexes.size();
+        this.requiredLiterals = new int[patternCount][];
+
+        Map<String, Integer> literalIds = new HashMap<>();
+        List<String> literals = new ArrayList<>();
+        for (int i = 0; i < patternCount; i++) {
+            List<String> required = RegexLiteralExtractor.requiredLiterals(regexes.get(i));
+            requiredLiterals[i] = required.stream()
+                    .mapToInt(literal -> literalIds.computeIfAbsent(literal, l -> {
+                        literals.add(l);
+                        return literals.size() - 1;
+                    }))
+                    .toArray();
+        }
+        this.automaton = literals.isEmpty() ? null : new AhoCorasick(literals);
+    }
+
+    /**
+     * Get the indexes (into the list this prefilter was built from) of the patterns
+     * whose required literals all occur in {@code sms}.
+     */
+    public BitSet candidates(CharSequence sms) {
+        BitSet candidates = new BitSet(patternCount);
+        if (automaton == null) {
+            candidates.set(0, patternCount);
+            return candidates;
+        }
+
+        BitSet found = new BitSet(automaton.size());
+        automaton.scan(sms, (literal, start, end) -> found.set(literal));
+
+        for (int i = 0; i < patternCount; i++) {
+            boolean possible = true;
+            for (int literal : requiredLiterals[i]) {
+                if (!found.get(literal)) {
+                    possible = false;
+                    break;
+                }
+            }
+            if (possible) {
+                candidates.set(i);
+            }
+        }
+        return candidates;
+    }
+
+    public int getLiteralCount() {
+        return automaton == null ? 0 : automaton.size();
+    }
+}
@@ -0,0 +1,122 @@
+package com.piggy.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory registry of APPROVED patterns keyed by bank address.
+ * Reads are lock-free against an immutable snapshot; every write builds a new
+ * snapshot and swaps it in atomically (copy-on-write), so the parse hot path
+ * never has to query the database. Only the banks touched by a write are rebuilt.
+ */
+public class PatternRegistry<P extends PatternDefinition> {
+
+    // Patterns are kept in id order so matching order stays the same as the old DB query
+    private static final Comparator<PatternDefinition> BY_ID =
+            Comparator.comparing(PatternDefinition::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private volatile Map<String, BankPatternSet<P>> banks = Map.of();
+
+    /**
+     * Get the approved patterns of a bank, with their prefilter. Never touches the database.
+     */
+    public BankPatternSet<P> getBank(String bankAddress) {
+        if (bankAddress == null) {
+            return BankPatternSet.empty();
+        }
+        return banks.getOrDefault(bankAddress, BankPatternSet.empty());
+    }
+
+    /**
+     * Get the approved patterns for a bank address. Never touches the database.
+     */
+    public List<P> getApprovedPatterns(String bankAddress) {
+        return getBank(bankAddress).getPatterns();
+    }
+
+    /**
+     * Get every bank address that currently has at least one approved pattern.
+     */
+    public Set<String> getBankAddresses() {
+        return banks.keySet();
+    }
+
+    /**
+     * Replace the whole registry (used at startup). Non-approved patterns are ignored.
+     */
+    public synchronized void loadAll(Collection<? extends P> patterns) {
+        Map<String, List<P>> byBank = new HashMap<>();
+        for (P pattern : patterns) {
+            if (pattern.isApproved()) {
+                byBank.computeIfAbsent(pattern.getBankAddress(), k -> new ArrayList<>()).add(pattern);
+            }
+        }
+        Map<String, BankPatternSet<P>> next = new HashMap<>();
+        byBank.forEach((bankAddress, bankPatterns) -> next.put(bankAddress, build(bankPatterns)));
+        banks = Map.copyOf(next);
+    }
+
+    /**
+     * Add, replace or drop a pattern after it was saved.
+     * APPROVED patterns are (re-)registered; any other status removes the pattern.
+     */
+    public synchronized void register(P pattern) {
+        Map<String, List<P>> changed = without(pattern.getId());
+        if (pattern.isApproved()) {
+            changed.computeIfAbsent(pattern.getBankAddress(),
+                    k -> new ArrayList<>(getApprovedPatterns(k))).add(pattern);
+        }
+        publish(changed);
+    }
+
+    /**
+     * Remove a pattern from the registry regardless of its bank.
+     */
+    public synchronized void unregister(Long patternId) {
+        publish(without(patternId));
+    }
+
+    // New pattern lists for the banks that currently contain the given id
+    private Map<String, List<P>> without(Long patternId) {
+        Map<String, List<P>> changed = new HashMap<>();
+        if (patternId == null) {
+            return changed;
+        }
+        banks.forEach((bankAddress, bank) -> {
+            if (bank.getPatterns().stream().anyMatch(p -> patternId.equals(p.getId()))) {
+                List<P> kept = new ArrayList<>(bank.getPatterns());
+                kept.removeIf(p -> patternId.equals(p.getId()));
+                changed.put(bankAddress, kept);
+            }
+        });
+        return changed;
+    }
+
+    private void publish(Map<String, List<P>> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<String, BankPatternSet<P>> next = new HashMap<>(banks);
+        Set<String> emptied = new HashSet<>();
+        changed.forEach((bankAddress, bankPatterns) -> {
+            if (bankPatterns.isEmpty()) {
+                emptied.add(bankAddress);
+            } else {
+                next.put(bankAddress, build(bankPatterns));
+            }
+        });
+        next.keySet().removeAll(emptied);
+        banks = Map.copyOf(next);
+    }
+
+    private static <P extends PatternDefinition> BankPatternSet<P> build(List<P> bankPatterns) {
+        bankPatterns.sort(BY_ID);
+        return new BankPatternSet<>(bankPatterns);
+    }
+}
@@ -0,0 +1,402 @@
+package com.piggy.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Checks a maker-authored regex before it can be approved, in two ways:
+ * <ol>
+ *   <li>a structural scan for the constructs behind catastrophic backtracking -
+ *       a repeated group that itself contains an unbounded quantifier ({@code (\w+\s?)+},
+ *       {@code (.*?,){11}}) and a repeated alternation whose branches can start with the
+ *       same character ({@code (\d|\w)+}). These are exponential on some input whether
+ *       or not the corpus happens to contain it, so they are the primary verdict;</li>
+ *   <li>a worst-case cost score: the slowest match time (best of a few runs) over
+ *       adversarial inputs derived from the bank's own SMS - near misses, pumped
+ *       repetitions and separator floods. This catches slow regexes the scan cannot
+ *       reason about.</li>
+ * </ol>
+ * An unanchored leading {@code .*} is only quadratic, so it is reported as a warning.
+ * Possessive quantifiers, atomic groups and lookarounds are treated as safe, since the
+ * engine never backtracks into them.
+ */
+public final class RegexComplexityAnalyzer {
+
+    // Inputs are pumped up to about this length - a long multi-part SMS
+    static final int PUMPED_LENGTH = 2_000;
+    private static final int FLOOD_LENGTH = 64;
+    private static final int MAX_CORPUS_MESSAGES = 30;
+    private static final int RUNS_PER_INPUT = 3;
+
+    /**
+     * Result of an analysis. {@code costMicros} is {@link Long#MAX_VALUE} when the regex
+     * went over the limit (or does not compile).
+     */
+    public record Report(List<String> backtrackingRisks, List<String> warnings, long costMicros, String syntaxError) {
+
+        public boolean isValid() {
+            return syntaxError == null;
+        }
+
+        /**
+         * True when the structural scan found a construct that can backtrack catastrophically.
+         */
+        public boolean hasBacktrackingRisk() {
+            return !backtrackingRisks.isEmpty();
+        }
+
+        public List<String> findings() {
+            List<String> findings = new ArrayList<>(backtrackingRisks);
+            findings.addAll(warnings);
+            return findings;
+        }
+
+        public boolean exceeds(long maxCostMicros) {
+            return costMicros > maxCostMicros;
+        }
+    }
+
+    private RegexComplexityAnalyzer() {
+    }
+
+    /**
+     * Run both checks. Timing stops at the first input slower than {@code maxCostMicros}.
+     */
+    public static Report analyze(String regex, Collection<String> corpus, long maxCostMicros) {
+        java.util.regex.Pattern compiled;
+        try {
+            compiled = java.util.regex.Pattern.compile(regex, java.util.regex.Pattern.CASE_INSENSITIVE);
+        } catch (PatternSyntaxException e) {
+            return new Report(List.of(), List.of(), Long.MAX_VALUE, e.getDescription());
+        }
+        List<String> risks = findBacktrackingRisks(regex);
+        List<String> warnings = findWarnings(regex);
+        long cost = worstCaseMicros(compiled, adversarialInputs(corpus), maxCostMicros);
+        return new Report(risks, warnings, cost, null);
+    }
+
+    /**
+     * Structural findings, as human-readable sentences. Empty when nothing risky was found.
+     */
+    public static List<String> findRiskyConstructs(String regex) {
+        List<String> findings = new ArrayList<>(findWarnings(regex));
+        findings.addAll(findBacktrackingRisks(regex));
+        return findings;
+    }
+
+    /**
+     * Nested quantifiers and overlapping repeated alternations - the findings that block approval.
+     */
+    public static List<String> findBacktrackingRisks(String regex) {
+        List<String> findings = new ArrayList<>();
+        try {
+            new Scanner(regex, findings).scan();
+        } catch (RuntimeException e) {
+            // Malformed input - the compile step reports it
+        }
+        return findings.stream().distinct().toList();
+    }
+
+    private static List<String> findWarnings(String regex) {
+        return startsWithUnanchoredWildcard(regex)
+                ? List.of("Leading .* is not anchored: it is re-run from every position of the SMS")
+                : List.of();
+    }
+
+    /**
+     * Near misses, pumped repetitions and separator floods built from the corpus.
+     */
+    static List<String> adversarialInputs(Collection<String> corpus) {
+        Set<String> inputs = new LinkedHashSet<>();
+        corpus.stream().filter(sms -> sms != null && !sms.isBlank()).limit(MAX_CORPUS_MESSAGES).forEach(sms -> {
+            inputs.add(sms);
+            // Fails late: forces the engine through every alternative before giving up
+            inputs.add(sms.substring(0, sms.length() * 3 / 4));
+            inputs.add(sms.substring(0, sms.length() - 1));
+            StringBuilder pumped = new StringBuilder(sms);
+            while (pumped.length() + sms.length() < PUMPED_LENGTH) {
+                pumped.append(' ').append(sms);
+            }
+            inputs.add(pumped.toString());
+            for (char separator : separators(sms)) {
+                inputs.add(sms + String.valueOf(separator).repeat(FLOOD_LENGTH));
+            }
+        });
+        return new ArrayList<>(inputs);
+    }
+
+    private static Set<Character> separators(String sms) {
+        Set<Character> separators = new LinkedHashSet<>();
+        for (int i = 0; i < sms.length() && separators.size() < 4; i++) {
+            char c = sms.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                separators.add(c);
+            }
+        }
+        return separators;
+    }
+
+    private static long worstCaseMicros(java.util.regex.Pattern regex, List<String> inputs, long maxCostMicros) {
+        // Whole milliseconds for the deadline, rounded up so a cost just over the limit is still measured
+        long budgetMillis = Math.max(1, (maxCostMicros + 999) / 1000 + 1);
+        long worst = 0;
+        for (String input : inputs) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS_PER_INPUT; run++) {
+                Matcher matcher = regex.matcher(new DeadlineCharSequence(input, budgetMillis));
+                long start = System.nanoTime();
+                try {
+                    matcher.find();
+                } catch (RegexTimeoutException e) {
+                    return Long.MAX_VALUE;
+                }
+                best = Math.min(best, (System.nanoTime() - start) / 1000);
+            }
+            worst = Math.max(worst, best);
+            if (worst > maxCostMicros) {
+                return worst;
+            }
+        }
+        return worst;
+    }
+
+    private static boolean startsWithUnanchoredWildcard(String regex) {
+        String rest = regex;
+        // Skip leading inline flags such as (?i)
+        while (rest.startsWith("(?") && rest.indexOf(')') > 0
+                && rest.substring(2, rest.indexOf(')')).chars().allMatch(Character::isLetter)) {
+            rest = rest.substring(rest.indexOf(')') + 1);
+        }
+        return rest.startsWith(".*") || rest.startsWith(".+");
+    }
+
+    // Single pass over the regex with a stack of open groups
+    private static final class Scanner {
+
+        private static final class Group {
+            final int position;
+            final boolean backtrackable;
+            boolean hasUnbounded;
+            final List<String> branchStarts = new ArrayList<>();
+            boolean atBranchStart = true;
+
+            Group(int position, boolean backtrackable) {
+                this.position = position;
+                this.backtrackable = backtrackable;
+            }
+        }
+
+        private enum Repeat { NONE, OPTIONAL, BOUNDED, UNBOUNDED }
+
+        private final String regex;
+        private final List<String> findings;
+        private final Deque<Group> groups = new ArrayDeque<>();
+        private int pos;
+
+        Scanner(String regex, List<String> findings) {
+            this.regex = regex;
+            this.findings = findings;
+        }
+
+        void scan() {
+            groups.push(new Group(0, true));
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                switch (c) {
+                    case '(' -> openGroup();
+                    case ')' -> closeGroup();
+                    case '|' -> {
+                        pos++;
+                        groups.peek().atBranchStart = true;
+                    }
+                    case '\\' -> {
+                        String atom = regex.substring(pos, Math.min(pos + 2, regex.length()));
+                        pos += 2;
+                        atom(atom);
+                    }
+                    case '[' -> {
+                        int start = pos;
+                        skipClass();
+                        atom(regex.substring(start, pos));
+                    }
+                    case '^', '$' -> pos++;
+                    default -> {
+                        pos++;
+                        atom(String.valueOf(AhoCorasick.fold(c)));
+                    }
+                }
+            }
+        }
+
+        private void openGroup() {
+            int start = pos++;
+            boolean backtrackable = true;
+            if (regex.startsWith("?", pos)) {
+                if (regex.startsWith("?>", pos) || regex.startsWith("?=", pos) || regex.startsWith("?!", pos)
+                        || regex.startsWith("?<=", pos) || regex.startsWith("?<!", pos)) {
+                    // Atomic group or lookaround - never backtracked into
+                    backtrackable = false;
+                    pos += regex.startsWith("?<", pos) ? 3 : 2;
+                } else if (regex.startsWith("?<", pos)) {
+                    pos = regex.indexOf('>', pos) + 1;
+                } else {
+                    // Non-capturing group or inline flags: (?:...), (?i), (?i:...)
+                    while (pos < regex.length() && regex.charAt(pos) != ':' && regex.charAt(pos) != ')') {
+                        pos++;
+                    }
+                    if (regex.charAt(pos) == ')') {
+                        pos++;
+                        return;
+                    }
+                    pos++;
+                }
+            }
+            markBranchStart("(");
+            groups.push(new Group(start, backtrackable));
+        }
+
+        private void closeGroup() {
+            pos++;
+            Group group = groups.pop();
+            Repeat repeat = quantifier();
+            boolean repeated = repeat == Repeat.BOUNDED || repeat == Repeat.UNBOUNDED;
+            if (repeated && group.backtrackable && group.hasUnbounded) {
+                findings.add("Nested quantifier at position " + group.position
+                        + ": a repeated group contains an unbounded quantifier");
+            }
+            if (repeated && group.backtrackable && overlapping(group.branchStarts)) {
+                findings.add("Overlapping alternation at position " + group.position
+                        + ": repeated branches can match the same text");
+            }
+            Group parent = groups.peek();
+            if (group.backtrackable && (group.hasUnbounded || repeat == Repeat.UNBOUNDED)) {
+                parent.hasUnbounded = true;
+            }
+        }
+
+        private void atom(String atom) {
+            markBranchStart(atom);
+            if (quantifier() == Repeat.UNBOUNDED) {
+                groups.peek().hasUnbounded = true;
+            }
+        }
+
+        private void markBranchStart(String atom) {
+            Group group = groups.peek();
+            if (group.atBranchStart) {
+                group.branchStarts.add(atom);
+                group.atBranchStart = false;
+            }
+        }
+
+        // Possessive quantifiers don't backtrack and count as NONE
+        private Repeat quantifier() {
+            if (pos >= regex.length()) {
+                return Repeat.NONE;
+            }
+            char c = regex.charAt(pos);
+            Repeat repeat;
+            if (c == '*' || c == '+') {
+                repeat = Repeat.UNBOUNDED;
+                pos++;
+            } else if (c == '?') {
+                repeat = Repeat.OPTIONAL;
+                pos++;
+            } else if (c == '{') {
+                int end = regex.indexOf('}', pos);
+                String bounds = regex.substring(pos + 1, end);
+                int comma = bounds.indexOf(',');
+                if (comma < 0) {
+                    repeat = Integer.parseInt(bounds.trim()) > 1 ? Repeat.BOUNDED : Repeat.NONE;
+                } else if (comma == bounds.length() - 1) {
+                    repeat = Repeat.UNBOUNDED;
+                } else {
+                    repeat = Integer.parseInt(bounds.substring(comma + 1).trim()) > 1 ? Repeat.BOUNDED : Repeat.OPTIONAL;
+                }
+                pos = end + 1;
+            } else {
+                return Repeat.NONE;
+            }
+            if (pos < regex.length() && regex.charAt(pos) == '+') {
+                pos++;
+                return Repeat.NONE;
+            }
+            if (pos < regex.length() && regex.charAt(pos) == '?') {
+                pos++;
+            }
+            return repeat;
+        }
+
+        private void skipClass() {
+            int depth = 0;
+            while (true) {
+                char c = regex.charAt(pos++);
+                if (c == '\\') {
+                    pos++;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']' && --depth == 0) {
+                    return;
+                }
+            }
+        }
+
+        private static boolean overlapping(List<String> branchStarts) {
+            for (int i = 0; i < branchStarts.size(); i++) {
+                for (int j = i + 1; j < branchStarts.size(); j++) {
+                    if (overlap(branchStarts.get(i), branchStarts.get(j))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Conservative: anything we can't reason about is assumed to overlap
+        private static boolean overlap(String a, String b) {
+            if (a.equals(b) || isBroad(a) || isBroad(b)) {
+                return true;
+            }
+            boolean literalA = isLiteral(a);
+            boolean literalB = isLiteral(b);
+            if (literalA && literalB) {
+                return false;
+            }
+            if (literalA) {
+                return inClass(b.charAt(1), a.charAt(a.length() - 1));
+            }
+            if (literalB) {
+                return inClass(a.charAt(1), b.charAt(b.length() - 1));
+            }
+            // Two of \d, \w, \s: only \s is disjoint from the others
+            return !a.equals("\\s") && !b.equals("\\s");
+        }
+
+        // Groups, classes, '.', negated shorthands and anything exotic
+        private static boolean isBroad(String atom) {
+            if (atom.equals("(") || atom.equals(".") || atom.startsWith("[")) {
+                return true;
+            }
+            return atom.length() == 2 && Character.isLetterOrDigit(atom.charAt(1)) && "dws".indexOf(atom.charAt(1)) < 0;
+        }
+
+        private static boolean isLiteral(String atom) {
+            return atom.length() == 1 || !Character.isLetterOrDigit(atom.charAt(1));
+        }
+
+        private static boolean inClass(char shorthand, char c) {
+            return switch (shorthand) {
+                case 'd' -> c >= '0' && c <= '9';
+                case 'w' -> (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+                default -> Character.isWhitespace(c);
+            };
+        }
+    }
+}
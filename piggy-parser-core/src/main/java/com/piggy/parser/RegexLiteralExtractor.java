@@ -0,0 +1,268 @@
+package com.piggy.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts the literal fragments that every match of a regex must contain
+ * (e.g. "avl bal:" or "refno"), lower-cased with ASCII folding.
+ * <p>
+ * The extraction is conservative: anything inside alternations, optional groups,
+ * lookarounds or character classes is ignored, and an unsupported construct
+ * yields no literals at all. So a pattern whose literals are not all present in
+ * an SMS can never match it, while a pattern with no literals is always a candidate.
+ */
+public final class RegexLiteralExtractor {
+
+    // Shorter fragments (":", "rs") are everywhere and don't narrow anything down
+    public static final int MIN_LITERAL_LENGTH = 3;
+
+    private static final class UnsupportedRegexException extends RuntimeException {
+        UnsupportedRegexException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final String regex;
+    private int pos;
+
+    private RegexLiteralExtractor(String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * Get the required literal fragments of {@code regex}, or an empty list if none can be proven.
+     */
+    public static List<String> requiredLiterals(String regex) {
+        if (regex == null || regex.isEmpty()) {
+            return List.of();
+        }
+        RegexLiteralExtractor extractor = new RegexLiteralExtractor(regex);
+        List<String> literals = new ArrayList<>();
+        try {
+            extractor.parseAlternation(literals);
+            if (extractor.pos < regex.length()) {
+                // Unbalanced ')' - don't guess
+                return List.of();
+            }
+        } catch (RuntimeException e) {
+            // Unsupported construct or malformed regex
+            return List.of();
+        }
+        return literals.stream().distinct().toList();
+    }
+
+    // alternation := branch ('|' branch)*  - only a single branch contributes literals
+    private void parseAlternation(List<String> sink) {
+        List<String> branchLiterals = new ArrayList<>();
+        parseBranch(branchLiterals);
+        boolean alternation = false;
+        while (pos < regex.length() && regex.charAt(pos) == '|') {
+            alternation = true;
+            pos++;
+            parseBranch(new ArrayList<>());
+        }
+        if (!alternation) {
+            sink.addAll(branchLiterals);
+        }
+    }
+
+    private void parseBranch(List<String> sink) {
+        StringBuilder literal = new StringBuilder();
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            switch (c) {
+                case '|', ')' -> {
+                    flush(literal, sink);
+                    return;
+                }
+                case '\\' -> parseEscape(literal, sink);
+                case '[' -> {
+                    flush(literal, sink);
+                    skipClass();
+                    skipQuantifier();
+                }
+                case '(' -> {
+                    flush(literal, sink);
+                    parseGroup(sink);
+                }
+                case '.', '^', '$' -> {
+                    flush(literal, sink);
+                    pos++;
+                    skipQuantifier();
+                }
+                case '*', '+', '?', '{' -> throw new UnsupportedRegexException();
+                default -> {
+                    pos++;
+                    appendLiteral(c, literal, sink);
+                }
+            }
+        }
+        flush(literal, sink);
+    }
+
+    private void parseEscape(StringBuilder literal, List<String> sink) {
+        char e = regex.charAt(pos + 1);
+        pos += 2;
+        if (e == 'Q') {
+            int end = regex.indexOf("\\E", pos);
+            String quoted = end < 0 ? regex.substring(pos) : regex.substring(pos, end);
+            pos = end < 0 ? regex.length() : end + 2;
+            for (int i = 0; i < quoted.length(); i++) {
+                // Only the last quoted char can be affected by a following quantifier
+                if (i < quoted.length() - 1) {
+                    literal.append(AhoCorasick.fold(quoted.charAt(i)));
+                } else {
+                    appendLiteral(quoted.charAt(i), literal, sink);
+                }
+            }
+            return;
+        }
+        if (!Character.isLetterOrDigit(e)) {
+            appendLiteral(e, literal, sink);
+            return;
+        }
+
+        // Class, boundary, back-reference or control escape - not a plain literal
+        flush(literal, sink);
+        switch (e) {
+            case 'x' -> pos = regex.charAt(pos) == '{' ? regex.indexOf('}', pos) + 1 : pos + 2;
+            case 'u' -> pos += 4;
+            case 'c' -> pos += 1;
+            case 'k', 'p', 'P', 'N' -> {
+                char open = regex.charAt(pos);
+                if (open == '<' || open == '{') {
+                    pos = regex.indexOf(open == '<' ? '>' : '}', pos) + 1;
+                } else if (e == 'p' || e == 'P') {
+                    pos += 1;
+                } else {
+                    throw new UnsupportedRegexException();
+                }
+            }
+            default -> {
+                while (Character.isDigit(e) && pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+                    pos++;
+                }
+            }
+        }
+        if (pos <= 0) {
+            throw new UnsupportedRegexException();
+        }
+        skipQuantifier();
+    }
+
+    private void parseGroup(List<String> sink) {
+        pos++; // '('
+        boolean contributes = true;
+        if (regex.startsWith("?", pos)) {
+            if (regex.startsWith("?:", pos) || regex.startsWith("?>", pos)) {
+                pos += 2;
+            } else if (regex.startsWith("?=", pos) || regex.startsWith("?!", pos)) {
+                pos += 2;
+                contributes = false;
+            } else if (regex.startsWith("?<=", pos) || regex.startsWith("?<!", pos)) {
+                pos += 3;
+                contributes = false;
+            } else if (regex.startsWith("?<", pos)) {
+                pos = regex.indexOf('>', pos) + 1;
+                if (pos <= 0) {
+                    throw new UnsupportedRegexException();
+                }
+            } else {
+                // Inline flags: (?i) or (?i:...)
+                int start = ++pos;
+                while (pos < regex.length() && regex.charAt(pos) != ')' && regex.charAt(pos) != ':') {
+                    pos++;
+                }
+                String flags = regex.substring(start, pos);
+                if (flags.indexOf('x') >= 0) {
+                    // Comments mode changes what a literal is
+                    throw new UnsupportedRegexException();
+                }
+                if (regex.charAt(pos) == ')') {
+                    pos++;
+                    return;
+                }
+                pos++; // ':'
+            }
+        }
+
+        List<String> groupLiterals = new ArrayList<>();
+        parseAlternation(groupLiterals);
+        if (pos >= regex.length() || regex.charAt(pos) != ')') {
+            throw new UnsupportedRegexException();
+        }
+        pos++;
+        boolean optional = skipQuantifier() == Quantifier.OPTIONAL;
+        if (contributes && !optional) {
+            sink.addAll(groupLiterals);
+        }
+    }
+
+    private void skipClass() {
+        int depth = 0;
+        while (true) {
+            char c = regex.charAt(pos++);
+            if (c == '\\') {
+                pos++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return;
+            }
+        }
+    }
+
+    private enum Quantifier { NONE, OPTIONAL, REQUIRED }
+
+    private Quantifier skipQuantifier() {
+        if (pos >= regex.length()) {
+            return Quantifier.NONE;
+        }
+        Quantifier quantifier;
+        char c = regex.charAt(pos);
+        if (c == '?' || c == '*') {
+            quantifier = Quantifier.OPTIONAL;
+            pos++;
+        } else if (c == '+') {
+            quantifier = Quantifier.REQUIRED;
+            pos++;
+        } else if (c == '{') {
+            int end = regex.indexOf('}', pos);
+            if (end < 0) {
+                throw new UnsupportedRegexException();
+            }
+            String bounds = regex.substring(pos + 1, end);
+            int comma = bounds.indexOf(',');
+            int min = Integer.parseInt((comma < 0 ? bounds : bounds.substring(0, comma)).trim());
+            quantifier = min == 0 ? Quantifier.OPTIONAL : Quantifier.REQUIRED;
+            pos = end + 1;
+        } else {
+            return Quantifier.NONE;
+        }
+        // Lazy / possessive modifier
+        if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+            pos++;
+        }
+        return quantifier;
+    }
+
+    private void appendLiteral(char c, StringBuilder literal, List<String> sink) {
+        literal.append(AhoCorasick.fold(c));
+        switch (skipQuantifier()) {
+            case OPTIONAL -> {
+                literal.setLength(literal.length() - 1);
+                flush(literal, sink);
+            }
+            case REQUIRED -> flush(literal, sink);
+            case NONE -> { }
+        }
+    }
+
+    private static void flush(StringBuilder literal, List<String> sink) {
+        if (literal.length() >= MIN_LITERAL_LENGTH) {
+            sink.add(literal.toString());
+        }
+        literal.setLength(0);
+    }
+}
@@ -0,0 +1,673 @@
+package com.piggy.parser;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Rewrites a pattern's regex into an equivalent form that backtracks less. Only
+ * rewrites that are provably safe are applied:
+ * <ol>
+ *   <li>a single-character atom with a greedy or lazy quantifier becomes possessive when
+ *       nothing it can match can start what follows it - e.g. {@code \s+} before
+ *       {@code (?<amount>\d...)} - since giving characters back could never let the rest match;</li>
+ *   <li>a lazy {@code .*?} gap before the single character that ends the regex becomes a
+ *       tempered negated class {@code [^X\n...]*+X} - both stop at the first X;</li>
+ *   <li>the common literal prefix of an alternation is hoisted out of it:
+ *       {@code (debit|debited)} becomes {@code (debit(?:|ed))}.</li>
+ * </ol>
+ * Anything the optimiser doesn't understand (back-references, {@code \Q..\E}, inline flags
+ * other than {@code i}, ...) leaves the regex unchanged. Callers still {@link #verify} the
+ * result against real SMS before using it.
+ */
+public final class RegexOptimizer {
+
+    // Time allowed per SMS while verifying - the original may be slow, the check must not hang
+    private static final long VERIFY_BUDGET_MILLIS = 200;
+
+    private static final String LINE_TERMINATORS = "\\n\\r\\x{85}\\x{2028}\\x{2029}";
+
+    private static final class UnsupportedRegexException extends RuntimeException {
+        UnsupportedRegexException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private RegexOptimizer() {
+    }
+
+    /**
+     * Get the optimised form of {@code regex}, or {@code regex} itself if nothing could be improved.
+     */
+    public static String optimize(String regex) {
+        if (regex == null || regex.isEmpty()) {
+            return regex;
+        }
+        List<List<Node>> root;
+        try {
+            java.util.regex.Pattern.compile(regex);
+            root = new Parser(regex).parse();
+        } catch (PatternSyntaxException | UnsupportedRegexException | IndexOutOfBoundsException e) {
+            return regex;
+        }
+        for (List<Node> branch : root) {
+            hoistPrefixes(branch);
+            temperTrailingGap(branch);
+            makePossessive(branch, CharSet.END);
+        }
+        StringBuilder out = new StringBuilder();
+        appendBranches(root, out);
+        return out.toString();
+    }
+
+    /**
+     * Check that {@code optimized} finds the same match and the same named-group captures as
+     * {@code original} on every SMS of the corpus (both compiled case-insensitively).
+     */
+    public static boolean verify(String original, String optimized, Collection<String> corpus) {
+        java.util.regex.Pattern before;
+        java.util.regex.Pattern after;
+        try {
+            before = java.util.regex.Pattern.compile(original, java.util.regex.Pattern.CASE_INSENSITIVE);
+            after = java.util.regex.Pattern.compile(optimized, java.util.regex.Pattern.CASE_INSENSITIVE);
+        } catch (PatternSyntaxException e) {
+            return false;
+        }
+        Map<String, Integer> names = before.namedGroups();
+        if (!names.keySet().equals(after.namedGroups().keySet())) {
+            return false;
+        }
+        try {
+            for (String sms : corpus) {
+                if (sms == null) {
+                    continue;
+                }
+                Matcher expected = before.matcher(new DeadlineCharSequence(sms, VERIFY_BUDGET_MILLIS));
+                Matcher actual = after.matcher(new DeadlineCharSequence(sms, VERIFY_BUDGET_MILLIS));
+                boolean found = expected.find();
+                if (found != actual.find()) {
+                    return false;
+                }
+                if (!found) {
+                    continue;
+                }
+                if (expected.start() != actual.start() || expected.end() != actual.end()) {
+                    return false;
+                }
+                for (String name : names.keySet()) {
+                    if (expected.start(name) != actual.start(name) || !Objects.equals(expected.group(name), actual.group(name))) {
+                        return false;
+                    }
+                }
+            }
+        } catch (RegexTimeoutException e) {
+            return false;
+        }
+        return true;
+    }
+
+    // —— Rewrites ——
+
+    /**
+     * Rewrite 1. {@code follow} is the first-character set of whatever comes after the branch.
+     */
+    private static void makePossessive(List<Node> branch, CharSet follow) {
+        for (int i = 0; i < branch.size(); i++) {
+            Node node = branch.get(i);
+            if (node.kind == Node.Kind.GROUP) {
+                // Inside a repeated group the next iteration follows too; lookarounds and atomic groups never backtrack
+                CharSet groupFollow = node.quantifier.isEmpty() && node.isPlainGroup()
+                        ? firstAfter(branch, i + 1, follow) : CharSet.UNKNOWN;
+                if (node.isPlainGroup()) {
+                    for (List<Node> inner : node.branches) {
+                        makePossessive(inner, groupFollow);
+                    }
+                }
+            } else if (node.kind == Node.Kind.ATOM && node.isBacktrackingQuantifier()) {
+                CharSet next = firstAfter(branch, i + 1, follow);
+                boolean lazy = node.quantifier.endsWith("?") && node.quantifier.length() > 1;
+                // A lazy quantifier stops as soon as the rest matches - at the end of the regex that is immediately
+                boolean safe = next != CharSet.UNKNOWN && (!lazy || next != CharSet.END) && node.chars.isDisjoint(next);
+                if (safe) {
+                    node.quantifier = (lazy ? node.quantifier.substring(0, node.quantifier.length() - 1) : node.quantifier) + "+";
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrite 2: {@code .*?X} at the very end of a top-level branch, X a single literal.
+     * A negated class is used rather than a {@code (?!X).} lookahead - java.util.regex runs it far faster.
+     */
+    private static void temperTrailingGap(List<Node> branch) {
+        int last = branch.size() - 1;
+        if (last < 1 || !branch.get(last).isPlainLiteral()) {
+            return;
+        }
+        Node gap = branch.get(last - 1);
+        if (gap.kind != Node.Kind.ATOM || !gap.text.equals(".") || !gap.quantifier.equals("*?")) {
+            return;
+        }
+        String literal = branch.get(last).text;
+        if (literal.length() == 1 && !Character.isLetterOrDigit(literal.charAt(0))) {
+            literal = "\\" + literal;
+        }
+        // '.' never matches a line terminator, so neither may the class
+        gap.text = "[^" + literal + LINE_TERMINATORS + "]";
+        gap.quantifier = "*+";
+        gap.chars = CharSet.UNKNOWN;
+    }
+
+    /**
+     * Rewrite 3, applied to every group of the branch (deepest first).
+     */
+    private static void hoistPrefixes(List<Node> branch) {
+        for (Node node : branch) {
+            if (node.kind != Node.Kind.GROUP) {
+                continue;
+            }
+            for (List<Node> inner : node.branches) {
+                hoistPrefixes(inner);
+            }
+            if (!node.isPlainGroup() || node.branches.size() < 2
+                    || !node.branches.stream().allMatch(alt -> alt.stream().allMatch(Node::isPlainLiteral))) {
+                continue;
+            }
+            int prefix = commonPrefix(node.branches);
+            if (prefix == 0) {
+                continue;
+            }
+            List<Node> hoisted = new ArrayList<>(node.branches.get(0).subList(0, prefix));
+            List<List<Node>> rest = new ArrayList<>();
+            for (List<Node> alternative : node.branches) {
+                rest.add(new ArrayList<>(alternative.subList(prefix, alternative.size())));
+            }
+            hoisted.add(Node.group("(?:", rest));
+            node.branches = new ArrayList<>(List.of(hoisted));
+        }
+    }
+
+    private static int commonPrefix(List<List<Node>> alternatives) {
+        int prefix = 0;
+        while (true) {
+            List<Node> first = alternatives.get(0);
+            if (prefix >= first.size()) {
+                return prefix;
+            }
+            for (List<Node> alternative : alternatives) {
+                if (prefix >= alternative.size() || !alternative.get(prefix).chars.equals(first.get(prefix).chars)) {
+                    return prefix;
+                }
+            }
+            prefix++;
+        }
+    }
+
+    /**
+     * First-character set of {@code branch} from index {@code from}, followed by {@code follow}.
+     * UNKNOWN whenever the next element could match the empty string or is zero-width.
+     */
+    private static CharSet firstAfter(List<Node> branch, int from, CharSet follow) {
+        if (from >= branch.size()) {
+            return follow;
+        }
+        Node node = branch.get(from);
+        if (node.canBeEmpty()) {
+            return CharSet.UNKNOWN;
+        }
+        if (node.kind == Node.Kind.ATOM) {
+            return node.chars;
+        }
+        if (node.kind != Node.Kind.GROUP || node.isLookaround()) {
+            return CharSet.UNKNOWN;
+        }
+        CharSet after = firstAfter(branch, from + 1, follow);
+        CharSet union = CharSet.EMPTY;
+        for (List<Node> alternative : node.branches) {
+            CharSet first = firstAfter(alternative, 0, after);
+            if (first == CharSet.UNKNOWN || first == CharSet.END) {
+                return CharSet.UNKNOWN;
+            }
+            union = union.union(first);
+        }
+        return union;
+    }
+
+    private static void appendBranches(List<List<Node>> branches, StringBuilder out) {
+        for (int b = 0; b < branches.size(); b++) {
+            if (b > 0) {
+                out.append('|');
+            }
+            for (Node node : branches.get(b)) {
+                node.appendTo(out);
+            }
+        }
+    }
+
+    // —— Model ——
+
+    private static final class Node {
+
+        enum Kind { ATOM, ZERO_WIDTH, GROUP }
+
+        Kind kind;
+        // ATOM and ZERO_WIDTH: source text; GROUP: the opening, e.g. "(?<amount>"
+        String text;
+        CharSet chars;
+        List<List<Node>> branches;
+        String quantifier = "";
+
+        static Node atom(String text, CharSet chars) {
+            Node node = new Node();
+            node.kind = Kind.ATOM;
+            node.text = text;
+            node.chars = chars;
+            return node;
+        }
+
+        static Node zeroWidth(String text) {
+            Node node = new Node();
+            node.kind = Kind.ZERO_WIDTH;
+            node.text = text;
+            return node;
+        }
+
+        static Node group(String open, List<List<Node>> branches) {
+            Node node = new Node();
+            node.kind = Kind.GROUP;
+            node.text = open;
+            node.branches = branches;
+            return node;
+        }
+
+        boolean isLookaround() {
+            return text.startsWith("(?=") || text.startsWith("(?!") || text.startsWith("(?<=") || text.startsWith("(?<!");
+        }
+
+        // Capturing, named or non-capturing - not atomic, not a lookaround
+        boolean isPlainGroup() {
+            return kind == Kind.GROUP && !isLookaround() && !text.equals("(?>");
+        }
+
+        boolean isPlainLiteral() {
+            return kind == Kind.ATOM && quantifier.isEmpty() && chars.isLiteral();
+        }
+
+        // Greedy or lazy, and not an exact count like {2} - those have nothing to give back
+        boolean isBacktrackingQuantifier() {
+            if (quantifier.isEmpty() || quantifier.length() > 1 && quantifier.endsWith("+")) {
+                return false;
+            }
+            return !quantifier.startsWith("{") || quantifier.contains(",");
+        }
+
+        boolean canBeEmpty() {
+            if (kind == Kind.ZERO_WIDTH || quantifier.startsWith("*") || quantifier.startsWith("?")) {
+                return true;
+            }
+            if (quantifier.startsWith("{")) {
+                return quantifier.startsWith("{0");
+            }
+            if (kind == Kind.GROUP) {
+                return branches.stream().anyMatch(branch -> branch.stream().allMatch(Node::canBeEmpty));
+            }
+            return false;
+        }
+
+        void appendTo(StringBuilder out) {
+            if (kind == Kind.GROUP) {
+                out.append(text);
+                appendBranches(branches, out);
+                out.append(')');
+            } else {
+                out.append(text);
+            }
+            out.append(quantifier);
+        }
+    }
+
+    /**
+     * Over-approximation of the characters an atom can match, case-insensitively:
+     * exact for ASCII, plus a flag for "may match some non-ASCII character".
+     */
+    static final class CharSet {
+
+        static final CharSet EMPTY = new CharSet(new BitSet(), false);
+        // Sentinels for firstAfter: the end of the regex, and "can't tell"
+        static final CharSet END = new CharSet(new BitSet(), false);
+        static final CharSet UNKNOWN = new CharSet(ascii(0, 127), true);
+
+        private final BitSet ascii;
+        private final boolean nonAscii;
+
+        private CharSet(BitSet ascii, boolean nonAscii) {
+            this.ascii = ascii;
+            this.nonAscii = nonAscii;
+        }
+
+        static CharSet of(char c) {
+            if (c > 127) {
+                return new CharSet(new BitSet(), true);
+            }
+            BitSet bits = new BitSet();
+            bits.set(c);
+            bits.set(otherCase(c));
+            return new CharSet(bits, false);
+        }
+
+        static CharSet range(char from, char to) {
+            if (to > 127) {
+                return new CharSet(ascii(from, 127), true);
+            }
+            BitSet bits = ascii(from, to);
+            for (int c = from; c <= to; c++) {
+                bits.set(otherCase((char) c));
+            }
+            return new CharSet(bits, false);
+        }
+
+        static CharSet shorthand(char escape) {
+            return switch (escape) {
+                case 'd' -> new CharSet(ascii('0', '9'), false);
+                case 'w' -> range('a', 'z').union(range('0', '9')).union(of('_'));
+                case 's' -> new CharSet(bits(' ', '\t', '\n', '\u000B', '\f', '\r'), false);
+                case 'D' -> shorthand('d').complement();
+                case 'W' -> shorthand('w').complement();
+                case 'S' -> shorthand('s').complement();
+                default -> UNKNOWN;
+            };
+        }
+
+        CharSet union(CharSet other) {
+            BitSet bits = (BitSet) ascii.clone();
+            bits.or(other.ascii);
+            return new CharSet(bits, nonAscii || other.nonAscii);
+        }
+
+        // Negation; the case closure keeps it an over-approximation under CASE_INSENSITIVE
+        CharSet complement() {
+            BitSet bits = ascii(0, 127);
+            bits.andNot(ascii);
+            for (int c = 'A'; c <= 'z'; c++) {
+                if (bits.get(c)) {
+                    bits.set(otherCase((char) c));
+                }
+            }
+            return new CharSet(bits, true);
+        }
+
+        boolean isDisjoint(CharSet other) {
+            return !ascii.intersects(other.ascii) && !(nonAscii && other.nonAscii);
+        }
+
+        // One character, up to case
+        boolean isLiteral() {
+            int count = ascii.cardinality();
+            return !nonAscii && (count == 1 || (count == 2 && Character.isLetter(ascii.nextSetBit(0))));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CharSet other && ascii.equals(other.ascii) && nonAscii == other.nonAscii;
+        }
+
+        @Override
+        public int hashCode() {
+            return ascii.hashCode() * 31 + (nonAscii ? 1 : 0);
+        }
+
+        private static char otherCase(char c) {
+            if (c >= 'a' && c <= 'z') {
+                return (char) (c - ('a' - 'A'));
+            }
+            return AhoCorasick.fold(c);
+        }
+
+        private static BitSet ascii(int from, int to) {
+            BitSet bits = new BitSet();
+            bits.set(from, to + 1);
+            return bits;
+        }
+
+        private static BitSet bits(char... chars) {
+            BitSet bits = new BitSet();
+            for (char c : chars) {
+                bits.set(c);
+            }
+            return bits;
+        }
+    }
+
+    // —— Parsing ——
+
+    private static final class Parser {
+
+        private final String regex;
+        private int pos;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        List<List<Node>> parse() {
+            List<List<Node>> branches = parseBranches();
+            if (pos != regex.length()) {
+                throw new UnsupportedRegexException();
+            }
+            return branches;
+        }
+
+        private List<List<Node>> parseBranches() {
+            List<List<Node>> branches = new ArrayList<>();
+            List<Node> branch = new ArrayList<>();
+            branches.add(branch);
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                if (c == ')') {
+                    break;
+                }
+                if (c == '|') {
+                    pos++;
+                    branch = new ArrayList<>();
+                    branches.add(branch);
+                    continue;
+                }
+                Node node = parseElement();
+                if (node != null) {
+                    node.quantifier = parseQuantifier();
+                    if (!node.quantifier.isEmpty() && node.kind == Node.Kind.ZERO_WIDTH) {
+                        throw new UnsupportedRegexException();
+                    }
+                    branch.add(node);
+                }
+            }
+            return branches;
+        }
+
+        private Node parseElement() {
+            char c = regex.charAt(pos);
+            switch (c) {
+                case '(' -> {
+                    return parseGroup();
+                }
+                case '[' -> {
+                    int start = pos;
+                    CharSet chars = parseClass();
+                    return Node.atom(regex.substring(start, pos), chars);
+                }
+                case '\\' -> {
+                    return parseEscape();
+                }
+                case '.' -> {
+                    pos++;
+                    return Node.atom(".", CharSet.UNKNOWN);
+                }
+                case '^', '$' -> {
+                    pos++;
+                    return Node.zeroWidth(String.valueOf(c));
+                }
+                case '*', '+', '?', '{' -> throw new UnsupportedRegexException();
+                default -> {
+                    pos++;
+                    return Node.atom(String.valueOf(c), CharSet.of(c));
+                }
+            }
+        }
+
+        private Node parseEscape() {
+            char e = regex.charAt(pos + 1);
+            String text = regex.substring(pos, pos + 2);
+            pos += 2;
+            if ("dwsDWS".indexOf(e) >= 0) {
+                return Node.atom(text, CharSet.shorthand(e));
+            }
+            if ("bBAzZG".indexOf(e) >= 0) {
+                return Node.zeroWidth(text);
+            }
+            char control = switch (e) {
+                case 't' -> '\t';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 'f' -> '\f';
+                default -> 0;
+            };
+            if (control != 0) {
+                return Node.atom(text, CharSet.of(control));
+            }
+            if (Character.isLetterOrDigit(e)) {
+                // Back-references, \Q, \p{..}, hex and unicode escapes - not worth modelling
+                throw new UnsupportedRegexException();
+            }
+            return Node.atom(text, CharSet.of(e));
+        }
+
+        private Node parseGroup() {
+            int start = pos;
+            pos++;
+            if (regex.startsWith("?", pos)) {
+                if (regex.startsWith("?:", pos) || regex.startsWith("?>", pos)
+                        || regex.startsWith("?=", pos) || regex.startsWith("?!", pos)) {
+                    pos += 2;
+                } else if (regex.startsWith("?<=", pos) || regex.startsWith("?<!", pos)) {
+                    pos += 3;
+                } else if (regex.startsWith("?<", pos)) {
+                    pos = regex.indexOf('>', pos) + 1;
+                    if (pos <= 0) {
+                        throw new UnsupportedRegexException();
+                    }
+                } else if (regex.startsWith("?i)", pos)) {
+                    // Case-insensitive is always on - drop the redundant flag
+                    pos += 3;
+                    return null;
+                } else if (regex.startsWith("?i:", pos)) {
+                    pos += 3;
+                } else {
+                    // Other inline flags change what atoms match
+                    throw new UnsupportedRegexException();
+                }
+            }
+            String open = regex.substring(start, pos);
+            if (open.equals("(?i:")) {
+                open = "(?:";
+            }
+            List<List<Node>> branches = parseBranches();
+            if (pos >= regex.length() || regex.charAt(pos) != ')') {
+                throw new UnsupportedRegexException();
+            }
+            pos++;
+            return Node.group(open, branches);
+        }
+
+        private String parseQuantifier() {
+            if (pos >= regex.length()) {
+                return "";
+            }
+            int start = pos;
+            char c = regex.charAt(pos);
+            if (c == '*' || c == '+' || c == '?') {
+                pos++;
+            } else if (c == '{') {
+                int end = regex.indexOf('}', pos);
+                if (end < 0) {
+                    throw new UnsupportedRegexException();
+                }
+                pos = end + 1;
+            } else {
+                return "";
+            }
+            if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+                pos++;
+            }
+            return regex.substring(start, pos);
+        }
+
+        // Simple classes only: literals, ranges, escapes and \d\w\s; anything else is UNKNOWN
+        private CharSet parseClass() {
+            pos++; // '['
+            boolean negated = false;
+            if (regex.charAt(pos) == '^') {
+                negated = true;
+                pos++;
+            }
+            CharSet chars = CharSet.EMPTY;
+            boolean first = true;
+            while (regex.charAt(pos) != ']' || first) {
+                first = false;
+                char c = regex.charAt(pos);
+                if (c == '[' || (c == '&' && regex.startsWith("&&", pos))) {
+                    skipRestOfClass();
+                    return CharSet.UNKNOWN;
+                }
+                char low;
+                if (c == '\\') {
+                    char e = regex.charAt(pos + 1);
+                    pos += 2;
+                    if ("dwsDWS".indexOf(e) >= 0) {
+                        chars = chars.union(CharSet.shorthand(e));
+                        continue;
+                    }
+                    if (Character.isLetterOrDigit(e)) {
+                        skipRestOfClass();
+                        return CharSet.UNKNOWN;
+                    }
+                    low = e;
+                } else {
+                    low = c;
+                    pos++;
+                }
+                if (regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+                    char high = regex.charAt(pos + 1);
+                    if (high == '\\' || high == '[') {
+                        skipRestOfClass();
+                        return CharSet.UNKNOWN;
+                    }
+                    pos += 2;
+                    chars = chars.union(CharSet.range(low, high));
+                } else {
+                    chars = chars.union(CharSet.of(low));
+                }
+            }
+            pos++; // ']'
+            return negated ? chars.complement() : chars;
+        }
+
+        private void skipRestOfClass() {
+            int depth = 1;
+            while (depth > 0) {
+                char c = regex.charAt(pos++);
+                if (c == '\\') {
+                    pos++;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']') {
+                    depth--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.piggy.parser;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-pattern time budget for regex matching. Every match runs against a
+ * {@link DeadlineCharSequence}; a pattern that goes over budget is abandoned for
+ * that SMS, and after repeated timeouts it is quarantined (skipped by the parser)
+ * until it is saved or approved again - so one catastrophically backtracking
+ * pattern can't pin request threads for a whole bank.
+ */
+public class RegexTimeGuard {
+
+    private final long budgetMillis;
+    private final int quarantineAfter;
+    private final Map<Long, AtomicInteger> timeoutsByPattern = new ConcurrentHashMap<>();
+    private final Set<Long> quarantined = ConcurrentHashMap.newKeySet();
+    private final LongAdder timeouts = new LongAdder();
+
+    public RegexTimeGuard(long budgetMillis, int quarantineAfter) {
+        this.budgetMillis = budgetMillis;
+        this.quarantineAfter = quarantineAfter;
+    }
+
+    /**
+     * Wrap the SMS for one match attempt; the budget starts now.
+     */
+    public CharSequence guard(CharSequence sms) {
+        return new DeadlineCharSequence(sms, budgetMillis);
+    }
+
+    public boolean isQuarantined(Long patternId) {
+        return patternId != null && quarantined.contains(patternId);
+    }
+
+    /**
+     * Count a timeout of this pattern and quarantine it once it reached the limit.
+     */
+    public void recordTimeout(PatternDefinition pattern) {
+        timeouts.increment();
+        System.out.println("⚠ Regex of pattern " + pattern.getId() + " exceeded " + budgetMillis
+                + " ms for bank address: " + pattern.getBankAddress());
+        if (pattern.getId() == null) {
+            return;
+        }
+        int count = timeoutsByPattern.computeIfAbsent(pattern.getId(), id -> new AtomicInteger()).incrementAndGet();
+        if (count >= quarantineAfter && quarantined.add(pattern.getId())) {
+            System.out.println("✗ Pattern " + pattern.getId() + " quarantined after " + count + " timeouts");
+        }
+    }
+
+    /**
+     * Give a pattern a clean slate, e.g. after its regex was edited or it was approved again.
+     */
+    public void release(Long patternId) {
+        if (patternId != null) {
+            timeoutsByPattern.remove(patternId);
+            quarantined.remove(patternId);
+        }
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public Set<Long> getQuarantinedPatternIds() {
+        return Set.copyOf(quarantined);
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+}
@@ -0,0 +1,12 @@
+package com.piggy.parser;
+
+/**
+ * Thrown from inside {@code Matcher.find()} when a regex runs past its time budget.
+ * Carries no stack trace - it is expected, caught right away and only counted.
+ */
+public class RegexTimeoutException extends RuntimeException {
+
+    public RegexTimeoutException(long budgetMillis) {
+        super("Regex exceeded its time budget of " + budgetMillis + " ms", null, false, false);
+    }
+}
@@ -0,0 +1,177 @@
+package com.piggy.parser;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hand-written parsers for the date formats banks use in SMS. Each reads a region of the
+ * SMS directly and returns null instead of throwing, so a miss costs a few char compares
+ * rather than a DateTimeParseException. Month names are English and case-insensitive;
+ * two-digit years are 20xx and an out-of-range day is clamped to the end of the month
+ * (the same result as DateTimeFormatter's SMART resolver).
+ */
+public enum SmsDateFormat {
+    D_MMM_YY("d-MMM-yy", "dd-MMM-yy") {
+        @Override
+        LocalDate parseTrimmed(CharSequence s, int start, int end) {
+            int dayLength = s.charAt(start + 1) == '-' ? 1 : 2;
+            int day = digits(s, start, dayLength);
+            int p = start + dayLength;
+            if (day < 0 || end - p != 7 || s.charAt(p) != '-' || s.charAt(p + 4) != '-') {
+                return null;
+            }
+            return date(twoDigitYear(s, p + 5), month(s, p + 1), day);
+        }
+    },
+    DD_MM_YY("dd/MM/yy") {
+        @Override
+        LocalDate parseTrimmed(CharSequence s, int start, int end) {
+            if (end - start != 8 || s.charAt(start + 2) != '/' || s.charAt(start + 5) != '/') {
+                return null;
+            }
+            return date(twoDigitYear(s, start + 6), digits(s, start + 3, 2), digits(s, start, 2));
+        }
+    },
+    YYYY_MM_DD("yyyy-MM-dd") {
+        @Override
+        LocalDate parseTrimmed(CharSequence s, int start, int end) {
+            if (end - start != 10 || s.charAt(start + 4) != '-' || s.charAt(start + 7) != '-') {
+                return null;
+            }
+            return date(digits(s, start, 4), digits(s, start + 5, 2), digits(s, start + 8, 2));
+        }
+    },
+    D_MMM_YYYY("d-MMM-yyyy", "dd-MMM-yyyy") {
+        @Override
+        LocalDate parseTrimmed(CharSequence s, int start, int end) {
+            int dayLength = s.charAt(start + 1) == '-' ? 1 : 2;
+            int day = digits(s, start, dayLength);
+            int p = start + dayLength;
+            if (day < 0 || end - p != 9 || s.charAt(p) != '-' || s.charAt(p + 4) != '-') {
+                return null;
+            }
+            return date(digits(s, p + 5, 4), month(s, p + 1), day);
+        }
+    },
+    DMMMYY("dMMMyy", "ddMMMyy") {
+        @Override
+        LocalDate parseTrimmed(CharSequence s, int start, int end) {
+            int dayLength = end - start - 5;
+            if (dayLength != 1 && dayLength != 2) {
+                return null;
+            }
+            return date(twoDigitYear(s, end - 2), month(s, start + dayLength), digits(s, start, dayLength));
+        }
+    };
+
+    private static final String[] MONTHS = {
+            "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"
+    };
+
+    private static final Map<String, SmsDateFormat> BY_PATTERN = new HashMap<>();
+    private static final Map<String, DateTimeFormatter> CUSTOM_FORMATTERS = new ConcurrentHashMap<>();
+
+    static {
+        for (SmsDateFormat format : values()) {
+            for (String pattern : format.patterns) {
+                BY_PATTERN.put(pattern, format);
+            }
+        }
+    }
+
+    private final String[] patterns;
+
+    SmsDateFormat(String... patterns) {
+        this.patterns = patterns;
+    }
+
+    /**
+     * The DateTimeFormatter-style pattern this format corresponds to.
+     */
+    public String getPattern() {
+        return patterns[0];
+    }
+
+    /**
+     * Find the built-in format for a DateTimeFormatter-style pattern such as "dd-MMM-yy", or null.
+     */
+    public static SmsDateFormat forPattern(String pattern) {
+        return pattern == null ? null : BY_PATTERN.get(pattern.trim());
+    }
+
+    /**
+     * Parse {@code text[start, end)} (surrounding whitespace ignored), or return null if it is not in this format.
+     */
+    public LocalDate parse(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start < 6) {
+            return null;
+        }
+        return parseTrimmed(text, start, end);
+    }
+
+    abstract LocalDate parseTrimmed(CharSequence text, int start, int end);
+
+    // Non-negative value of count ASCII digits, or -1
+    private static int digits(CharSequence s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // "yy" resolves to 20yy, like DateTimeFormatter's default base year
+    private static int twoDigitYear(CharSequence s, int start) {
+        int yy = digits(s, start, 2);
+        return yy < 0 ? -1 : 2000 + yy;
+    }
+
+    // 1-12 for an English three-letter month abbreviation, or -1
+    private static int month(CharSequence s, int start) {
+        char a = AhoCorasick.fold(s.charAt(start));
+        char b = AhoCorasick.fold(s.charAt(start + 1));
+        char c = AhoCorasick.fold(s.charAt(start + 2));
+        for (int m = 0; m < MONTHS.length; m++) {
+            String name = MONTHS[m];
+            if (name.charAt(0) == a && name.charAt(1) == b && name.charAt(2) == c) {
+                return m + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static LocalDate date(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        return LocalDate.of(year, month, Math.min(day, YearMonth.of(year, month).lengthOfMonth()));
+    }
+
+    /**
+     * Case-insensitive English formatter for a custom (non built-in) pattern, built once per pattern string.
+     *
+     * @throws IllegalArgumentException if the pattern is not a valid DateTimeFormatter pattern
+     */
+    public static DateTimeFormatter customFormatter(String pattern) {
+        return CUSTOM_FORMATTERS.computeIfAbsent(pattern, p -> new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendPattern(p)
+                .toFormatter(Locale.ENGLISH));
+    }
+}
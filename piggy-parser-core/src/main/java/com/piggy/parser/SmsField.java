@@ -0,0 +1,24 @@
+package com.piggy.parser;
+
+/**
+ * Named capture groups the parser understands (see "Supported Regex Groups" in the README).
+ */
+public enum SmsField {
+    ACCOUNT_NUMBER("accountNumber"),
+    TYPE("type"),
+    AMOUNT("amount"),
+    MERCHANT("merchant"),
+    DATE("date"),
+    BALANCE("balance"),
+    REF_NUMBER("refNumber");
+
+    private final String groupName;
+
+    SmsField(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+}
@@ -0,0 +1,87 @@
+package com.piggy.parser;
+
+/**
+ * Template fingerprint of an SMS. Digit runs (together with the ',' and '.'
+ * inside numbers such as "2,500.00") collapse to one placeholder, whitespace
+ * runs to a single space, and ASCII letters are case-folded - so two SMS from
+ * the same bank template with different amounts, dates, account or reference
+ * numbers share a fingerprint.
+ * <p>
+ * Computed in one pass as a 64-bit FNV-1a hash (one step per char), without building the skeleton string.
+ */
+public final class SmsFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final char NUMBER = '#';
+    private static final char SPACE = ' ';
+
+    private SmsFingerprint() {
+    }
+
+    public static long of(CharSequence sms) {
+        int start = 0;
+        int end = sms.length();
+        while (start < end && Character.isWhitespace(sms.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(sms.charAt(end - 1))) {
+            end--;
+        }
+
+        long hash = FNV_OFFSET_BASIS;
+        boolean inNumber = false;
+        boolean inSpace = false;
+        for (int i = start; i < end; i++) {
+            char c = sms.charAt(i);
+            if (isDigit(c)) {
+                if (!inNumber) {
+                    hash = mix(hash, NUMBER);
+                }
+                inNumber = true;
+                inSpace = false;
+                continue;
+            }
+            if (inNumber && (c == ',' || c == '.') && i + 1 < end && isDigit(sms.charAt(i + 1))) {
+                continue;
+            }
+            inNumber = false;
+            if (Character.isWhitespace(c)) {
+                if (!inSpace) {
+                    hash = mix(hash, SPACE);
+                }
+                inSpace = true;
+                continue;
+            }
+            inSpace = false;
+            hash = mix(hash, AhoCorasick.fold(c));
+        }
+        return hash;
+    }
+
+    /**
+     * Stricter fingerprint for "no pattern parses this" entries: every digit becomes the
+     * placeholder on its own (so digit-run lengths count) and everything else, whitespace
+     * and separators included, is kept as is - only letters are case-folded, as the
+     * patterns match case-insensitively. A regex can tell "5-Jan-24" from "15-Jan-24", so
+     * they must not share a negative entry; two SMS with the same shape match the same
+     * patterns as long as those match digits by class ({@code \d}) rather than literally.
+     */
+    public static long shapeOf(CharSequence sms) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < sms.length(); i++) {
+            char c = sms.charAt(i);
+            hash = mix(hash, isDigit(c) ? NUMBER : AhoCorasick.fold(c));
+        }
+        return hash;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long mix(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+}
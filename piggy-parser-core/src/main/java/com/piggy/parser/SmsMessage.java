@@ -0,0 +1,7 @@
+package com.piggy.parser;
+
+/**
+ * One SMS of a batch handed to {@link SmsParser#parseAll}, with the sender address of its bank.
+ */
+public record SmsMessage(String sms, String bankAddress) {
+}
@@ -0,0 +1,442 @@
+package com.piggy.parser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.stream.Stream;
+
+/**
+ * Matches an SMS against the approved patterns of its bank and extracts the transaction
+ * fields. Plain Java with no container: the backend wraps it in a Spring component,
+ * batch jobs and benchmarks can construct it directly.
+ */
+public class SmsParser {
+
+    // Smaller batches are parsed on the calling thread - forking would cost more than it saves
+    static final int PARALLEL_THRESHOLD = 32;
+    // SMS per forked task
+    private static final int SPLIT_SIZE = 16;
+
+    private final PatternRegistry<? extends PatternDefinition> patternRegistry;
+    private final CompiledPatternCache compiledPatternCache;
+    private final PatternHitStats hitStats;
+    private final TemplateFingerprintCache templateCache;
+    private final RegexTimeGuard regexTimeGuard;
+    private final ForkJoinPool batchPool;
+
+    /**
+     * Parser whose {@link #parseAll} batches run on the common ForkJoin pool.
+     */
+    public SmsParser(PatternRegistry<? extends PatternDefinition> patternRegistry,
+                     CompiledPatternCache compiledPatternCache,
+                     PatternHitStats hitStats,
+                     TemplateFingerprintCache templateCache,
+                     RegexTimeGuard regexTimeGuard) {
+        this(patternRegistry, compiledPatternCache, hitStats, templateCache, regexTimeGuard, ForkJoinPool.commonPool());
+    }
+
+    public SmsParser(PatternRegistry<? extends PatternDefinition> patternRegistry,
+                     CompiledPatternCache compiledPatternCache,
+                     PatternHitStats hitStats,
+                     TemplateFingerprintCache templateCache,
+                     RegexTimeGuard regexTimeGuard,
+                     ForkJoinPool batchPool) {
+        this.patternRegistry = patternRegistry;
+        this.compiledPatternCache = compiledPatternCache;
+        this.hitStats = hitStats;
+        this.templateCache = templateCache;
+        this.regexTimeGuard = regexTimeGuard;
+        this.batchPool = batchPool;
+    }
+
+    /**
+     * Parse one SMS; null if no approved pattern of the bank produces a transaction.
+     */
+    public ParsedTransaction parse(String sms, String bankAddress) {
+        // In-memory lookup - no DB query per SMS
+        return parse(sms, bankAddress, patternRegistry.getBank(bankAddress));
+    }
+
+    /**
+     * Parse a batch of SMS across the batch pool. The result has one outcome per message,
+     * in input order; a message that fails doesn't affect the others.
+     * <p>
+     * Messages are grouped by bank first, so each bank's pattern set is looked up and its
+     * regexes compiled once for the whole batch rather than once per SMS.
+     */
+    public List<ParseOutcome<ParsedTransaction>> parseAll(List<SmsMessage> messages) {
+        return parseAll(messages, Function.identity());
+    }
+
+    /**
+     * {@link #parseAll(List)} with each parsed transaction converted by {@code mapper} inside the
+     * same batch task, right after it is parsed. The mapper may block (a remote categorisation
+     * call, say): at most one call per pool thread is in flight. A mapper failure turns that
+     * message's outcome into {@link ParseOutcome.Status#FAILED}.
+     */
+    public <T> List<ParseOutcome<T>> parseAll(List<SmsMessage> messages,
+                                              Function<? super ParsedTransaction, ? extends T> mapper) {
+        // Filled in by index, each slot by exactly one task
+        List<ParseOutcome<T>> outcomes = new ArrayList<>(Collections.nCopies(messages.size(), null));
+
+        Map<String, List<Integer>> byBank = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            SmsMessage message = messages.get(i);
+            if (message == null || message.sms() == null || message.sms().isBlank()) {
+                outcomes.set(i, ParseOutcome.failed("SMS is empty"));
+            } else if (message.bankAddress() == null || message.bankAddress().isBlank()) {
+                outcomes.set(i, ParseOutcome.failed("Bank address is required"));
+            } else {
+                byBank.computeIfAbsent(message.bankAddress(), address -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Laid out bank by bank, so neighbouring tasks share patterns and template cache entries
+        int[] items = new int[messages.size()];
+        BankPatternSet<?>[] banks = new BankPatternSet<?>[messages.size()];
+        int count = 0;
+        for (Map.Entry<String, List<Integer>> group : byBank.entrySet()) {
+            BankPatternSet<? extends PatternDefinition> bank = patternRegistry.getBank(group.getKey());
+            if (bank.getPatterns().isEmpty()) {
+                System.out.println("⚠ No approved patterns found for bank address: " + group.getKey()
+                        + " (" + group.getValue().size() + " SMS)");
+                for (int i : group.getValue()) {
+                    outcomes.set(i, ParseOutcome.unparsed("No approved patterns for bank address: " + group.getKey()));
+                }
+                continue;
+            }
+            precompile(bank);
+            for (int i : group.getValue()) {
+                items[count] = i;
+                banks[count] = bank;
+                count++;
+            }
+        }
+
+        BatchTask<T> task = new BatchTask<>(new Batch<>(messages, items, banks, mapper, outcomes), 0, count);
+        if (count < PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            batchPool.invoke(task);
+        }
+        return List.copyOf(outcomes);
+    }
+
+    /**
+     * {@link #parseAll(List)} for a stream of messages; the stream is consumed before parsing starts.
+     */
+    public List<ParseOutcome<ParsedTransaction>> parseAll(Stream<SmsMessage> messages) {
+        return parseAll(messages.toList());
+    }
+
+    // Compile every pattern of the bank up front, so the batch's threads don't race to compile the same regex
+    private void precompile(BankPatternSet<? extends PatternDefinition> bank) {
+        for (PatternDefinition pattern : bank.getPatterns()) {
+            try {
+                compiledPatternCache.get(pattern);
+            } catch (RuntimeException e) {
+                // Reported per SMS when the pattern is tried
+            }
+        }
+    }
+
+    private ParseOutcome<ParsedTransaction> parseOne(SmsMessage message, BankPatternSet<? extends PatternDefinition> bank) {
+        try {
+            ParsedTransaction transaction = parse(message.sms(), message.bankAddress(), bank);
+            return transaction != null
+                    ? ParseOutcome.parsed(transaction)
+                    : ParseOutcome.unparsed("No matching pattern found for SMS from bank address: " + message.bankAddress());
+        } catch (RuntimeException e) {
+            System.out.println("✗ Failed to parse SMS from bank address " + message.bankAddress() + ": " + e.getMessage());
+            return ParseOutcome.failed("Failed to parse SMS: " + e.getMessage());
+        }
+    }
+
+    private record Batch<T>(List<SmsMessage> messages, int[] items, BankPatternSet<?>[] banks,
+                            Function<? super ParsedTransaction, ? extends T> mapper,
+                            List<ParseOutcome<T>> outcomes) {
+    }
+
+    // Splits [from, to) of the batch's items in halves down to SPLIT_SIZE; each SMS's outcome goes to its input index
+    private final class BatchTask<T> extends RecursiveAction {
+
+        private final Batch<T> batch;
+        private final int from;
+        private final int to;
+
+        BatchTask(Batch<T> batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask<>(batch, from, middle), new BatchTask<>(batch, middle, to));
+                return;
+            }
+            for (int k = from; k < to; k++) {
+                int i = batch.items()[k];
+                batch.outcomes().set(i, parseOne(batch.messages().get(i), batch.banks()[k]).map(batch.mapper()));
+            }
+        }
+    }
+
+    private ParsedTransaction parse(String sms, String bankAddress, BankPatternSet<? extends PatternDefinition> bank) {
+        List<? extends PatternDefinition> approvedPatterns = bank.getPatterns();
+
+        if (approvedPatterns.isEmpty()) {
+            System.out.println("⚠ No approved patterns found for bank address: " + bankAddress);
+            return null;
+        }
+
+        bank.recordParse(hitStats);
+        int attempts = 0;
+
+        // Same template as an earlier SMS - try the pattern that parsed it first
+        long fingerprint = SmsFingerprint.of(sms);
+        int known = bank.indexOf(templateCache.get(bankAddress, fingerprint, bank));
+        // Set when a pattern timed out or was skipped in quarantine: its "no match" proves nothing
+        boolean inconclusive = false;
+        if (known >= 0) {
+            attempts++;
+            Attempt attempt = tryPattern(sms, bankAddress, approvedPatterns.get(known));
+            if (attempt.transaction() != null) {
+                hitStats.recordHit(approvedPatterns.get(known).getId());
+                hitStats.recordParse(attempts);
+                return attempt.transaction();
+            }
+            inconclusive = attempt.inconclusive();
+            templateCache.remove(bankAddress, fingerprint);
+        } else if (templateCache.isKnownUnparseable(bankAddress, SmsFingerprint.shapeOf(sms), bank)) {
+            // No pattern of this bank parsed the template before, and the patterns haven't changed since
+            hitStats.recordParse(attempts);
+            System.out.println("⚠ Known unparseable SMS template for bank address: " + bankAddress);
+            return null;
+        }
+
+        // One linear scan for the literal anchors - only patterns whose literals all occur can match
+        BitSet candidates = bank.getPrefilter().candidates(sms);
+
+        // Priority first, then the patterns that matched most often for this bank
+        for (int i : bank.getOrder()) {
+            if (!candidates.get(i) || i == known) {
+                continue;
+            }
+            PatternDefinition pattern = approvedPatterns.get(i);
+            attempts++;
+            Attempt attempt = tryPattern(sms, bankAddress, pattern);
+            if (attempt.transaction() != null) {
+                templateCache.put(bankAddress, fingerprint, bank, pattern.getId());
+                hitStats.recordHit(pattern.getId());
+                hitStats.recordParse(attempts);
+                return attempt.transaction();
+            }
+            inconclusive |= attempt.inconclusive();
+        }
+
+        // Keyed by the exact shape: a template-level entry would also reject SMS whose digit runs differ in length.
+        // Not remembered when a pattern timed out or was quarantined - it may well match once it runs
+        if (!inconclusive) {
+            templateCache.putUnparseable(bankAddress, SmsFingerprint.shapeOf(sms), bank);
+        }
+        hitStats.recordParse(attempts);
+        System.out.println("⚠ No matching pattern found for SMS from bank address: " + bankAddress);
+        return null;
+    }
+
+    // Result of running one pattern; inconclusive when it wasn't run to the end (timeout or quarantine)
+    private record Attempt(ParsedTransaction transaction, boolean inconclusive) {
+        static final Attempt MISS = new Attempt(null, false);
+        static final Attempt INCONCLUSIVE = new Attempt(null, true);
+    }
+
+    // Run one pattern against the SMS; no transaction if it doesn't match, runs out of time or lacks required fields
+    private Attempt tryPattern(String sms, String bankAddress, PatternDefinition pattern) {
+        if (regexTimeGuard.isQuarantined(pattern.getId())) {
+            return Attempt.INCONCLUSIVE;
+        }
+        // Compiled once per pattern version, not once per SMS
+        CompiledPattern compiled = compiledPatternCache.get(pattern);
+        Matcher matcher = compiled.getRegex().matcher(regexTimeGuard.guard(sms));
+        try {
+            if (!matcher.find()) {
+                return Attempt.MISS;
+            }
+        } catch (RegexTimeoutException e) {
+            regexTimeGuard.recordTimeout(pattern);
+            return Attempt.INCONCLUSIVE;
+        }
+
+        System.out.println("✓ Pattern matched for bank address: " + bankAddress);
+        ParsedTransaction transaction = buildTransaction(sms, matcher, compiled, pattern);
+
+        // If transaction is null, pattern didn't have required fields (like amount)
+        // Continue to try other patterns
+        if (transaction == null) {
+            System.out.println("⚠ Pattern matched but transaction build failed - trying next pattern");
+            return Attempt.MISS;
+        }
+        return new Attempt(transaction, false);
+    }
+
+    /**
+     * Set pattern fields from the pattern definition only (never from regex).
+     * Fill only extracted fields from matcher; do not override anything that comes from the pattern.
+     * Groups are read by index via the pattern's precomputed schema - a missing group is simply null.
+     */
+    private static ParsedTransaction buildTransaction(String sms, Matcher matcher, CompiledPattern compiled, PatternDefinition pattern) {
+        ParsedTransaction transaction = new ParsedTransaction();
+        GroupSchema groups = compiled.getGroups();
+
+        // Store original SMS for intelligent type detection
+        String smsContent = matcher.group(0); // Full matched text
+        transaction.setMatchedText(smsContent);
+        transaction.setPatternId(pattern.getId());
+
+        // —— From the pattern definition only (never overridden by regex) ——
+        transaction.setBankAddress(pattern.getBankAddress());
+        transaction.setBankName(pattern.getBankName());
+
+        // —— From regex extraction only (fields not in the pattern definition) ——
+        transaction.setAccountNumber(groups.get(matcher, SmsField.ACCOUNT_NUMBER));
+
+        // Determine transaction type first
+        // No type in regex (or empty capture) - intelligently determine from SMS content
+        TransactionType transactionType = normalizeType(groups.get(matcher, SmsField.TYPE), smsContent);
+        transaction.setType(transactionType);
+
+        // Extract amount - optional for ALERT/REMINDER, required for DEBITED/CREDITED
+        // Parsed straight from the SMS region into paise - no intermediate strings
+        int amountGroup = groups.indexOf(SmsField.AMOUNT);
+        if (amountGroup >= 0 && AmountParser.isBlank(sms, matcher.start(amountGroup), matcher.end(amountGroup))) {
+            System.out.println("⚠ Amount field is empty or null - pattern may be for notification/alert message");
+            // Don't set amount - leave it null (okay for ALERT/REMINDER)
+        } else {
+            long amountPaise = amountGroup >= 0
+                    ? AmountParser.parseMinorUnits(sms, matcher.start(amountGroup), matcher.end(amountGroup))
+                    : AmountParser.INVALID;
+            if (amountPaise != AmountParser.INVALID) {
+                transaction.setAmount(AmountParser.toBigDecimal(amountPaise));
+            } else {
+                // Amount group doesn't exist in pattern (or didn't capture a number)
+                System.out.println("⚠ Amount group not found in pattern - checking if this is an alert/reminder");
+
+                // If it's ALERT or REMINDER, missing amount is acceptable
+                if (transactionType == TransactionType.ALERT || transactionType == TransactionType.REMINDER) {
+                    System.out.println("✓ Type is ALERT/REMINDER - continuing without amount");
+                    // Leave amount as null - this is fine for alerts/reminders
+                } else {
+                    // For DEBITED/CREDITED, amount is required
+                    System.out.println("✗ Type is DEBITED/CREDITED but no amount found - invalid transaction pattern");
+                    return null;
+                }
+            }
+        }
+
+        // Extract merchant name
+        String extractedMerchant = groups.get(matcher, SmsField.MERCHANT);
+        String merchant = extractedMerchant != null ? extractedMerchant.trim() : "Unknown";
+        transaction.setMerchant(merchant);
+
+        int dateGroup = groups.indexOf(SmsField.DATE);
+        LocalDate date = dateGroup >= 0 && matcher.start(dateGroup) >= 0
+                ? parseDate(sms, matcher.start(dateGroup), matcher.end(dateGroup), pattern, compiled)
+                : null;
+        transaction.setDate(date != null ? date.atStartOfDay() : LocalDateTime.now());
+
+        int balanceGroup = groups.indexOf(SmsField.BALANCE);
+        if (balanceGroup >= 0) {
+            long balancePaise = AmountParser.parseMinorUnits(sms, matcher.start(balanceGroup), matcher.end(balanceGroup));
+            if (balancePaise != AmountParser.INVALID) {
+                transaction.setBalance(AmountParser.toBigDecimal(balancePaise));
+            }
+        }
+
+        String refNumber = groups.get(matcher, SmsField.REF_NUMBER);
+        if (!isBlank(refNumber)) {
+            transaction.setRefNumber(refNumber.trim());
+        }
+
+        return transaction;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static TransactionType normalizeType(String type, String smsContent) {
+        if (type == null || type.isBlank()) {
+            // No type specified in regex - intelligently detect from content
+            return TransactionTypeClassifier.classify(smsContent);
+        }
+        String u = type.toUpperCase();
+        if (u.contains("CREDIT") || "CREDITED".equals(u) || u.contains("RECEIVED")) return TransactionType.CREDITED;
+        if (u.contains("SPENT") || u.contains("DEBIT") || "DEBITED".equals(u) || 
+            u.contains("USED") || u.contains("CHARGED") || u.contains("WITHDRAWN")) return TransactionType.DEBITED;
+        if (u.contains("ALERT") || "ALERT".equals(u)) return TransactionType.ALERT;
+        if (u.contains("REMINDER") || "REMINDER".equals(u)) return TransactionType.REMINDER;
+        // If type is specified but not recognized, check content
+        return TransactionTypeClassifier.classify(smsContent);
+    }
+
+    /**
+     * Parse the date region of the SMS without trial-and-error exceptions:
+     * 1) the format declared on the pattern, 2) the format learned from an earlier SMS,
+     * 3) each built-in bank format in turn - the first one that works is remembered.
+     * Returns null if no format matches.
+     */
+    private static LocalDate parseDate(String sms, int start, int end, PatternDefinition pattern, CompiledPattern compiled) {
+        String declared = pattern.getDateFormat();
+        if (declared != null && !declared.isBlank()) {
+            SmsDateFormat builtIn = SmsDateFormat.forPattern(declared);
+            LocalDate date = builtIn != null
+                    ? builtIn.parse(sms, start, end)
+                    : parseCustomDate(sms.substring(start, end).trim(), declared);
+            if (date != null) {
+                return date;
+            }
+        }
+
+        SmsDateFormat learned = compiled.getLearnedDateFormat();
+        if (learned != null) {
+            LocalDate date = learned.parse(sms, start, end);
+            if (date != null) {
+                return date;
+            }
+        }
+
+        for (SmsDateFormat format : SmsDateFormat.values()) {
+            if (format == learned) {
+                continue;
+            }
+            LocalDate date = format.parse(sms, start, end);
+            if (date != null) {
+                compiled.setLearnedDateFormat(format);
+                return date;
+            }
+        }
+        return null;
+    }
+
+    // Custom formats are declared explicitly by the maker, so a miss here is rare
+    private static LocalDate parseCustomDate(String dateStr, String declared) {
+        try {
+            return LocalDate.parse(dateStr, SmsDateFormat.customFormatter(declared));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
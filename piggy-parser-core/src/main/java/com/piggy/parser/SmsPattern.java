@@ -0,0 +1,59 @@
+package com.piggy.parser;
+
+/**
+ * Plain {@link PatternDefinition} for running the parser without the backend,
+ * e.g. from a batch job or a benchmark. Approved unless set otherwise.
+ */
+public class SmsPattern implements PatternDefinition {
+
+    private Long id;
+    private String bankAddress;
+    private String bankName;
+    private String regexPattern;
+    private String optimizedRegex;
+    private String dateFormat;
+    private Integer priority;
+    private boolean approved = true;
+
+    public SmsPattern() {
+    }
+
+    public SmsPattern(Long id, String bankAddress, String bankName, String regexPattern) {
+        this.id = id;
+        this.bankAddress = bankAddress;
+        this.bankName = bankName;
+        this.regexPattern = regexPattern;
+    }
+
+    @Override
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    @Override
+    public String getBankAddress() { return bankAddress; }
+    public void setBankAddress(String bankAddress) { this.bankAddress = bankAddress; }
+
+    @Override
+    public String getBankName() { return bankName; }
+    public void setBankName(String bankName) { this.bankName = bankName; }
+
+    @Override
+    public String getRegexPattern() { return regexPattern; }
+    public void setRegexPattern(String regexPattern) { this.regexPattern = regexPattern; }
+
+    @Override
+    public String getOptimizedRegex() { return optimizedRegex; }
+    public void setOptimizedRegex(String optimizedRegex) { this.optimizedRegex = optimizedRegex; }
+
+    @Override
+    public String getDateFormat() { return dateFormat; }
+    public void setDateFormat(String dateFormat) { this.dateFormat = dateFormat; }
+
+    @Override
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+
+    @Override
+    public boolean isApproved() { return approved; }
+    public void setApproved(boolean approved) { this.approved = approved; }
+}
@@ -0,0 +1,124 @@
+package com.piggy.parser;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-template parse results, keyed by bank address and {@link SmsFingerprint}:
+ * which pattern parsed the template last time, so a repeat goes straight to that
+ * one regex, and which templates no pattern could parse, so re-uploads of the
+ * same unparseable SMS skip the regex scan entirely. The parser keys the latter by
+ * {@link SmsFingerprint#shapeOf}: a wrong positive entry only costs a regex run,
+ * a wrong negative one would drop a transaction.
+ * <p>
+ * Entries are tied to the {@link BankPatternSet} generation they were learned on:
+ * once the bank's approved patterns change, its entries are ignored and relearned.
+ * Both maps are bounded; when one is full, an arbitrary entry is evicted.
+ */
+public class TemplateFingerprintCache {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    record Key(String bankAddress, long fingerprint) {}
+
+    private record Entry(long bankGeneration, Long patternId) {}
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Templates that no pattern parsed -> bank generation at the time
+    private final Map<Key, Long> unparseable = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder knownUnparseableHits = new LongAdder();
+
+    /**
+     * Get the id of the pattern that last parsed this template, or null if unknown
+     * or learned before the bank's patterns last changed.
+     */
+    public Long get(String bankAddress, long fingerprint, BankPatternSet<?> bank) {
+        Entry entry = entries.get(new Key(bankAddress, fingerprint));
+        if (entry == null || entry.bankGeneration() != bank.getGeneration()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.patternId();
+    }
+
+    /**
+     * Remember that {@code patternId} parsed this template.
+     */
+    public void put(String bankAddress, long fingerprint, BankPatternSet<?> bank, Long patternId) {
+        if (patternId == null) {
+            return;
+        }
+        Key key = new Key(bankAddress, fingerprint);
+        unparseable.remove(key);
+        putBounded(entries, key, new Entry(bank.getGeneration(), patternId));
+    }
+
+    /**
+     * Forget a template, e.g. after its pattern stopped matching it.
+     */
+    public void remove(String bankAddress, long fingerprint) {
+        entries.remove(new Key(bankAddress, fingerprint));
+    }
+
+    /**
+     * Whether no pattern of the bank's current pattern set could parse this template.
+     */
+    public boolean isKnownUnparseable(String bankAddress, long fingerprint, BankPatternSet<?> bank) {
+        Long generation = unparseable.get(new Key(bankAddress, fingerprint));
+        if (generation == null || generation != bank.getGeneration()) {
+            return false;
+        }
+        knownUnparseableHits.increment();
+        return true;
+    }
+
+    /**
+     * Remember that no pattern of the bank's current pattern set parses this template.
+     */
+    public void putUnparseable(String bankAddress, long fingerprint, BankPatternSet<?> bank) {
+        Key key = new Key(bankAddress, fingerprint);
+        entries.remove(key);
+        putBounded(unparseable, key, bank.getGeneration());
+    }
+
+    public void clear() {
+        entries.clear();
+        unparseable.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getKnownUnparseableHitCount() {
+        return knownUnparseableHits.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int unparseableSize() {
+        return unparseable.size();
+    }
+
+    private static <V> void putBounded(Map<Key, V> map, Key key, V value) {
+        if (map.size() >= MAX_ENTRIES && !map.containsKey(key)) {
+            Iterator<Key> keys = map.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        map.put(key, value);
+    }
+}
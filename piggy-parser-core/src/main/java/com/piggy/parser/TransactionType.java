@@ -1,4 +1,4 @@
-package com.piggy.backend.entity;
+package com.piggy.parser;
 
 public enum TransactionType {
     CREDITED,
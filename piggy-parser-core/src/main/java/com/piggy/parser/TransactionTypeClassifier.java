@@ -0,0 +1,119 @@
+package com.piggy.parser;
+
+import java.util.List;
+
+/**
+ * Decides the transaction type of an SMS from its wording when the pattern
+ * does not capture a type. All cues live in one precompiled automaton, so the
+ * SMS is read once, with ASCII case folding instead of a lower-cased copy.
+ * <p>
+ * Precedence is CREDITED, then DEBITED, then REMINDER. Everything else is an
+ * ALERT, so alert-only wording ("overdue", "statement", ...) needs no cues.
+ */
+public final class TransactionTypeClassifier {
+
+    private enum Cue {
+        CREDITED,
+        DEBITED,
+        // "cr" / "dr" - only counted as whole words
+        CREDIT_ABBREVIATION,
+        DEBIT_ABBREVIATION,
+        // "transaction" together with a card mention means a card spend
+        TRANSACTION,
+        CARD,
+        REMINDER,
+        // The old ".*\\bcr\\b.*" checks never matched across line breaks; kept for the same results
+        LINE_TERMINATOR
+    }
+
+    private record Keyword(String text, Cue cue) {}
+
+    private static final List<Keyword> KEYWORDS = List.of(
+            new Keyword("credited", Cue.CREDITED),
+            new Keyword("received", Cue.CREDITED),
+            new Keyword("deposited", Cue.CREDITED),
+            new Keyword("credit to", Cue.CREDITED),
+            new Keyword("added to", Cue.CREDITED),
+            new Keyword("refund", Cue.CREDITED),
+            new Keyword("cr", Cue.CREDIT_ABBREVIATION),
+
+            new Keyword("debited", Cue.DEBITED),
+            new Keyword("spent", Cue.DEBITED),
+            new Keyword("withdrawn", Cue.DEBITED),
+            new Keyword("deducted", Cue.DEBITED),
+            new Keyword("transferred", Cue.DEBITED),
+            new Keyword("paid", Cue.DEBITED),
+            new Keyword("purchase", Cue.DEBITED),
+            new Keyword("has been used", Cue.DEBITED),
+            new Keyword("has been charged", Cue.DEBITED),
+            new Keyword("dr", Cue.DEBIT_ABBREVIATION),
+            new Keyword("transaction", Cue.TRANSACTION),
+            new Keyword("debit card", Cue.CARD),
+            new Keyword("credit card", Cue.CARD),
+
+            new Keyword("reminder", Cue.REMINDER),
+            new Keyword("due", Cue.REMINDER),
+            new Keyword("upcoming", Cue.REMINDER),
+            new Keyword("scheduled", Cue.REMINDER),
+            new Keyword("will auto-debit", Cue.REMINDER),
+
+            new Keyword("\n", Cue.LINE_TERMINATOR),
+            new Keyword("\r", Cue.LINE_TERMINATOR),
+            new Keyword("\u0085", Cue.LINE_TERMINATOR),
+            new Keyword("\u2028", Cue.LINE_TERMINATOR),
+            new Keyword("\u2029", Cue.LINE_TERMINATOR));
+
+    private static final Cue[] CUES = KEYWORDS.stream().map(Keyword::cue).toArray(Cue[]::new);
+
+    private static final AhoCorasick AUTOMATON = new AhoCorasick(KEYWORDS.stream().map(Keyword::text).toList());
+
+    private TransactionTypeClassifier() {
+    }
+
+    /**
+     * Classify an SMS by its keywords. Blank or unrecognised messages are ALERTs.
+     */
+    public static TransactionType classify(String sms) {
+        if (sms == null || sms.isBlank()) {
+            return TransactionType.ALERT;
+        }
+
+        int[] found = new int[1];
+        AUTOMATON.scan(sms, (keyword, start, end) -> {
+            Cue cue = CUES[keyword];
+            boolean abbreviation = cue == Cue.CREDIT_ABBREVIATION || cue == Cue.DEBIT_ABBREVIATION;
+            if (!abbreviation || isWholeWord(sms, start, end)) {
+                found[0] |= 1 << cue.ordinal();
+            }
+        });
+        int cues = found[0];
+        boolean singleLine = !has(cues, Cue.LINE_TERMINATOR);
+
+        if (has(cues, Cue.CREDITED) || (singleLine && has(cues, Cue.CREDIT_ABBREVIATION))) {
+            return TransactionType.CREDITED;
+        }
+        if (has(cues, Cue.DEBITED)
+                || (singleLine && has(cues, Cue.DEBIT_ABBREVIATION))
+                || (has(cues, Cue.TRANSACTION) && has(cues, Cue.CARD))) {
+            return TransactionType.DEBITED;
+        }
+        if (has(cues, Cue.REMINDER)) {
+            return TransactionType.REMINDER;
+        }
+        return TransactionType.ALERT;
+    }
+
+    private static boolean has(int cues, Cue cue) {
+        return (cues & (1 << cue.ordinal())) != 0;
+    }
+
+    // Same word characters as the regex \b: [a-zA-Z0-9_]
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        return (start == 0 || !isWordChar(text.charAt(start - 1)))
+                && (end == text.length() || !isWordChar(text.charAt(end)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
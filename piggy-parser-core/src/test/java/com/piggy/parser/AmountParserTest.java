@@ -0,0 +1,76 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmountParserTest {
+
+    private static long parse(String text) {
+        return AmountParser.parseMinorUnits(text, 0, text.length());
+    }
+
+    @Test
+    void testPlainAndDecimalAmounts() {
+        assertEquals(50000L, parse("500"));
+        assertEquals(35000L, parse("350.00"));
+        assertEquals(150050L, parse("1500.50"));
+        assertEquals(150050L, parse("1500.5"));
+        assertEquals(50L, parse(".50"));
+        assertEquals(50000L, parse("500."));
+    }
+
+    @Test
+    void testGroupingCommasAndWhitespaceAreSkipped() {
+        assertEquals(15000050L, parse("1,50,000.50"));
+        assertEquals(250000L, parse(" 2,500.00 "));
+    }
+
+    @Test
+    void testThirdDecimalIsRoundedHalfUp() {
+        assertEquals(150051L, parse("1500.505"));
+        assertEquals(150050L, parse("1500.504"));
+    }
+
+    @Test
+    void testInvalidAmounts() {
+        assertEquals(AmountParser.INVALID, parse(""));
+        assertEquals(AmountParser.INVALID, parse("   "));
+        assertEquals(AmountParser.INVALID, parse("."));
+        assertEquals(AmountParser.INVALID, parse("350.00."));
+        assertEquals(AmountParser.INVALID, parse("Rs.500"));
+        assertEquals(AmountParser.INVALID, parse("99999999999999999999"));
+    }
+
+    @Test
+    void testLargestAmountParsesAndOneMoreRupeeIsInvalid() {
+        // (Long.MAX_VALUE - 99) / 100 rupees is the most that still leaves room for paise and rounding
+        assertEquals(9223372036854775799L, parse("92233720368547757.99"));
+        assertEquals(9223372036854775800L, parse("92233720368547757.995"));
+        assertEquals(AmountParser.INVALID, parse("92233720368547758"));
+        // Same leading digits as the limit / 10, with a last digit that used to slip past the guard and overflow
+        assertEquals(AmountParser.INVALID, parse("92233720368547759.99"));
+    }
+
+    @Test
+    void testParsesRegionOfLargerText() {
+        String sms = "debited for INR 2,500.00 on 10-Jan-26";
+        int start = sms.indexOf("2,500.00");
+
+        assertEquals(250000L, AmountParser.parseMinorUnits(sms, start, start + "2,500.00".length()));
+    }
+
+    @Test
+    void testIsBlank() {
+        assertTrue(AmountParser.isBlank("a   b", 1, 4));
+        assertTrue(AmountParser.isBlank("abc", -1, -1));
+        assertFalse(AmountParser.isBlank("a 5 b", 1, 4));
+    }
+
+    @Test
+    void testToBigDecimal() {
+        assertEquals(new BigDecimal("2500.00"), AmountParser.toBigDecimal(250000L));
+    }
+}
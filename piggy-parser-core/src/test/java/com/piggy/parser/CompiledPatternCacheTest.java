@@ -0,0 +1,69 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledPatternCacheTest {
+
+    private CompiledPatternCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompiledPatternCache();
+    }
+
+    private SmsPattern pattern(Long id, String regex) {
+        SmsPattern pattern = new SmsPattern();
+        pattern.setId(id);
+        pattern.setRegexPattern(regex);
+        return pattern;
+    }
+
+    @Test
+    void testCompilesOnceAndCountsHits() {
+        SmsPattern pattern = pattern(1L, "Rs\\.(?<amount>[\\d,]+).*debited");
+
+        CompiledPattern first = cache.get(pattern);
+        CompiledPattern second = cache.get(pattern);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCompiledRegexIsCaseInsensitive() {
+        CompiledPattern compiled = cache.get(pattern(1L, "DEBITED"));
+
+        assertTrue(compiled.getRegex().matcher("Rs.500 debited").find());
+    }
+
+    @Test
+    void testEditedRegexIsRecompiled() {
+        SmsPattern pattern = pattern(1L, "debited");
+        CompiledPattern before = cache.get(pattern);
+
+        pattern.setRegexPattern("credited");
+        CompiledPattern after = cache.get(pattern);
+
+        assertNotSame(before, after);
+        assertEquals("credited", after.getSource());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testInvalidateRemovesAllVersionsOfPattern() {
+        SmsPattern pattern = pattern(1L, "debited");
+        cache.get(pattern);
+        pattern.setRegexPattern("credited");
+        cache.get(pattern);
+        cache.get(pattern(2L, "spent"));
+
+        cache.invalidate(1L);
+
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupSchemaTest {
+
+    private static java.util.regex.Pattern compile(String regex) {
+        return java.util.regex.Pattern.compile(regex, java.util.regex.Pattern.CASE_INSENSITIVE);
+    }
+
+    @Test
+    void testDeclaredGroupsAreIndexed() {
+        GroupSchema schema = new GroupSchema(compile("Rs\\.(?<amount>[\\d,]+).*(?<type>debited)"));
+
+        assertTrue(schema.has(SmsField.AMOUNT));
+        assertTrue(schema.has(SmsField.TYPE));
+        assertFalse(schema.has(SmsField.MERCHANT));
+        assertEquals(1, schema.indexOf(SmsField.AMOUNT));
+        assertEquals(2, schema.indexOf(SmsField.TYPE));
+        assertEquals(-1, schema.indexOf(SmsField.DATE));
+    }
+
+    @Test
+    void testGetReturnsCapturedTextOrNull() {
+        java.util.regex.Pattern regex = compile("Rs\\.(?<amount>[\\d,]+)(?:\\s+at\\s+(?<merchant>\\w+))?");
+        GroupSchema schema = new GroupSchema(regex);
+        Matcher matcher = regex.matcher("Rs.1,500 debited");
+        assertTrue(matcher.find());
+
+        assertEquals("1,500", schema.get(matcher, SmsField.AMOUNT));
+        // Declared but did not participate
+        assertNull(schema.get(matcher, SmsField.MERCHANT));
+        // Not declared at all - no exception
+        assertNull(schema.get(matcher, SmsField.REF_NUMBER));
+    }
+
+    @Test
+    void testUnknownGroupNamesAreIgnored() {
+        GroupSchema schema = new GroupSchema(compile("(?<bankName>\\w+)\\s+(?<refNumber>\\d+)"));
+
+        assertTrue(schema.has(SmsField.REF_NUMBER));
+        assertEquals(2, schema.indexOf(SmsField.REF_NUMBER));
+    }
+}
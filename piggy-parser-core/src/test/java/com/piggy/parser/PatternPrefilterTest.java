@@ -0,0 +1,53 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternPrefilterTest {
+
+    private static final String UPI_PATTERN = "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+for\\s+INR\\s+"
+            + "(?<amount>[\\d,]+\\.\\d{2}).*?via UPI to\\s+(?<merchant>[A-Z]+).*?Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2})";
+    private static final String INFO_PATTERN = "Acct\\s+(?<accountNumber>\\w+).*?Info:\\s+(?<merchant>[\\w\\-]+)";
+    private static final String NO_LITERALS = "(?<amount>[\\d,]+)";
+
+    @Test
+    void testOnlyPatternsWithAllLiteralsAreCandidates() {
+        PatternPrefilter prefilter = new PatternPrefilter(List.of(UPI_PATTERN, INFO_PATTERN, NO_LITERALS));
+
+        BitSet candidates = prefilter.candidates(
+                "Alert: Your A/c XX5678 debited for INR 2,500.00 on 10-Jan-26 via UPI to ZOMATO. Avl Bal: INR 15,420.50.");
+
+        assertTrue(candidates.get(0));
+        assertFalse(candidates.get(1));
+        // A pattern without extractable literals is always tried
+        assertTrue(candidates.get(2));
+    }
+
+    @Test
+    void testLiteralMatchingIsCaseInsensitive() {
+        PatternPrefilter prefilter = new PatternPrefilter(List.of(INFO_PATTERN));
+
+        assertTrue(prefilter.candidates("your ACCT XX101 debited. INFO: UPI-UBER").get(0));
+    }
+
+    @Test
+    void testNoCandidatesWhenLiteralMissing() {
+        PatternPrefilter prefilter = new PatternPrefilter(List.of(UPI_PATTERN, INFO_PATTERN));
+
+        assertTrue(prefilter.candidates("Transaction of Rs. 475.00 on Kotak Bank Debit Card XX9123").isEmpty());
+    }
+
+    @Test
+    void testAutomatonReportsOverlappingKeywords() {
+        AhoCorasick automaton = new AhoCorasick(List.of("avl bal", "total avl bal", "bal:"));
+        BitSet found = new BitSet();
+
+        automaton.scan("Total Avl Bal: INR 8,501.00", (keyword, start, end) -> found.set(keyword));
+
+        assertEquals(3, found.cardinality());
+    }
+}
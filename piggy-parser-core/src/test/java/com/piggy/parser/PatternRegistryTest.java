@@ -0,0 +1,93 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternRegistryTest {
+
+    private PatternRegistry<SmsPattern> registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PatternRegistry<>();
+    }
+
+    private SmsPattern pattern(Long id, String bankAddress, boolean approved) {
+        SmsPattern pattern = new SmsPattern();
+        pattern.setId(id);
+        pattern.setBankAddress(bankAddress);
+        pattern.setBankName("HDFC Bank");
+        pattern.setRegexPattern("Rs\\.(?<amount>[\\d,]+).*debited");
+        pattern.setApproved(approved);
+        return pattern;
+    }
+
+    @Test
+    void testEmptyRegistry() {
+        assertTrue(registry.getApprovedPatterns("HDFCBK").isEmpty());
+        assertTrue(registry.getApprovedPatterns(null).isEmpty());
+    }
+
+    @Test
+    void testLoadAllKeepsOnlyApprovedPatterns() {
+        registry.loadAll(List.of(
+                pattern(1L, "HDFCBK", true),
+                pattern(2L, "HDFCBK", false),
+                pattern(3L, "SBIINB", true)));
+
+        assertEquals(1, registry.getApprovedPatterns("HDFCBK").size());
+        assertEquals(1, registry.getApprovedPatterns("SBIINB").size());
+        assertEquals(2, registry.getBankAddresses().size());
+    }
+
+    @Test
+    void testRegisterKeepsIdOrder() {
+        registry.register(pattern(5L, "HDFCBK", true));
+        registry.register(pattern(2L, "HDFCBK", true));
+
+        List<SmsPattern> patterns = registry.getApprovedPatterns("HDFCBK");
+        assertEquals(2L, patterns.get(0).getId());
+        assertEquals(5L, patterns.get(1).getId());
+    }
+
+    @Test
+    void testRegisterRejectedPatternRemovesIt() {
+        registry.register(pattern(1L, "HDFCBK", true));
+        registry.register(pattern(1L, "HDFCBK", false));
+
+        assertTrue(registry.getApprovedPatterns("HDFCBK").isEmpty());
+        assertFalse(registry.getBankAddresses().contains("HDFCBK"));
+    }
+
+    @Test
+    void testRegisterMovesPatternToNewBank() {
+        registry.register(pattern(1L, "HDFCBK", true));
+        registry.register(pattern(1L, "SBIINB", true));
+
+        assertTrue(registry.getApprovedPatterns("HDFCBK").isEmpty());
+        assertEquals(1, registry.getApprovedPatterns("SBIINB").size());
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedByLaterWrites() {
+        registry.register(pattern(1L, "HDFCBK", true));
+        List<SmsPattern> snapshot = registry.getApprovedPatterns("HDFCBK");
+
+        registry.register(pattern(2L, "HDFCBK", true));
+
+        assertEquals(1, snapshot.size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new SmsPattern()));
+    }
+
+    @Test
+    void testUnregister() {
+        registry.register(pattern(1L, "HDFCBK", true));
+        registry.unregister(1L);
+
+        assertTrue(registry.getApprovedPatterns("HDFCBK").isEmpty());
+    }
+}
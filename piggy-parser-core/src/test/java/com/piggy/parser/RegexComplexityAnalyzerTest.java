@@ -0,0 +1,85 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexComplexityAnalyzerTest {
+
+    private static final List<String> CORPUS = List.of(
+            "Alert: Your A/c XX5678 debited for INR 2,500.00 on 10-Jan-26 via UPI to ZOMATO. Avl Bal: INR 15,420.50. Ref No: 60123456789",
+            "Dear UPI user A/C X6292 debited by 350.00 on date 14Jan26 trf to SWIGGY Refno 871684140146 If not u? call-1800111109-SBI");
+
+    @Test
+    void testNestedQuantifiers() {
+        assertEquals(1, RegexComplexityAnalyzer.findRiskyConstructs("(\\w+\\s?)+!").size());
+        assertEquals(1, RegexComplexityAnalyzer.findRiskyConstructs("(.*?,){11}P").size());
+        assertTrue(RegexComplexityAnalyzer.findRiskyConstructs("(?>\\w+\\s?)+!").isEmpty());
+        assertTrue(RegexComplexityAnalyzer.findRiskyConstructs("(\\w++\\s?)+!").isEmpty());
+    }
+
+    @Test
+    void testOverlappingAlternation() {
+        assertEquals(1, RegexComplexityAnalyzer.findRiskyConstructs("(\\d|\\w)+x").size());
+        assertEquals(1, RegexComplexityAnalyzer.findRiskyConstructs("(?:abc|abd)*").size());
+        assertTrue(RegexComplexityAnalyzer.findRiskyConstructs("(?:a|b)+c").isEmpty());
+        assertTrue(RegexComplexityAnalyzer.findRiskyConstructs("(debited|credited)").isEmpty());
+    }
+
+    @Test
+    void testUnanchoredLeadingWildcard() {
+        assertEquals(1, RegexComplexityAnalyzer.findRiskyConstructs(".*debited").size());
+        assertEquals(1, RegexComplexityAnalyzer.findRiskyConstructs("(?i).*?debited").size());
+        assertTrue(RegexComplexityAnalyzer.findRiskyConstructs("^.*debited").isEmpty());
+    }
+
+    @Test
+    void testOnlyStructuralBacktrackingIsARisk() {
+        RegexComplexityAnalyzer.Report nested = RegexComplexityAnalyzer.analyze("(\\w+\\s?)+!", CORPUS, 25_000);
+        RegexComplexityAnalyzer.Report leading = RegexComplexityAnalyzer.analyze(".*?debited", CORPUS, 25_000);
+
+        assertTrue(nested.hasBacktrackingRisk());
+        assertTrue(nested.warnings().isEmpty());
+        assertFalse(leading.hasBacktrackingRisk());
+        assertEquals(1, leading.warnings().size());
+    }
+
+    @Test
+    void testRealPatternIsCheapAndClean() {
+        String regex = "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+for\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})"
+                + "\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2}).*?via UPI to\\s+(?<merchant>[A-Z]+)";
+
+        RegexComplexityAnalyzer.Report report = RegexComplexityAnalyzer.analyze(regex, CORPUS, 25_000);
+
+        assertTrue(report.isValid());
+        assertTrue(report.findings().isEmpty());
+        assertFalse(report.exceeds(25_000));
+    }
+
+    @Test
+    void testCatastrophicPatternExceedsLimit() {
+        RegexComplexityAnalyzer.Report report = RegexComplexityAnalyzer.analyze("(.*?,){11}P", CORPUS, 25_000);
+
+        assertTrue(report.exceeds(25_000));
+        assertFalse(report.findings().isEmpty());
+    }
+
+    @Test
+    void testInvalidRegex() {
+        RegexComplexityAnalyzer.Report report = RegexComplexityAnalyzer.analyze("(?<amount>[\\d,]+", CORPUS, 25_000);
+
+        assertFalse(report.isValid());
+        assertNotNull(report.syntaxError());
+    }
+
+    @Test
+    void testAdversarialInputsAreDerivedFromCorpus() {
+        List<String> inputs = RegexComplexityAnalyzer.adversarialInputs(CORPUS);
+
+        assertTrue(inputs.containsAll(CORPUS));
+        assertTrue(inputs.stream().anyMatch(input -> input.length() > RegexComplexityAnalyzer.PUMPED_LENGTH / 2));
+        assertTrue(inputs.stream().anyMatch(input -> input.endsWith(",".repeat(10))));
+    }
+}
@@ -0,0 +1,58 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexLiteralExtractorTest {
+
+    @Test
+    void testExtractsLiteralAnchorsBetweenGroups() {
+        String regex = "Acct\\s+(?<accountNumber>\\w+)\\s+(?<type>credited|debited)\\s+with\\s+INR\\s+"
+                + "(?<amount>[\\d,]+\\.\\d{2}).*?Info:\\s+(?<merchant>[\\w\\-]+).*?Total Avl Bal:\\s+INR";
+
+        assertEquals(List.of("acct", "with", "inr", "info:", "total avl bal:"),
+                RegexLiteralExtractor.requiredLiterals(regex));
+    }
+
+    @Test
+    void testEscapedPunctuationIsLiteral() {
+        assertEquals(List.of("rs.", "ref no."),
+                RegexLiteralExtractor.requiredLiterals("Rs\\.(?<amount>[\\d,]+).*Ref No\\.\\s*(?<refNumber>\\w+)"));
+    }
+
+    @Test
+    void testOptionalCharIsDropped() {
+        // "Rs" alone is too short; the optional '.' must not be required
+        assertEquals(List.of("debited"), RegexLiteralExtractor.requiredLiterals("Rs\\.?\\s*debited"));
+        assertEquals(List.of("a/c"), RegexLiteralExtractor.requiredLiterals("A/cc?\\s+(?<accountNumber>\\w+)"));
+    }
+
+    @Test
+    void testAlternationsAndOptionalGroupsContributeNothing() {
+        assertTrue(RegexLiteralExtractor.requiredLiterals("(?:debited|credited)").isEmpty());
+        assertTrue(RegexLiteralExtractor.requiredLiterals("debited|credited").isEmpty());
+        assertEquals(List.of("spent"), RegexLiteralExtractor.requiredLiterals("(?:\\s+via\\s+UPI)?spent"));
+    }
+
+    @Test
+    void testLookaroundsContributeNothing() {
+        assertEquals(List.of("refno"), RegexLiteralExtractor.requiredLiterals("(?=\\s+Balance).*?Refno"));
+    }
+
+    @Test
+    void testRequiredGroupContentIsKept() {
+        assertEquals(List.of("alert", "statement"),
+                RegexLiteralExtractor.requiredLiterals("(?<type>Alert).*statement"));
+    }
+
+    @Test
+    void testCommentsModeAndMalformedRegexYieldNothing() {
+        assertTrue(RegexLiteralExtractor.requiredLiterals("(?x) avl bal").isEmpty());
+        assertTrue(RegexLiteralExtractor.requiredLiterals("debited(").isEmpty());
+        assertTrue(RegexLiteralExtractor.requiredLiterals("debited)").isEmpty());
+        assertTrue(RegexLiteralExtractor.requiredLiterals(null).isEmpty());
+    }
+}
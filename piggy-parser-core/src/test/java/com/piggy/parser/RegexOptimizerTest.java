@@ -0,0 +1,74 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexOptimizerTest {
+
+    private static final List<String> CORPUS = List.of(
+            "Alert: Your A/c XX5678 debited for INR 2,500.00 on 10-Jan-26 via UPI to ZOMATO. Avl Bal: INR 15,420.50. Ref No: 60123456789",
+            "Acct XX1234 credited with INR 1,200.00 on 12-Jan-26. Info: NEFT-ACME. Total Avl Bal: INR 16,620.50",
+            "Dear UPI user A/C X6292 debited by 350.00 on date 14Jan26 trf to SWIGGY Refno 871684140146 If not u? call-1800111109-SBI");
+
+    @Test
+    void testPossessiveWhenFollowerIsDisjoint() {
+        assertEquals("A/c\\s++(?<accountNumber>\\w++)\\s++debited",
+                RegexOptimizer.optimize("A/c\\s+(?<accountNumber>\\w+)\\s+debited"));
+        assertEquals("(?<amount>[\\d,]++\\.\\d{2})",
+                RegexOptimizer.optimize("(?<amount>[\\d,]+\\.\\d{2})"));
+    }
+
+    @Test
+    void testBacktrackingKeptWhenItCanMatter() {
+        // \w overlaps the 'x', and .*? can be empty - giving back characters may be needed
+        assertEquals("\\w+x", RegexOptimizer.optimize("\\w+x"));
+        assertEquals("\\s+.*?Ref", RegexOptimizer.optimize("\\s+.*?Ref"));
+        // Case-insensitive: 'D' overlaps [a-z]
+        assertEquals("[a-z]+D", RegexOptimizer.optimize("[a-z]+D"));
+        // A lazy quantifier at the very end matches as little as possible
+        assertEquals("Rs\\d+?", RegexOptimizer.optimize("Rs\\d+?"));
+        // Inside a repeated group the next iteration follows too
+        assertEquals("(?:a\\d+)+", RegexOptimizer.optimize("(?:a\\d+)+"));
+    }
+
+    @Test
+    void testTrailingLazyGapBecomesNegatedClass() {
+        assertEquals("Rs\\s*+(?<amount>\\d+)[^\\.\\n\\r\\x{85}\\x{2028}\\x{2029}]*+\\.",
+                RegexOptimizer.optimize("Rs\\s*(?<amount>\\d+).*?\\."));
+    }
+
+    @Test
+    void testLiteralPrefixIsHoisted() {
+        assertEquals("(?<type>debit(?:|ed))", RegexOptimizer.optimize("(?<type>debit|debited)"));
+        assertEquals("(?<type>debited|credited)", RegexOptimizer.optimize("(?<type>debited|credited)"));
+    }
+
+    @Test
+    void testUnsupportedRegexIsLeftAlone() {
+        assertEquals("(\\d+)x\\1", RegexOptimizer.optimize("(\\d+)x\\1"));
+        assertEquals("\\Q1+1\\E\\s+\\d", RegexOptimizer.optimize("\\Q1+1\\E\\s+\\d"));
+        assertEquals("(?s)\\s+\\d", RegexOptimizer.optimize("(?s)\\s+\\d"));
+        assertEquals("(unclosed", RegexOptimizer.optimize("(unclosed"));
+    }
+
+    @Test
+    void testRealPatternKeepsCaptures() {
+        String regex = "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+for\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})"
+                + "\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2}).*?via UPI to\\s+(?<merchant>[A-Z]+)"
+                + ".*?Avl Bal:\\s+INR\\s+(?<balance>[\\d,]+\\.\\d{2}).*?Ref No:\\s+(?<refNumber>\\d+)";
+        String optimized = RegexOptimizer.optimize(regex);
+        assertNotEquals(regex, optimized);
+        assertTrue(RegexOptimizer.verify(regex, optimized, CORPUS));
+    }
+
+    @Test
+    void testVerifyRejectsDifferentCaptures() {
+        assertFalse(RegexOptimizer.verify("(?<amount>\\d+)", "(?<amount>\\d)", CORPUS));
+        assertFalse(RegexOptimizer.verify("(?<amount>\\d+)", "(?<value>\\d+)", CORPUS));
+        assertFalse(RegexOptimizer.verify("Info", "Refno", CORPUS));
+        assertFalse(RegexOptimizer.verify("\\d+", "(", CORPUS));
+    }
+}
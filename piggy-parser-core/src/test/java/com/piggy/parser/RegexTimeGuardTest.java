@@ -0,0 +1,58 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexTimeGuardTest {
+
+    private static final java.util.regex.Pattern CATASTROPHIC = java.util.regex.Pattern.compile("(.*?,){11}P");
+
+    private static SmsPattern pattern(Long id) {
+        SmsPattern pattern = new SmsPattern();
+        pattern.setId(id);
+        pattern.setBankAddress("HDFCBK");
+        return pattern;
+    }
+
+    @Test
+    void testGuardAbortsCatastrophicBacktracking() {
+        RegexTimeGuard guard = new RegexTimeGuard(20, 3);
+        CharSequence input = guard.guard(",".repeat(40));
+
+        long start = System.nanoTime();
+        assertThrows(RegexTimeoutException.class, () -> CATASTROPHIC.matcher(input).find());
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    }
+
+    @Test
+    void testGuardDoesNotChangeResults() {
+        RegexTimeGuard guard = new RegexTimeGuard(1000, 3);
+        java.util.regex.Matcher matcher = java.util.regex.Pattern.compile("Rs\\.(\\d+)").matcher(guard.guard("Paid Rs.250 at SWIGGY"));
+
+        assertTrue(matcher.find());
+        assertEquals("250", matcher.group(1));
+    }
+
+    @Test
+    void testQuarantineAfterRepeatedTimeouts() {
+        RegexTimeGuard guard = new RegexTimeGuard(20, 2);
+
+        guard.recordTimeout(pattern(1L));
+        assertFalse(guard.isQuarantined(1L));
+        guard.recordTimeout(pattern(1L));
+        assertTrue(guard.isQuarantined(1L));
+        assertEquals(2, guard.getTimeoutCount());
+    }
+
+    @Test
+    void testReleaseClearsQuarantine() {
+        RegexTimeGuard guard = new RegexTimeGuard(20, 1);
+        guard.recordTimeout(pattern(1L));
+
+        guard.release(1L);
+
+        assertFalse(guard.isQuarantined(1L));
+        assertTrue(guard.getQuarantinedPatternIds().isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmsDateFormatTest {
+
+    private static LocalDate parse(SmsDateFormat format, String text) {
+        return format.parse(text, 0, text.length());
+    }
+
+    @Test
+    void testBuiltInFormats() {
+        assertEquals(LocalDate.of(2026, 1, 10), parse(SmsDateFormat.D_MMM_YY, "10-Jan-26"));
+        assertEquals(LocalDate.of(2026, 1, 5), parse(SmsDateFormat.D_MMM_YY, "5-Jan-26"));
+        assertEquals(LocalDate.of(2023, 11, 18), parse(SmsDateFormat.DD_MM_YY, "18/11/23"));
+        assertEquals(LocalDate.of(2026, 1, 24), parse(SmsDateFormat.YYYY_MM_DD, "2026-01-24"));
+        assertEquals(LocalDate.of(2026, 1, 10), parse(SmsDateFormat.D_MMM_YYYY, "10-Jan-2026"));
+        assertEquals(LocalDate.of(2026, 1, 14), parse(SmsDateFormat.DMMMYY, "14Jan26"));
+        assertEquals(LocalDate.of(2026, 1, 4), parse(SmsDateFormat.DMMMYY, "4JAN26"));
+    }
+
+    @Test
+    void testMonthNamesAreCaseInsensitiveAndWhitespaceIgnored() {
+        assertEquals(LocalDate.of(2026, 3, 1), parse(SmsDateFormat.D_MMM_YY, " 01-MAR-26 "));
+    }
+
+    @Test
+    void testMismatchReturnsNullWithoutThrowing() {
+        assertNull(parse(SmsDateFormat.D_MMM_YY, "14Jan26"));
+        assertNull(parse(SmsDateFormat.DMMMYY, "10-Jan-26"));
+        assertNull(parse(SmsDateFormat.YYYY_MM_DD, "2026/01/24"));
+        assertNull(parse(SmsDateFormat.D_MMM_YY, "10-Foo-26"));
+        assertNull(parse(SmsDateFormat.DD_MM_YY, "18/13/23"));
+        assertNull(parse(SmsDateFormat.DD_MM_YY, "18/11/2x"));
+        assertNull(parse(SmsDateFormat.DMMMYY, ""));
+    }
+
+    @Test
+    void testDayIsClampedToEndOfMonth() {
+        assertEquals(LocalDate.of(2024, 2, 29), parse(SmsDateFormat.D_MMM_YY, "31-Feb-24"));
+    }
+
+    @Test
+    void testForPattern() {
+        assertEquals(SmsDateFormat.D_MMM_YY, SmsDateFormat.forPattern("dd-MMM-yy"));
+        assertEquals(SmsDateFormat.DMMMYY, SmsDateFormat.forPattern("ddMMMyy"));
+        assertNull(SmsDateFormat.forPattern("dd.MM.yyyy"));
+        assertNull(SmsDateFormat.forPattern(null));
+    }
+
+    @Test
+    void testCustomFormatter() {
+        assertEquals(LocalDate.of(2026, 1, 18),
+                LocalDate.parse("18.JAN.2026", SmsDateFormat.customFormatter("dd.MMM.yyyy")));
+        assertThrows(IllegalArgumentException.class, () -> SmsDateFormat.customFormatter("dd-{{"));
+    }
+}
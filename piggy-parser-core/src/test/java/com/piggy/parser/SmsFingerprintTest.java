@@ -0,0 +1,34 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmsFingerprintTest {
+
+    @Test
+    void testSameTemplateWithDifferentValues() {
+        assertEquals(
+                SmsFingerprint.of("Your A/c XX5678 debited for INR 2,500.00 on 10-Jan-26 via UPI. Ref No: 60123456789"),
+                SmsFingerprint.of("Your A/c XX1234 debited for INR 450.00 on 28-Jan-26 via UPI. Ref No: 71234"));
+    }
+
+    @Test
+    void testCaseAndWhitespaceAreNormalised() {
+        assertEquals(SmsFingerprint.of("Rs.500 DEBITED  from\na/c"), SmsFingerprint.of("  rs.75 debited from a/c "));
+    }
+
+    @Test
+    void testDifferentTemplates() {
+        assertNotEquals(SmsFingerprint.of("INR 450.00 debited"), SmsFingerprint.of("INR 450.00 credited"));
+        assertNotEquals(SmsFingerprint.of("INR 450.00 debited."), SmsFingerprint.of("INR 450.00 debited"));
+    }
+
+    @Test
+    void testShapeKeepsDigitRunLengthsAndSpacing() {
+        assertEquals(SmsFingerprint.shapeOf("Debited on 15-Jan-24"), SmsFingerprint.shapeOf("DEBITED ON 28-Jan-25"));
+        assertNotEquals(SmsFingerprint.shapeOf("Debited on 5-Jan-24"), SmsFingerprint.shapeOf("Debited on 15-Jan-24"));
+        assertNotEquals(SmsFingerprint.shapeOf("Rs.500 debited"), SmsFingerprint.shapeOf("Rs.500  debited"));
+        assertEquals(SmsFingerprint.of("Debited on 5-Jan-24"), SmsFingerprint.of("Debited on 15-Jan-24"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmsParserTest {
+
+    private PatternRegistry<SmsPattern> registry;
+    private SmsParser parser;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PatternRegistry<>();
+        parser = new SmsParser(registry, new CompiledPatternCache(), new PatternHitStats(),
+                new TemplateFingerprintCache(), new RegexTimeGuard(50, 3));
+    }
+
+    @Test
+    void testParseWithoutContainer() {
+        SmsPattern pattern = new SmsPattern(1L, "HDFCBK", "HDFC Bank",
+                "A/c\\s+(?<accountNumber>\\w+)\\s+(?<type>debited|credited)\\s+for\\s+INR\\s+(?<amount>[\\d,]+\\.\\d{2})"
+                        + "\\s+on\\s+(?<date>\\d{1,2}-\\w{3}-\\d{2}).*?via UPI to\\s+(?<merchant>[A-Z]+)");
+        registry.register(pattern);
+
+        ParsedTransaction result = parser.parse(
+                "Alert: Your A/c XX5678 debited for INR 2,500.00 on 10-Jan-26 via UPI to ZOMATO. Avl Bal: INR 15,420.50", "HDFCBK");
+
+        assertNotNull(result);
+        assertEquals(1L, result.getPatternId());
+        assertEquals("HDFC Bank", result.getBankName());
+        assertEquals("XX5678", result.getAccountNumber());
+        assertEquals(TransactionType.DEBITED, result.getType());
+        assertEquals(new BigDecimal("2500.00"), result.getAmount());
+        assertEquals("ZOMATO", result.getMerchant());
+        assertEquals(LocalDate.of(2026, 1, 10), result.getDate().toLocalDate());
+        assertTrue(result.getMatchedText().startsWith("A/c XX5678"));
+    }
+
+    @Test
+    void testUnapprovedPatternIsIgnored() {
+        SmsPattern pattern = new SmsPattern(1L, "HDFCBK", "HDFC Bank", "Rs\\.(?<amount>\\d+) debited");
+        pattern.setApproved(false);
+        registry.register(pattern);
+
+        assertNull(parser.parse("Rs.500 debited", "HDFCBK"));
+    }
+
+    @Test
+    void testDebitWithoutAmountIsRejected() {
+        registry.register(new SmsPattern(1L, "HDFCBK", "HDFC Bank", "(?<type>debited) from A/c"));
+
+        assertNull(parser.parse("Money debited from A/c XX1234", "HDFCBK"));
+        assertNull(parser.parse("Rs.500 debited", "UNKNOWN"));
+    }
+
+    @Test
+    void testUnparseableSmsDoesNotBlockSameTemplateWithLongerDigitRun() {
+        registry.register(new SmsPattern(1L, "HDFCBK", "HDFC Bank",
+                "Rs\\.(?<amount>\\d+) (?<type>debited) on (?<date>\\d{2}-\\w{3}-\\d{2})"));
+
+        assertNull(parser.parse("Rs.500 debited on 5-Jan-24", "HDFCBK"));
+        assertNull(parser.parse("Rs.700 debited on 6-Jan-24", "HDFCBK"));
+
+        ParsedTransaction result = parser.parse("Rs.500 debited on 15-Jan-24", "HDFCBK");
+        assertNotNull(result);
+        assertEquals(LocalDate.of(2024, 1, 15), result.getDate().toLocalDate());
+    }
+
+    @Test
+    void testQuarantinedPatternDoesNotMarkSmsUnparseable() {
+        RegexTimeGuard guard = new RegexTimeGuard(50, 1);
+        SmsParser guardedParser = new SmsParser(registry, new CompiledPatternCache(), new PatternHitStats(),
+                new TemplateFingerprintCache(), guard);
+        SmsPattern pattern = new SmsPattern(1L, "HDFCBK", "HDFC Bank", "Rs\\.(?<amount>\\d+) (?<type>debited)");
+        registry.register(pattern);
+        guard.recordTimeout(pattern);
+
+        assertNull(guardedParser.parse("Rs.500 debited", "HDFCBK"));
+
+        guard.release(1L);
+        assertNotNull(guardedParser.parse("Rs.500 debited", "HDFCBK"));
+    }
+
+    @Test
+    void testParseAllKeepsInputOrderWithPerItemOutcome() {
+        registry.register(new SmsPattern(1L, "HDFCBK", "HDFC Bank", "Rs\\.(?<amount>\\d+) (?<type>debited)"));
+        registry.register(new SmsPattern(2L, "SBIINB", "SBI", "Rs\\.(?<amount>\\d+) (?<type>credited)"));
+
+        List<ParseOutcome<ParsedTransaction>> outcomes = parser.parseAll(Arrays.asList(
+                new SmsMessage("Rs.100 debited", "HDFCBK"),
+                new SmsMessage("Rs.200 credited", "SBIINB"),
+                new SmsMessage("Rs.300 debited", "UNKNOWN"),
+                new SmsMessage("Rs.400 debited", "HDFCBK"),
+                new SmsMessage("Hello", "SBIINB"),
+                new SmsMessage(" ", "HDFCBK"),
+                null));
+
+        assertEquals(7, outcomes.size());
+        assertEquals(new BigDecimal("100.00"), outcomes.get(0).transaction().getAmount());
+        assertEquals(TransactionType.CREDITED, outcomes.get(1).transaction().getType());
+        assertEquals(ParseOutcome.Status.UNPARSED, outcomes.get(2).status());
+        assertEquals(new BigDecimal("400.00"), outcomes.get(3).transaction().getAmount());
+        assertEquals(ParseOutcome.Status.UNPARSED, outcomes.get(4).status());
+        assertEquals(ParseOutcome.Status.FAILED, outcomes.get(5).status());
+        assertEquals(ParseOutcome.Status.FAILED, outcomes.get(6).status());
+    }
+
+    @Test
+    void testParseAllSplitsLargeBatchesAcrossPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parser = new SmsParser(registry, new CompiledPatternCache(), new PatternHitStats(),
+                    new TemplateFingerprintCache(), new RegexTimeGuard(50, 3), pool);
+            registry.register(new SmsPattern(1L, "HDFCBK", "HDFC Bank", "Rs\\.(?<amount>\\d+) (?<type>debited)"));
+            registry.register(new SmsPattern(2L, "SBIINB", "SBI", "Rs\\.(?<amount>\\d+) (?<type>credited)"));
+
+            List<SmsMessage> messages = new ArrayList<>();
+            for (int i = 1; i <= SmsParser.PARALLEL_THRESHOLD * 10; i++) {
+                messages.add(i % 2 == 0
+                        ? new SmsMessage("Rs." + i + " debited", "HDFCBK")
+                        : new SmsMessage("Rs." + i + " credited", "SBIINB"));
+            }
+
+            List<ParseOutcome<ParsedTransaction>> outcomes = parser.parseAll(messages.stream());
+
+            assertEquals(messages.size(), outcomes.size());
+            for (int i = 1; i <= messages.size(); i++) {
+                ParseOutcome<ParsedTransaction> outcome = outcomes.get(i - 1);
+                assertTrue(outcome.isParsed());
+                assertEquals(new BigDecimal(i + ".00"), outcome.transaction().getAmount());
+                assertEquals(i % 2 == 0 ? 1L : 2L, outcome.transaction().getPatternId());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParseAllRunsMapperInsideBatchTasks() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parser = new SmsParser(registry, new CompiledPatternCache(), new PatternHitStats(),
+                    new TemplateFingerprintCache(), new RegexTimeGuard(50, 3), pool);
+            registry.register(new SmsPattern(1L, "HDFCBK", "HDFC Bank", "Rs\\.(?<amount>\\d+) (?<type>debited)"));
+
+            List<SmsMessage> messages = new ArrayList<>();
+            for (int i = 1; i <= SmsParser.PARALLEL_THRESHOLD * 4; i++) {
+                messages.add(new SmsMessage(i == 7 ? "Hello" : "Rs." + i + " debited", "HDFCBK"));
+            }
+
+            List<ParseOutcome<Thread>> outcomes = parser.parseAll(messages, transaction -> Thread.currentThread());
+
+            assertEquals(messages.size(), outcomes.size());
+            assertEquals(ParseOutcome.Status.UNPARSED, outcomes.get(6).status());
+            outcomes.stream().filter(ParseOutcome::isParsed).forEach(outcome ->
+                    assertInstanceOf(ForkJoinWorkerThread.class, outcome.transaction()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParseOutcomeMapFailureIsPerItem() {
+        ParseOutcome<String> mapped = ParseOutcome.parsed("x").map(value -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertEquals(ParseOutcome.Status.FAILED, mapped.status());
+        assertEquals("boom", mapped.reason());
+        assertEquals(ParseOutcome.Status.UNPARSED, ParseOutcome.<String>unparsed("none").map(String::length).status());
+    }
+}
@@ -0,0 +1,74 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateFingerprintCacheTest {
+
+    private TemplateFingerprintCache cache;
+    private BankPatternSet<SmsPattern> bank;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TemplateFingerprintCache();
+        SmsPattern pattern = new SmsPattern();
+        pattern.setId(7L);
+        pattern.setRegexPattern("INR (?<amount>[\\d,.]+) debited");
+        bank = new BankPatternSet<>(List.of(pattern));
+    }
+
+    @Test
+    void testPutAndGet() {
+        cache.put("HDFCBK", 42L, bank, 7L);
+
+        assertEquals(7L, cache.get("HDFCBK", 42L, bank));
+        assertNull(cache.get("SBIINB", 42L, bank));
+        assertNull(cache.get("HDFCBK", 43L, bank));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testEntriesFromOlderBankSnapshotAreIgnored() {
+        cache.put("HDFCBK", 42L, bank, 7L);
+        BankPatternSet<SmsPattern> rebuilt = new BankPatternSet<>(bank.getPatterns());
+
+        assertNull(cache.get("HDFCBK", 42L, rebuilt));
+    }
+
+    @Test
+    void testKnownUnparseable() {
+        cache.putUnparseable("HDFCBK", 42L, bank);
+
+        assertTrue(cache.isKnownUnparseable("HDFCBK", 42L, bank));
+        assertFalse(cache.isKnownUnparseable("HDFCBK", 43L, bank));
+        assertFalse(cache.isKnownUnparseable("HDFCBK", 42L, new BankPatternSet<>(bank.getPatterns())));
+        assertEquals(1, cache.getKnownUnparseableHitCount());
+    }
+
+    @Test
+    void testParsedTemplateIsNoLongerUnparseable() {
+        cache.putUnparseable("HDFCBK", 42L, bank);
+        cache.put("HDFCBK", 42L, bank, 7L);
+
+        assertFalse(cache.isKnownUnparseable("HDFCBK", 42L, bank));
+    }
+
+    @Test
+    void testBounded() {
+        for (long fingerprint = 0; fingerprint < TemplateFingerprintCache.MAX_ENTRIES + 100; fingerprint++) {
+            cache.put("HDFCBK", fingerprint, bank, 7L);
+        }
+
+        for (long fingerprint = 0; fingerprint < TemplateFingerprintCache.MAX_ENTRIES + 100; fingerprint++) {
+            cache.putUnparseable("SBIINB", fingerprint, bank);
+        }
+
+        assertEquals(TemplateFingerprintCache.MAX_ENTRIES, cache.size());
+        assertEquals(TemplateFingerprintCache.MAX_ENTRIES, cache.unparseableSize());
+    }
+}
@@ -0,0 +1,89 @@
+package com.piggy.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.piggy.parser.TransactionType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionTypeClassifierTest {
+
+    @Test
+    void testCreditedWins() {
+        assertEquals(TransactionType.CREDITED,
+                TransactionTypeClassifier.classify("INR 5,000 CREDITED to A/c XX1234, paid by employer"));
+        assertEquals(TransactionType.CREDITED,
+                TransactionTypeClassifier.classify("Refund of Rs.120 processed"));
+    }
+
+    @Test
+    void testDebitedKeywords() {
+        assertEquals(TransactionType.DEBITED,
+                TransactionTypeClassifier.classify("A/C X6292 debited by 350.00 on date 14Jan26"));
+        assertEquals(TransactionType.DEBITED,
+                TransactionTypeClassifier.classify("Your HDFC Credit Card has been used for Rs.999"));
+    }
+
+    @Test
+    void testCardTransactionNeedsBothCues() {
+        assertEquals(TransactionType.DEBITED,
+                TransactionTypeClassifier.classify("Transaction of Rs. 2,100.00 on Kotak Debit Card XX4321"));
+        assertEquals(TransactionType.ALERT,
+                TransactionTypeClassifier.classify("Transaction of Rs. 2,100.00 on 12-Jan-26"));
+    }
+
+    @Test
+    void testAbbreviationsOnlyAsWholeWords() {
+        assertEquals(TransactionType.CREDITED, TransactionTypeClassifier.classify("Rs.500 Cr to A/c XX12"));
+        assertEquals(TransactionType.DEBITED, TransactionTypeClassifier.classify("Rs.500 DR from A/c XX12"));
+        assertEquals(TransactionType.ALERT, TransactionTypeClassifier.classify("Your ACRO card statement"));
+        assertEquals(TransactionType.ALERT, TransactionTypeClassifier.classify("Code_cr1 generated"));
+    }
+
+    @Test
+    void testAbbreviationsAreIgnoredInMultiLineMessages() {
+        assertEquals(TransactionType.ALERT, TransactionTypeClassifier.classify("Rs.500 Cr\nto A/c XX12"));
+        assertEquals(TransactionType.CREDITED, TransactionTypeClassifier.classify("Rs.500\ncredited to A/c XX12"));
+    }
+
+    @Test
+    void testReminderAndAlertFallback() {
+        assertEquals(TransactionType.REMINDER,
+                TransactionTypeClassifier.classify("Payment of Rs.1,500 DUE on 05-Feb-26"));
+        assertEquals(TransactionType.ALERT,
+                TransactionTypeClassifier.classify("Your e-statement for Jan is ready"));
+        assertEquals(TransactionType.ALERT, TransactionTypeClassifier.classify("   "));
+        assertEquals(TransactionType.ALERT, TransactionTypeClassifier.classify(null));
+    }
+
+    // Types the old detectTypeFromContent (lower-case, contains() and \bcr\b regexes) gave the bundled corpora, in file order
+    @Test
+    void testBundledCorporaClassifyAsBefore() throws IOException {
+        assertEquals(List.of(DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, CREDITED, CREDITED),
+                classifyCorpus("sample-messages.json"));
+        assertEquals(List.of(
+                        DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED,
+                        DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED,
+                        DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED, DEBITED,
+                        CREDITED, CREDITED, CREDITED, CREDITED, CREDITED, CREDITED, REMINDER, REMINDER, ALERT, REMINDER),
+                classifyCorpus("demo-transactions.json"));
+    }
+
+    // The corpora live at the repository root, one level above this module; their messages carry no JSON escapes
+    private static List<TransactionType> classifyCorpus(String file) throws IOException {
+        String json = Files.readString(Path.of("..", file));
+        Matcher matcher = Pattern.compile("\"message\"\\s*:\\s*\"([^\"\\\\]*)\"").matcher(json);
+        List<TransactionType> types = new ArrayList<>();
+        while (matcher.find()) {
+            types.add(TransactionTypeClassifier.classify(matcher.group(1)));
+        }
+        return types;
+    }
+}
@@ -1,4 +1,4 @@
-package com.piggy.backend.entity;
+package com.piggy.parser;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;